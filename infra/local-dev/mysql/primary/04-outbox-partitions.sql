@@ -0,0 +1,23 @@
+-- Outbox partitions for publishing from several instances
+-- Every event belongs to partition CRC32(aggregate_id) % 32. A publisher locks the
+-- outbox_partitions rows it drains with FOR UPDATE SKIP LOCKED, so each partition is published
+-- by one instance at a time and an aggregate's events stay in order
+
+ALTER TABLE outbox_events
+    ADD COLUMN partition_id INT NOT NULL DEFAULT 0,
+    ADD INDEX idx_outbox_partition_unprocessed (partition_id, processed_at, created_at);
+
+-- Events written before partitioning existed
+UPDATE outbox_events SET partition_id = CRC32(aggregate_id) % 32 WHERE processed_at IS NULL;
+
+CREATE TABLE IF NOT EXISTS outbox_partitions (
+    partition_id INT PRIMARY KEY
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT IGNORE INTO outbox_partitions (partition_id)
+WITH RECURSIVE seq (n) AS (
+    SELECT 0
+    UNION ALL
+    SELECT n + 1 FROM seq WHERE n < 31
+)
+SELECT n FROM seq;
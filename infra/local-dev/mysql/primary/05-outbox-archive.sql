@@ -0,0 +1,19 @@
+-- Archive of published outbox events
+-- OutboxArchiver moves events out of outbox_events once they have been processed for longer
+-- than wallet.outbox.archive.retention, keeping the table the publisher polls small
+
+CREATE TABLE IF NOT EXISTS outbox_events_archive (
+    id VARCHAR(36) PRIMARY KEY,
+    aggregate_type VARCHAR(100) NOT NULL,
+    aggregate_id VARCHAR(36) NOT NULL,
+    event_type VARCHAR(100) NOT NULL,
+    event_data JSON NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    processed_at TIMESTAMP(6) NOT NULL,
+    version INT DEFAULT 1,
+    partition_id INT NOT NULL,
+    archived_at TIMESTAMP(6) NOT NULL,
+
+    INDEX idx_outbox_archive_aggregate (aggregate_id, created_at),
+    INDEX idx_outbox_archive_archived_at (archived_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
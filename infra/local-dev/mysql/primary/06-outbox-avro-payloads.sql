@@ -0,0 +1,13 @@
+-- Avro-encoded outbox payloads
+-- With wallet.outbox.encoding=avro, events are stored as WalletEvent.avsc records in the schema
+-- registry wire format in payload, event_data stays NULL, and the publisher sends payload as-is
+
+ALTER TABLE outbox_events
+    MODIFY COLUMN event_data JSON NULL,
+    ADD COLUMN payload MEDIUMBLOB NULL AFTER event_data,
+    ADD COLUMN content_type VARCHAR(50) NULL AFTER payload;
+
+ALTER TABLE outbox_events_archive
+    MODIFY COLUMN event_data JSON NULL,
+    ADD COLUMN payload MEDIUMBLOB NULL AFTER event_data,
+    ADD COLUMN content_type VARCHAR(50) NULL AFTER payload;
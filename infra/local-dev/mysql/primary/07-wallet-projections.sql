@@ -0,0 +1,22 @@
+-- Wallet read model built from the wallet-events topic
+-- WalletEventHandler folds each batch of events into one balance delta per wallet; the ids of
+-- applied events are kept for wallet.projection.dedup-retention so redeliveries are ignored
+
+CREATE TABLE IF NOT EXISTS wallet_projections (
+    walletId VARCHAR(36) PRIMARY KEY,
+    userId VARCHAR(255),
+    -- Set by WalletCreated; NULL while only a transfer credit has been projected
+    status VARCHAR(255),
+    createdAt TIMESTAMP(6) NULL,
+    balance DECIMAL(19,4) NOT NULL,
+    eventCount BIGINT NOT NULL,
+    lastEventAt TIMESTAMP(6) NOT NULL,
+    updatedAt TIMESTAMP(6) NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+CREATE TABLE IF NOT EXISTS wallet_projection_events (
+    eventId VARCHAR(36) PRIMARY KEY,
+    appliedAt TIMESTAMP(6) NOT NULL,
+
+    INDEX idx_projection_event_applied_at (appliedAt)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
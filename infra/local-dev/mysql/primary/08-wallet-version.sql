@@ -0,0 +1,29 @@
+-- Optimistic-lock revision of wallets
+-- Wallet.version is bumped by every balance UPDATE (version = version + 1) and is the revision the
+-- wallet cache compares before replacing an entry, so it must never be NULL: a NULL stays NULL on
+-- increment and every revision would compare equal.
+--
+-- The wallets table itself is created by Hibernate, so on a fresh database this script has
+-- nothing to do and the column is created NOT NULL from the mapping. On a database created
+-- before the column existed, it adds it (or backfills the NULLs) and makes it NOT NULL.
+
+SET @wallets_exist = (SELECT COUNT(*) FROM information_schema.tables
+    WHERE table_schema = DATABASE() AND table_name = 'wallets');
+SET @version_exists = (SELECT COUNT(*) FROM information_schema.columns
+    WHERE table_schema = DATABASE() AND table_name = 'wallets' AND column_name = 'version');
+
+SET @migration = CASE
+    WHEN @wallets_exist = 0 THEN 'DO 0'
+    WHEN @version_exists = 0 THEN 'ALTER TABLE wallets ADD COLUMN version BIGINT NOT NULL DEFAULT 0'
+    ELSE 'UPDATE wallets SET version = 0 WHERE version IS NULL'
+END;
+PREPARE migration FROM @migration;
+EXECUTE migration;
+DEALLOCATE PREPARE migration;
+
+SET @migration = IF(@wallets_exist = 1 AND @version_exists = 1,
+    'ALTER TABLE wallets MODIFY COLUMN version BIGINT NOT NULL DEFAULT 0',
+    'DO 0');
+PREPARE migration FROM @migration;
+EXECUTE migration;
+DEALLOCATE PREPARE migration;
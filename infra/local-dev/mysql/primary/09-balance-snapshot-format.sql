@@ -0,0 +1,28 @@
+-- Format of balance snapshots
+-- Snapshots written before incoming transfers were counted (format 1) are wrong for every wallet
+-- that received a transfer. The application only reads and extends snapshots of the current
+-- format, so old ones are ignored and the next snapshot run rebuilds every wallet from its
+-- transactions. Rows written without a format, e.g. by a pod still on the old version during a
+-- rollout, default to format 1 and are ignored the same way.
+--
+-- On a database created before the column existed, this adds it (existing rows become format 1)
+-- and deletes the format 1 rows, which are only checkpoints and no longer read.
+
+SET @snapshots_exist = (SELECT COUNT(*) FROM information_schema.tables
+    WHERE table_schema = DATABASE() AND table_name = 'wallet_balance_snapshots');
+SET @format_exists = (SELECT COUNT(*) FROM information_schema.columns
+    WHERE table_schema = DATABASE() AND table_name = 'wallet_balance_snapshots' AND column_name = 'formatVersion');
+
+SET @migration = IF(@snapshots_exist = 1 AND @format_exists = 0,
+    'ALTER TABLE wallet_balance_snapshots ADD COLUMN formatVersion INT NOT NULL DEFAULT 1 AFTER transactionCount',
+    'DO 0');
+PREPARE migration FROM @migration;
+EXECUTE migration;
+DEALLOCATE PREPARE migration;
+
+SET @migration = IF(@snapshots_exist = 1,
+    'DELETE FROM wallet_balance_snapshots WHERE formatVersion < 2',
+    'DO 0');
+PREPARE migration FROM @migration;
+EXECUTE migration;
+DEALLOCATE PREPARE migration;
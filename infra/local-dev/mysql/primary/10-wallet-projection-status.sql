@@ -0,0 +1,29 @@
+-- Status and creation time of wallet projections
+-- The wallet queries are served from wallet_projections, which needs the status and creation
+-- time a wallet is returned with. WalletEventHandler takes them from the WalletCreated event.
+--
+-- On a fresh database 07-wallet-projections.sql already creates the columns. On a database
+-- created before they existed, this adds them and backfills them from the wallets table, for
+-- projections whose WalletCreated event was applied before. Replicas get the change through
+-- replication, so there is no replica copy.
+
+SET @projections_exist = (SELECT COUNT(*) FROM information_schema.tables
+    WHERE table_schema = DATABASE() AND table_name = 'wallet_projections');
+SET @status_exists = (SELECT COUNT(*) FROM information_schema.columns
+    WHERE table_schema = DATABASE() AND table_name = 'wallet_projections' AND column_name = 'status');
+SET @wallets_exist = (SELECT COUNT(*) FROM information_schema.tables
+    WHERE table_schema = DATABASE() AND table_name = 'wallets');
+
+SET @migration = IF(@projections_exist = 1 AND @status_exists = 0,
+    'ALTER TABLE wallet_projections ADD COLUMN status VARCHAR(255) NULL AFTER userId, ADD COLUMN createdAt TIMESTAMP(6) NULL AFTER status',
+    'DO 0');
+PREPARE migration FROM @migration;
+EXECUTE migration;
+DEALLOCATE PREPARE migration;
+
+SET @migration = IF(@projections_exist = 1 AND @wallets_exist = 1,
+    'UPDATE wallet_projections p JOIN wallets w ON w.id = p.walletId SET p.status = w.status, p.createdAt = w.createdAt WHERE p.status IS NULL AND p.userId IS NOT NULL',
+    'DO 0');
+PREPARE migration FROM @migration;
+EXECUTE migration;
+DEALLOCATE PREPARE migration;
@@ -0,0 +1,41 @@
+-- Covering indexes of the transaction table
+-- The history pages and the historical balance sums are served by one covering index per side
+-- of a transfer, (walletId | destinationWalletId, createdAt, id, type, amount). They replace
+-- idx_wallet_id, idx_wallet_created_at, idx_destination_created_at, idx_wallet_history and
+-- idx_destination_history, whose columns they all lead with.
+--
+-- Hibernate creates the table on a fresh database, with the new indexes only. Schema update
+-- never drops an index, so on a database created before, this drops the old ones and creates
+-- the new ones if Hibernate has not. Replicas get the change through replication, so there is
+-- no replica copy.
+
+SET @transactions_exist = (SELECT COUNT(*) FROM information_schema.tables
+    WHERE table_schema = DATABASE() AND table_name = 'transaction');
+
+SET @index_exists = (SELECT COUNT(*) FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'transaction' AND index_name = 'idx_wallet_transactions');
+SET @migration = IF(@transactions_exist = 1 AND @index_exists = 0,
+    'CREATE INDEX idx_wallet_transactions ON transaction (walletId, createdAt, id, type, amount)',
+    'DO 0');
+PREPARE migration FROM @migration;
+EXECUTE migration;
+DEALLOCATE PREPARE migration;
+
+SET @index_exists = (SELECT COUNT(*) FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'transaction' AND index_name = 'idx_destination_transactions');
+SET @migration = IF(@transactions_exist = 1 AND @index_exists = 0,
+    'CREATE INDEX idx_destination_transactions ON transaction (destinationWalletId, createdAt, id, type, amount)',
+    'DO 0');
+PREPARE migration FROM @migration;
+EXECUTE migration;
+DEALLOCATE PREPARE migration;
+
+-- The old indexes go once the new ones are in place
+SET @redundant = (SELECT GROUP_CONCAT(DISTINCT CONCAT('DROP INDEX ', index_name) SEPARATOR ', ')
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE() AND table_name = 'transaction' AND index_name IN ('idx_wallet_id',
+        'idx_wallet_created_at', 'idx_destination_created_at', 'idx_wallet_history', 'idx_destination_history'));
+SET @migration = IF(@redundant IS NOT NULL, CONCAT('ALTER TABLE transaction ', @redundant), 'DO 0');
+PREPARE migration FROM @migration;
+EXECUTE migration;
+DEALLOCATE PREPARE migration;
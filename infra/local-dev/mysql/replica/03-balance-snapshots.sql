@@ -0,0 +1,18 @@
+-- Balance checkpoints for historical balance queries (replica)
+-- A historical balance is the nearest snapshot at or before the timestamp plus the replay of
+-- the transactions after it
+
+CREATE TABLE IF NOT EXISTS wallet_balance_snapshots (
+    id VARCHAR(255) PRIMARY KEY,
+    walletId VARCHAR(255) NOT NULL,
+    balance DECIMAL(19,4) NOT NULL,
+    snapshotAt DATETIME(6) NOT NULL,
+    transactionCount BIGINT NOT NULL,
+    -- Rows written without a format predate BalanceSnapshot.CURRENT_FORMAT (see 09)
+    formatVersion INT NOT NULL DEFAULT 1,
+    createdAt DATETIME(6) NOT NULL,
+
+    -- Nearest snapshot lookup is a single seek on (walletId, snapshotAt)
+    UNIQUE INDEX idx_snapshot_wallet_at (walletId, snapshotAt),
+    INDEX idx_snapshot_at (snapshotAt)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
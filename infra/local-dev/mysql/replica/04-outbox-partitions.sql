@@ -0,0 +1,8 @@
+-- Outbox partitions for publishing from several instances (replica)
+-- outbox_events.partition_id, its index and the outbox_partitions rows come from the primary's
+-- 04-outbox-partitions.sql through replication: running the ALTER or the inserts here as well
+-- would make the replicated statements fail (duplicate column or key) and stop replication
+
+CREATE TABLE IF NOT EXISTS outbox_partitions (
+    partition_id INT PRIMARY KEY
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
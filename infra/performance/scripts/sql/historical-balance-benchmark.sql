@@ -0,0 +1,97 @@
+-- Historical balance query benchmark on a million-row transaction table
+--
+-- Compares the naive "walletId OR destinationWalletId" aggregate with the UNION ALL query the
+-- service runs (BalanceDelta), on a scratch schema so the wallet data is left alone.
+--
+-- Run against the local primary:
+--   docker exec -i wallet-mysql-primary mysql -uroot -proot < infra/performance/scripts/sql/historical-balance-benchmark.sql
+-- and compare the "actual time" of the EXPLAIN ANALYZE outputs.
+
+CREATE DATABASE IF NOT EXISTS wallet_bench;
+USE wallet_bench;
+
+DROP TABLE IF EXISTS transaction;
+CREATE TABLE transaction (
+    id VARCHAR(255) PRIMARY KEY,
+    walletId VARCHAR(255) NOT NULL,
+    type VARCHAR(255) NOT NULL,
+    amount DECIMAL(19,4) NOT NULL,
+    referenceId VARCHAR(255) NOT NULL,
+    description VARCHAR(1000),
+    status VARCHAR(255) NOT NULL,
+    destinationWalletId VARCHAR(255),
+    createdAt DATETIME(6) NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- 1,000,000 transactions over 1,000 wallets and one year; every fifth one is a transfer
+SET SESSION cte_max_recursion_depth = 1000000;
+INSERT INTO transaction (id, walletId, type, amount, referenceId, status, destinationWalletId, createdAt)
+WITH RECURSIVE seq (n) AS (
+    SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 1000000
+)
+SELECT
+    UUID(),
+    CONCAT('wallet-', n % 1000),
+    ELT(1 + n % 5, 'DEPOSIT', 'DEPOSIT', 'WITHDRAWAL', 'DEPOSIT', 'TRANSFER'),
+    1 + (n % 97),
+    CONCAT('ref-', n),
+    'COMPLETED',
+    IF(n % 5 = 4, CONCAT('wallet-', (n + 1) % 1000), NULL),
+    TIMESTAMP('2024-01-01') + INTERVAL (n * 31) SECOND
+FROM seq;
+
+ANALYZE TABLE transaction;
+
+SET @wallet = 'wallet-42';
+SET @upTo = TIMESTAMP('2024-10-01');
+
+-- Naive: one aggregate with an OR across both wallet columns, only the old walletId index
+CREATE INDEX idx_wallet_id ON transaction (walletId);
+
+EXPLAIN ANALYZE
+SELECT SUM(CASE
+        WHEN type = 'DEPOSIT' THEN amount
+        WHEN type = 'WITHDRAWAL' THEN -amount
+        WHEN type = 'TRANSFER' AND destinationWalletId = @wallet THEN amount
+        WHEN type = 'TRANSFER' THEN -amount
+        ELSE 0 END), COUNT(*)
+FROM transaction
+WHERE (walletId = @wallet OR destinationWalletId = @wallet) AND createdAt <= @upTo;
+
+-- Service query: one covering index range scan per side of a transfer
+DROP INDEX idx_wallet_id ON transaction;
+CREATE INDEX idx_wallet_transactions ON transaction (walletId, createdAt, id, type, amount);
+CREATE INDEX idx_destination_transactions ON transaction (destinationWalletId, createdAt, id, type, amount);
+
+EXPLAIN ANALYZE
+SELECT SUM(delta), SUM(cnt) FROM (
+    SELECT SUM(CASE type
+            WHEN 'DEPOSIT' THEN amount
+            WHEN 'WITHDRAWAL' THEN -amount
+            WHEN 'TRANSFER' THEN -amount
+            ELSE 0 END) AS delta, COUNT(*) AS cnt
+    FROM transaction WHERE walletId = @wallet AND createdAt <= @upTo
+    UNION ALL
+    SELECT SUM(amount) AS delta, COUNT(*) AS cnt
+    FROM transaction WHERE destinationWalletId = @wallet AND type = 'TRANSFER' AND createdAt <= @upTo
+) AS legs;
+
+-- Both must give the same balance
+SELECT
+    (SELECT SUM(CASE
+            WHEN type = 'DEPOSIT' THEN amount
+            WHEN type = 'WITHDRAWAL' THEN -amount
+            WHEN type = 'TRANSFER' AND destinationWalletId = @wallet THEN amount
+            WHEN type = 'TRANSFER' THEN -amount
+            ELSE 0 END)
+     FROM transaction
+     WHERE (walletId = @wallet OR destinationWalletId = @wallet) AND createdAt <= @upTo) AS naive_balance,
+    (SELECT SUM(delta) FROM (
+        SELECT SUM(CASE type WHEN 'DEPOSIT' THEN amount ELSE -amount END) AS delta
+        FROM transaction WHERE walletId = @wallet AND createdAt <= @upTo
+        UNION ALL
+        SELECT SUM(amount) FROM transaction
+        WHERE destinationWalletId = @wallet AND type = 'TRANSFER' AND createdAt <= @upTo
+    ) AS legs) AS union_balance;
+
+DROP DATABASE wallet_bench;
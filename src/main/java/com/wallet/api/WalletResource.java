@@ -3,32 +3,42 @@ package com.wallet.api;
 import java.net.URI;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
 
+import com.wallet.api.request.BulkCommandRequest;
+import com.wallet.api.request.BulkItemRequest;
 import com.wallet.api.request.CreateWalletRequest;
 import com.wallet.api.request.DepositFundsRequest;
+import com.wallet.api.request.GetWalletsRequest;
 import com.wallet.api.request.WithdrawFundsRequest;
 import com.wallet.api.request.TransferFundsRequest;
+import com.wallet.application.command.BulkCommand;
+import com.wallet.application.command.BulkMode;
 import com.wallet.application.command.CreateWalletCommand;
 import com.wallet.application.command.DepositFundsCommand;
 import com.wallet.application.command.WithdrawFundsCommand;
 import com.wallet.application.command.TransferFundsCommand;
-import com.wallet.application.handler.CreateWalletCommandHandler;
-import com.wallet.application.handler.DepositFundsCommandHandler;
-import com.wallet.application.handler.GetWalletQueryHandler;
-import com.wallet.application.handler.WithdrawFundsCommandHandler;
-import com.wallet.application.handler.TransferFundsCommandHandler;
 import com.wallet.application.query.GetWalletQuery;
+import com.wallet.application.query.GetWalletsQuery;
 import com.wallet.application.query.GetHistoricalBalanceQuery;
-import com.wallet.application.handler.GetHistoricalBalanceQueryHandler;
+import com.wallet.application.query.GetTransactionHistoryQuery;
+import com.wallet.application.query.TransactionCursor;
+import com.wallet.application.service.TransactionExportService;
 import com.wallet.core.command.CommandBus;
+import com.wallet.core.command.WalletCommand;
 import com.wallet.core.query.QueryBus;
+import com.wallet.dto.BulkCommandResult;
+import com.wallet.dto.TransactionResponse;
 
 import io.opentelemetry.instrumentation.annotations.WithSpan;
 import io.quarkus.hibernate.reactive.panache.common.WithTransaction;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 
 import jakarta.inject.Inject;
 import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.NotFoundException;
 import jakarta.ws.rs.POST;
@@ -40,8 +50,11 @@ import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.Response.Status;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Pattern;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.enums.SchemaType;
 import org.eclipse.microprofile.openapi.annotations.media.Content;
@@ -50,6 +63,8 @@ import org.eclipse.microprofile.openapi.annotations.parameters.Parameter;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponse;
 import org.eclipse.microprofile.openapi.annotations.responses.APIResponses;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
+import org.jboss.resteasy.reactive.RestStreamElementType;
+import org.jboss.resteasy.reactive.common.util.RestMediaType;
 
 @Path("/api/v1/wallets")
 @Produces(MediaType.APPLICATION_JSON)
@@ -62,24 +77,11 @@ public class WalletResource {
     @Inject
     QueryBus queryBus;
 
-    // Temporary direct injection for debugging
     @Inject
-    CreateWalletCommandHandler createWalletHandler;
+    TransactionExportService transactionExportService;
 
-    @Inject
-    GetWalletQueryHandler getWalletQueryHandler;
-
-    @Inject
-    DepositFundsCommandHandler depositFundsHandler;
-
-    @Inject
-    WithdrawFundsCommandHandler withdrawFundsHandler;
-
-    @Inject
-    TransferFundsCommandHandler transferFundsHandler;
-
-    @Inject
-    GetHistoricalBalanceQueryHandler historicalBalanceQueryHandler;
+    @ConfigProperty(name = "wallet.bulk.default-mode", defaultValue = "BEST_EFFORT")
+    BulkMode defaultBulkMode;
 
     @POST
     @WithTransaction
@@ -198,8 +200,38 @@ public class WalletResource {
     }
 
     @POST
-    @Path("/{walletId}/deposit")
+    @Path("/lookup")
     @WithTransaction
+    @Operation(
+        summary = "Get several wallets",
+        description = "Retrieves a set of wallets in one call, in the order of the requested ids. "
+            + "Unknown wallets are left out of the result"
+    )
+    @APIResponses({
+        @APIResponse(
+            responseCode = "200",
+            description = "Wallets found",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON,
+                schema = @Schema(
+                    type = SchemaType.ARRAY,
+                    example = "[ { \"id\": \"550e8400-e29b-41d4-a716-446655440000\", \"userId\": \"user123\", \"balance\": 150.75, \"status\": \"ACTIVE\", \"createdAt\": \"2025-01-01T12:00:00\", \"updatedAt\": \"2025-01-01T12:30:00\" } ]"
+                )
+            )
+        ),
+        @APIResponse(
+            responseCode = "400",
+            description = "Invalid request data"
+        )
+    })
+    @WithSpan("api.wallet.lookup")
+    public Uni<Response> getWallets(@Valid GetWalletsRequest request) {
+        return queryBus.dispatch(new GetWalletsQuery(request.getWalletIds()))
+            .map(wallets -> Response.ok(wallets).build());
+    }
+
+    @POST
+    @Path("/{walletId}/deposit")
     @Operation(
         summary = "Deposit funds to wallet",
         description = "Adds money to the specified wallet with transaction tracking"
@@ -267,7 +299,6 @@ public class WalletResource {
 
     @POST
     @Path("/{walletId}/withdraw")
-    @WithTransaction
     @Operation(
         summary = "Withdraw funds from wallet",
         description = "Removes money from the specified wallet with balance validation"
@@ -334,7 +365,6 @@ public class WalletResource {
 
     @POST
     @Path("/{sourceWalletId}/transfer")
-    @WithTransaction
     @Operation(
         summary = "Transfer funds between wallets",
         description = "Transfers money from source wallet to destination wallet atomically"
@@ -400,6 +430,60 @@ public class WalletResource {
             );
     }
 
+    @POST
+    @Path("/bulk")
+    @Operation(
+        summary = "Apply a bulk of deposits, withdrawals and transfers",
+        description = "Applies the items in order in one database transaction and reports a result per item. "
+            + "In ALL_OR_NOTHING mode a single failing item aborts the whole bulk; in BEST_EFFORT mode "
+            + "failing items are skipped"
+    )
+    @APIResponses({
+        @APIResponse(
+            responseCode = "200",
+            description = "Bulk applied (in BEST_EFFORT mode, possibly with failed items)",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON,
+                schema = @Schema(
+                    type = SchemaType.OBJECT,
+                    example = "{ \"mode\": \"BEST_EFFORT\", \"applied\": 1, \"failed\": 1, \"results\": [ { \"index\": 0, \"status\": \"OK\", \"transactionId\": \"550e8400-e29b-41d4-a716-446655440000\" }, { \"index\": 1, \"status\": \"INSUFFICIENT_FUNDS\" } ] }"
+                )
+            )
+        ),
+        @APIResponse(
+            responseCode = "422",
+            description = "ALL_OR_NOTHING bulk aborted; failed items carry their status, the others ABORTED"
+        ),
+        @APIResponse(
+            responseCode = "400",
+            description = "Invalid request data"
+        )
+    })
+    @WithSpan("api.wallet.bulk")
+    public Uni<Response> applyBulk(@Valid BulkCommandRequest request) {
+        BulkMode mode = request.getMode() != null ? request.getMode() : defaultBulkMode;
+        List<WalletCommand> commands = new ArrayList<>(request.getItems().size());
+        for (BulkItemRequest item : request.getItems()) {
+            commands.add(toCommand(item));
+        }
+
+        return commandBus.<BulkCommand, BulkCommandResult>dispatch(new BulkCommand(commands, mode))
+            .map(result -> Response
+                .status(mode == BulkMode.ALL_OR_NOTHING && result.getFailed() > 0 ? 422 : Status.OK.getStatusCode())
+                .entity(result)
+                .build()
+            );
+    }
+
+    private static WalletCommand toCommand(BulkItemRequest item) {
+        return switch (item.getType()) {
+            case DEPOSIT -> new DepositFundsCommand(item.getWalletId(), item.getAmount(), item.getReferenceId());
+            case WITHDRAW -> new WithdrawFundsCommand(item.getWalletId(), item.getAmount(), item.getReferenceId());
+            case TRANSFER -> new TransferFundsCommand(
+                item.getWalletId(), item.getDestinationWalletId(), item.getAmount(), item.getReferenceId());
+        };
+    }
+
     @GET
     @Path("/{walletId}/balance/historical")
     @WithTransaction
@@ -491,4 +575,124 @@ public class WalletResource {
             );
         }
     }
+
+    @GET
+    @Path("/{walletId}/transactions")
+    @WithTransaction
+    @Operation(
+        summary = "Get wallet transaction history",
+        description = "Returns one page of the wallet's transactions, oldest first, including transfers it received. "
+            + "Pass the nextCursor of a page to get the following one."
+    )
+    @APIResponses({
+        @APIResponse(
+            responseCode = "200",
+            description = "Transaction history page retrieved successfully",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON,
+                schema = @Schema(
+                    type = SchemaType.OBJECT,
+                    example = "{ \"walletId\": \"550e8400-e29b-41d4-a716-446655440000\", \"transactions\": [ { \"id\": \"txn-1\", \"type\": \"DEPOSIT\", \"amount\": 100.00, \"createdAt\": \"2025-01-01T12:00:00\" } ], \"nextCursor\": \"MjAyNS0wMS0wMVQxMjowMHx0eG4tMQ\" }"
+                )
+            )
+        ),
+        @APIResponse(
+            responseCode = "400",
+            description = "Invalid cursor or page size",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON,
+                schema = @Schema(
+                    type = SchemaType.OBJECT,
+                    example = "{ \"error\": \"Invalid cursor\" }"
+                )
+            )
+        ),
+        @APIResponse(
+            responseCode = "404",
+            description = "Wallet not found",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON,
+                schema = @Schema(
+                    type = SchemaType.OBJECT,
+                    example = "{ \"error\": \"WALLET_NOT_FOUND\", \"message\": \"Wallet not found: 550e8400-e29b-41d4-a716-446655440000\" }"
+                )
+            )
+        )
+    })
+    public Uni<Response> getTransactionHistory(
+            @Parameter(
+                description = "Unique wallet identifier (UUID format)",
+                example = "550e8400-e29b-41d4-a716-446655440000",
+                required = true
+            )
+            @PathParam("walletId") 
+            @Pattern(regexp = "^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$", 
+                     message = "Wallet ID must be a valid UUID") 
+            String walletId,
+            @Parameter(description = "nextCursor of the previous page, omitted for the first page")
+            @QueryParam("cursor")
+            String cursorToken,
+            @Parameter(description = "Maximum number of transactions in the page", example = "50")
+            @QueryParam("limit")
+            @DefaultValue("50")
+            @Min(value = 1, message = "Limit must be at least 1")
+            @Max(value = 500, message = "Limit must be at most 500")
+            int limit) {
+
+        TransactionCursor cursor;
+        try {
+            cursor = cursorToken == null || cursorToken.isBlank() ? null : TransactionCursor.decode(cursorToken);
+        } catch (IllegalArgumentException e) {
+            return Uni.createFrom().item(
+                Response.status(Response.Status.BAD_REQUEST)
+                    .entity("{\"error\": \"Invalid cursor\"}")
+                    .build()
+            );
+        }
+
+        GetTransactionHistoryQuery query = new GetTransactionHistoryQuery(walletId, cursor, limit);
+
+        // Using QueryBus for proper CQRS architecture
+        return queryBus.dispatch(query)
+            .map(page -> Response.ok(page).build());
+    }
+
+    @GET
+    @Path("/{walletId}/transactions/export")
+    @Produces(RestMediaType.APPLICATION_NDJSON)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    @Operation(
+        summary = "Export wallet transaction history",
+        description = "Streams every transaction of the wallet, oldest first, as newline-delimited JSON"
+    )
+    @APIResponses({
+        @APIResponse(
+            responseCode = "200",
+            description = "Transaction stream, one JSON object per line",
+            content = @Content(mediaType = RestMediaType.APPLICATION_NDJSON)
+        ),
+        @APIResponse(
+            responseCode = "404",
+            description = "Wallet not found",
+            content = @Content(
+                mediaType = MediaType.APPLICATION_JSON,
+                schema = @Schema(
+                    type = SchemaType.OBJECT,
+                    example = "{ \"error\": \"WALLET_NOT_FOUND\", \"message\": \"Wallet not found: 550e8400-e29b-41d4-a716-446655440000\" }"
+                )
+            )
+        )
+    })
+    public Multi<TransactionResponse> exportTransactions(
+            @Parameter(
+                description = "Unique wallet identifier (UUID format)",
+                example = "550e8400-e29b-41d4-a716-446655440000",
+                required = true
+            )
+            @PathParam("walletId") 
+            @Pattern(regexp = "^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$", 
+                     message = "Wallet ID must be a valid UUID") 
+            String walletId) {
+        return transactionExportService.export(walletId);
+    }
 }
@@ -1,7 +1,9 @@
 package com.wallet.api.exception;
 
 import com.wallet.exception.BusinessException;
+import com.wallet.exception.DuplicateRequestException;
 import com.wallet.exception.InsufficientFundsException;
+import com.wallet.exception.ReferenceIdReusedException;
 import com.wallet.exception.WalletNotFoundException;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.ext.ExceptionMapper;
@@ -55,6 +57,9 @@ public class BusinessExceptionMapper implements ExceptionMapper<BusinessExceptio
         if (exception instanceof WalletNotFoundException) {
             return Response.Status.NOT_FOUND;
         }
+        if (exception instanceof DuplicateRequestException || exception instanceof ReferenceIdReusedException) {
+            return Response.Status.CONFLICT;
+        }
         
         // Most business exceptions are client errors (400)
         return Response.Status.BAD_REQUEST;
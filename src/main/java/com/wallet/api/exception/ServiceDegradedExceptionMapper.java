@@ -0,0 +1,45 @@
+package com.wallet.api.exception;
+
+import com.wallet.infrastructure.resilience.ServiceDegradedException;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.ExceptionMapper;
+import jakarta.ws.rs.ext.Provider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Exception mapper for requests shed or refused because the service is degraded.
+ * Rate limited requests get 429 and others 503, both with a Retry-After hint.
+ */
+@Provider
+public class ServiceDegradedExceptionMapper implements ExceptionMapper<ServiceDegradedException> {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ServiceDegradedExceptionMapper.class);
+    
+    @Override
+    public Response toResponse(ServiceDegradedException exception) {
+        // Expected under load, a stack trace per rejected request would only add to it
+        logger.debug("Request refused: {} - {}", exception.getDegradationCode(), exception.getMessage());
+        
+        Response.Status status = "RATE_LIMITED".equals(exception.getDegradationCode())
+                ? Response.Status.TOO_MANY_REQUESTS
+                : Response.Status.SERVICE_UNAVAILABLE;
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", status.getStatusCode());
+        response.put("error", exception.getDegradationCode());
+        response.put("message", exception.getMessage());
+        
+        return Response
+                .status(status)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .entity(response)
+                .build();
+    }
+}
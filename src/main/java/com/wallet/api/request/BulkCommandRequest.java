@@ -0,0 +1,49 @@
+package com.wallet.api.request;
+
+import com.wallet.application.command.BulkMode;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+@Schema(description = "Deposits, withdrawals and transfers applied together, in order")
+public class BulkCommandRequest {
+
+    @Schema(
+        description = "ALL_OR_NOTHING applies every item or none; BEST_EFFORT skips the items that fail. "
+            + "Defaults to wallet.bulk.default-mode",
+        example = "BEST_EFFORT"
+    )
+    private BulkMode mode;
+
+    // Bounded so a bulk stays one reasonably short transaction; larger runs are split by the client
+    @Schema(description = "Items to apply, at most 1000", required = true)
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 1000, message = "A bulk request cannot exceed 1000 items")
+    private List<@Valid BulkItemRequest> items;
+
+    public BulkCommandRequest() {}
+
+    public BulkCommandRequest(BulkMode mode, List<BulkItemRequest> items) {
+        this.mode = mode;
+        this.items = items;
+    }
+
+    public BulkMode getMode() {
+        return mode;
+    }
+
+    public void setMode(BulkMode mode) {
+        this.mode = mode;
+    }
+
+    public List<BulkItemRequest> getItems() {
+        return items;
+    }
+
+    public void setItems(List<BulkItemRequest> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,106 @@
+package com.wallet.api.request;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import java.math.BigDecimal;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+@Schema(description = "One deposit, withdrawal or transfer of a bulk request")
+public class BulkItemRequest {
+
+    public enum Type {
+        DEPOSIT,
+        WITHDRAW,
+        TRANSFER
+    }
+
+    @Schema(description = "Operation to apply", example = "TRANSFER", required = true)
+    @NotNull(message = "Type is required")
+    private Type type;
+
+    @Schema(
+        description = "Wallet to credit or debit; the source wallet of a transfer",
+        example = "550e8400-e29b-41d4-a716-446655440000",
+        required = true
+    )
+    @NotBlank(message = "Wallet ID is required")
+    @Pattern(regexp = "^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$",
+             message = "Wallet ID must be a valid UUID")
+    private String walletId;
+
+    @Schema(
+        description = "Wallet credited by a transfer; ignored for other types",
+        example = "6ba7b810-9dad-11d1-80b4-00c04fd430c8"
+    )
+    @Pattern(regexp = "^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$",
+             message = "Destination wallet ID must be a valid UUID")
+    private String destinationWalletId;
+
+    @Schema(description = "Amount in BRL (Brazilian Real)", example = "2500.00", required = true,
+            minimum = "0.01", maximum = "1000000.00")
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be at least 0.01")
+    @DecimalMax(value = "1000000.00", message = "Amount cannot exceed 1,000,000.00")
+    private BigDecimal amount;
+
+    @Schema(description = "Unique reference identifier for this item", example = "payroll-2025-01-0001", required = true)
+    @NotBlank(message = "Reference ID is required")
+    @Size(min = 1, max = 100, message = "Reference ID must be between 1 and 100 characters")
+    @Pattern(regexp = "^[a-zA-Z0-9\\-_]+$", message = "Reference ID can only contain letters, numbers, hyphens, and underscores")
+    private String referenceId;
+
+    public BulkItemRequest() {}
+
+    public BulkItemRequest(Type type, String walletId, String destinationWalletId, BigDecimal amount, String referenceId) {
+        this.type = type;
+        this.walletId = walletId;
+        this.destinationWalletId = destinationWalletId;
+        this.amount = amount;
+        this.referenceId = referenceId;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public String getWalletId() {
+        return walletId;
+    }
+
+    public void setWalletId(String walletId) {
+        this.walletId = walletId;
+    }
+
+    public String getDestinationWalletId() {
+        return destinationWalletId;
+    }
+
+    public void setDestinationWalletId(String destinationWalletId) {
+        this.destinationWalletId = destinationWalletId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public String getReferenceId() {
+        return referenceId;
+    }
+
+    public void setReferenceId(String referenceId) {
+        this.referenceId = referenceId;
+    }
+}
@@ -0,0 +1,33 @@
+package com.wallet.api.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+import org.eclipse.microprofile.openapi.annotations.media.Schema;
+
+@Schema(description = "Wallets to look up together")
+public class GetWalletsRequest {
+
+    // Bounded so one lookup stays a single MGET and a single IN query of reasonable size
+    @Schema(description = "Wallet ids (UUID format), at most 200", required = true)
+    @NotEmpty(message = "At least one wallet ID is required")
+    @Size(max = 200, message = "A lookup cannot exceed 200 wallets")
+    private List<@Pattern(regexp = "^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$",
+        message = "Wallet ID must be a valid UUID") String> walletIds;
+
+    public GetWalletsRequest() {}
+
+    public GetWalletsRequest(List<String> walletIds) {
+        this.walletIds = walletIds;
+    }
+
+    public List<String> getWalletIds() {
+        return walletIds;
+    }
+
+    public void setWalletIds(List<String> walletIds) {
+        this.walletIds = walletIds;
+    }
+}
@@ -0,0 +1,48 @@
+package com.wallet.application.command;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.wallet.core.command.Command;
+import com.wallet.core.command.WalletCommand;
+
+/**
+ * Deposits, withdrawals and transfers submitted together, applied in order in one database
+ * transaction. Not a {@link WalletCommand} itself: it touches many wallets.
+ */
+public class BulkCommand implements Command {
+    private final String commandId;
+    private final List<WalletCommand> commands;
+    private final BulkMode mode;
+
+    /**
+     * @param commands DepositFundsCommand, WithdrawFundsCommand or TransferFundsCommand items
+     */
+    public BulkCommand(List<WalletCommand> commands, BulkMode mode) {
+        this.commandId = UUID.randomUUID().toString();
+        this.commands = List.copyOf(commands);
+        this.mode = mode;
+    }
+
+    @Override
+    public String getCommandId() {
+        return commandId;
+    }
+
+    public List<WalletCommand> getCommands() {
+        return commands;
+    }
+
+    public BulkMode getMode() {
+        return mode;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkCommand{" +
+                "commandId='" + commandId + '\'' +
+                ", items=" + commands.size() +
+                ", mode=" + mode +
+                '}';
+    }
+}
@@ -0,0 +1,8 @@
+package com.wallet.application.command;
+
+public enum BulkMode {
+    // Either every item is applied or none is
+    ALL_OR_NOTHING,
+    // Items that fail are reported and skipped, the others are applied
+    BEST_EFFORT
+}
@@ -1,10 +1,12 @@
 package com.wallet.application.command;
 
-import com.wallet.core.command.Command;
+import com.wallet.core.command.IdempotentCommand;
+import com.wallet.core.command.WalletCommand;
+import com.wallet.domain.model.TransactionType;
 import java.math.BigDecimal;
 import java.util.UUID;
 
-public class DepositFundsCommand implements Command {
+public class DepositFundsCommand implements WalletCommand, IdempotentCommand {
     private final String commandId;
     private final String walletId;
     private final BigDecimal amount;
@@ -22,6 +24,11 @@ public class DepositFundsCommand implements Command {
         return commandId;
     }
 
+    @Override
+    public String getAffectedWalletId() {
+        return walletId;
+    }
+
     public String getWalletId() {
         return walletId;
     }
@@ -30,7 +37,13 @@ public class DepositFundsCommand implements Command {
         return amount;
     }
 
+    @Override
     public String getReferenceId() {
         return referenceId;
     }
+
+    @Override
+    public String getFingerprint() {
+        return IdempotentCommand.fingerprint(TransactionType.DEPOSIT.name(), walletId, null, amount);
+    }
 }
\ No newline at end of file
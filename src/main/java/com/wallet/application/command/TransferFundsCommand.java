@@ -3,9 +3,11 @@ package com.wallet.application.command;
 import java.math.BigDecimal;
 import java.util.UUID;
 
-import com.wallet.core.command.Command;
+import com.wallet.core.command.IdempotentCommand;
+import com.wallet.core.command.WalletCommand;
+import com.wallet.domain.model.TransactionType;
 
-public class TransferFundsCommand implements Command {
+public class TransferFundsCommand implements WalletCommand, IdempotentCommand {
     private final String commandId;
     private final String sourceWalletId;
     private final String destinationWalletId;
@@ -25,6 +27,11 @@ public class TransferFundsCommand implements Command {
         return commandId;
     }
 
+    @Override
+    public String getAffectedWalletId() {
+        return sourceWalletId;
+    }
+
     public String getSourceWalletId() {
         return sourceWalletId;
     }
@@ -37,7 +44,13 @@ public class TransferFundsCommand implements Command {
         return amount;
     }
 
+    @Override
     public String getReferenceId() {
         return referenceId;
     }
+
+    @Override
+    public String getFingerprint() {
+        return IdempotentCommand.fingerprint(TransactionType.TRANSFER.name(), sourceWalletId, destinationWalletId, amount);
+    }
 }
@@ -3,9 +3,11 @@ package com.wallet.application.command;
 import java.math.BigDecimal;
 import java.util.UUID;
 
-import com.wallet.core.command.Command;
+import com.wallet.core.command.IdempotentCommand;
+import com.wallet.core.command.WalletCommand;
+import com.wallet.domain.model.TransactionType;
 
-public class WithdrawFundsCommand implements Command {
+public class WithdrawFundsCommand implements WalletCommand, IdempotentCommand {
     private final String commandId;
     private final String walletId;
     private final BigDecimal amount;
@@ -23,6 +25,11 @@ public class WithdrawFundsCommand implements Command {
         return commandId;
     }
 
+    @Override
+    public String getAffectedWalletId() {
+        return walletId;
+    }
+
     public String getWalletId() {
         return walletId;
     }
@@ -31,7 +38,13 @@ public class WithdrawFundsCommand implements Command {
         return amount;
     }
 
+    @Override
     public String getReferenceId() {
         return referenceId;
     }
+
+    @Override
+    public String getFingerprint() {
+        return IdempotentCommand.fingerprint(TransactionType.WITHDRAWAL.name(), walletId, null, amount);
+    }
 }
@@ -0,0 +1,149 @@
+package com.wallet.application.handler;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.wallet.application.command.BulkCommand;
+import com.wallet.application.command.DepositFundsCommand;
+import com.wallet.application.command.TransferFundsCommand;
+import com.wallet.application.command.WithdrawFundsCommand;
+import com.wallet.core.command.CommandHandler;
+import com.wallet.core.command.IdempotentCommand;
+import com.wallet.core.command.WalletCommand;
+import com.wallet.domain.model.Wallet;
+import com.wallet.dto.BulkCommandResult;
+import com.wallet.dto.BulkItemResult;
+import com.wallet.infrastructure.cache.WalletStateCache;
+import com.wallet.infrastructure.metrics.WalletMetrics;
+import com.wallet.infrastructure.outbox.OutboxEventService;
+import com.wallet.infrastructure.persistence.TransactionRepository;
+import com.wallet.infrastructure.persistence.WalletRepository;
+import com.wallet.infrastructure.resilience.ContentionRetry;
+
+import io.opentelemetry.instrumentation.annotations.WithSpan;
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.quarkus.reactive.datasource.ReactiveDataSource;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Applies a bulk of deposits, withdrawals and transfers in one database transaction
+ *
+ * However many items there are, the transaction runs a fixed number of statements: lock the
+ * touched wallets and read their balances, one SELECT of the reference ids already used, one UPDATE with every wallet's net change, one
+ * INSERT of the transactions, one INSERT of the outbox events, and one SELECT of the updated
+ * wallets for the cache. The items themselves are checked in memory (see {@link BulkExecution}).
+ */
+@ApplicationScoped
+public class BulkCommandHandler implements CommandHandler<BulkCommand, BulkCommandResult> {
+
+    private static final String OPERATION = "BulkCommand";
+
+    @Inject
+    @ReactiveDataSource("write")
+    WalletRepository walletWriteRepository;
+
+    @Inject
+    @ReactiveDataSource("write")
+    TransactionRepository transactionRepository;
+
+    @Inject
+    WalletStateCache walletCache;
+
+    @Inject
+    WalletMetrics walletMetrics;
+
+    @Inject
+    OutboxEventService outboxEventService;
+
+    @Inject
+    ContentionRetry contentionRetry;
+
+    @Override
+    @WithSpan("wallet.bulk")
+    public Uni<BulkCommandResult> handle(BulkCommand command) {
+        // The bus does not retry a bulk (it is not a wallet command), so a deadlock against
+        // single commands replays the whole transaction here
+        return contentionRetry.execute(OPERATION, "bulk", () -> Panache.withTransaction(() -> execute(command)))
+            // Only committed state is published to the cache
+            .call(applied -> walletCache.updateWallets(applied.wallets()))
+            .map(Applied::result)
+            .invoke(result -> recordMetrics(command, result))
+            .onFailure().invoke(throwable -> walletMetrics.incrementFailedOperations("bulk"));
+    }
+
+    private Uni<Applied> execute(BulkCommand command) {
+        Set<String> walletIds = new TreeSet<>();
+        for (WalletCommand item : command.getCommands()) {
+            walletIds.addAll(touchedWallets(item));
+        }
+        if (walletIds.isEmpty()) {
+            return Uni.createFrom().item(new Applied(
+                new BulkExecution(command.getCommands(), command.getMode(), Map.of()).result(), List.of()));
+        }
+
+        return walletWriteRepository.lockBalances(walletIds)
+            // Items reusing a recorded reference id are reported instead of failing the INSERT
+            .chain(balances -> transactionRepository.findIdsByReferenceIds(referenceIds(command))
+                .map(existing -> new BulkExecution(command.getCommands(), command.getMode(), balances, existing)))
+            .chain(execution -> {
+                if (!execution.hasWrites()) {
+                    return Uni.createFrom().item(new Applied(execution.result(), List.of()));
+                }
+                return walletWriteRepository.applyBalanceDeltas(execution.deltas())
+                    .chain(() -> transactionRepository.insertAll(execution.transactions()))
+                    .chain(() -> outboxEventService.storeAll(execution.events()))
+                    .chain(() -> walletWriteRepository.findByIds(execution.deltas().keySet()))
+                    .map(wallets -> new Applied(execution.result(), wallets));
+            });
+    }
+
+    private static Set<String> referenceIds(BulkCommand command) {
+        Set<String> referenceIds = new HashSet<>();
+        for (WalletCommand item : command.getCommands()) {
+            if (item instanceof IdempotentCommand idempotent && idempotent.getReferenceId() != null) {
+                referenceIds.add(idempotent.getReferenceId());
+            }
+        }
+        return referenceIds;
+    }
+
+    private static List<String> touchedWallets(WalletCommand command) {
+        if (command instanceof TransferFundsCommand transfer) {
+            return transfer.getDestinationWalletId() != null
+                ? List.of(transfer.getSourceWalletId(), transfer.getDestinationWalletId())
+                : List.of(transfer.getSourceWalletId());
+        }
+        return command.getAffectedWalletId() != null ? List.of(command.getAffectedWalletId()) : List.of();
+    }
+
+    private void recordMetrics(BulkCommand command, BulkCommandResult result) {
+        for (BulkItemResult item : result.getResults()) {
+            walletMetrics.recordBulkItem(item.getStatus().name());
+            if (!item.isApplied()) {
+                continue;
+            }
+            WalletCommand applied = command.getCommands().get(item.getIndex());
+            if (applied instanceof DepositFundsCommand deposit) {
+                walletMetrics.incrementDeposits();
+                walletMetrics.recordDepositAmount(deposit.getAmount());
+            } else if (applied instanceof WithdrawFundsCommand withdrawal) {
+                walletMetrics.incrementWithdrawals();
+                walletMetrics.recordWithdrawalAmount(withdrawal.getAmount());
+            } else if (applied instanceof TransferFundsCommand transfer) {
+                walletMetrics.incrementTransfers();
+                walletMetrics.recordTransferAmount(transfer.getAmount());
+            }
+        }
+    }
+
+    /**
+     * Outcome of the bulk transaction and the wallets it changed
+     */
+    private record Applied(BulkCommandResult result, List<Wallet> wallets) {
+    }
+}
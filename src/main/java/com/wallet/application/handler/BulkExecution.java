@@ -0,0 +1,187 @@
+package com.wallet.application.handler;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import com.wallet.application.command.BulkMode;
+import com.wallet.application.command.DepositFundsCommand;
+import com.wallet.application.command.TransferFundsCommand;
+import com.wallet.application.command.WithdrawFundsCommand;
+import com.wallet.core.command.IdempotentCommand;
+import com.wallet.core.command.WalletCommand;
+import com.wallet.domain.model.Transaction;
+import com.wallet.dto.BulkCommandResult;
+import com.wallet.dto.BulkItemResult;
+import com.wallet.dto.BulkItemStatus;
+import com.wallet.infrastructure.outbox.OutboxEventCollector;
+
+/**
+ * Plays the items of a bulk command, in order, against the balances of the wallets it locked
+ *
+ * Since the rows are locked, the balances in memory are exact: each item is checked and
+ * applied as if it ran on its own, but the outcome is only collected here, as one balance delta
+ * per wallet plus the transactions and outbox events to insert, so the handler can write the
+ * whole bulk with a handful of statements.
+ *
+ * Reference ids are unique across transactions, so an item reusing one that already has a
+ * transaction, or that an earlier item of the bulk applied with, is reported as a duplicate
+ * rather than left to fail the whole insert.
+ */
+final class BulkExecution {
+
+    private final BulkMode mode;
+    private final Map<String, BigDecimal> balances;
+    // Reference id to the transaction already recorded under it
+    private final Map<String, String> usedReferenceIds;
+    // Sorted so the UPDATE touches rows in the same order as the lock
+    private final Map<String, BigDecimal> deltas = new TreeMap<>();
+    private final List<Transaction> transactions = new ArrayList<>();
+    private final OutboxEventCollector events = new OutboxEventCollector();
+    private final List<BulkItemResult> results;
+    private boolean failed;
+
+    BulkExecution(List<WalletCommand> commands, BulkMode mode, Map<String, BigDecimal> lockedBalances) {
+        this(commands, mode, lockedBalances, Map.of());
+    }
+
+    /**
+     * @param lockedBalances balance of every existing wallet the commands touch
+     * @param existingReferenceIds transaction id of every reference id of the commands already recorded
+     */
+    BulkExecution(List<WalletCommand> commands, BulkMode mode, Map<String, BigDecimal> lockedBalances,
+            Map<String, String> existingReferenceIds) {
+        this.mode = mode;
+        this.balances = new HashMap<>(lockedBalances);
+        this.usedReferenceIds = new HashMap<>(existingReferenceIds);
+        this.results = new ArrayList<>(commands.size());
+        for (int index = 0; index < commands.size(); index++) {
+            BulkItemResult result = applyOnce(index, commands.get(index));
+            failed |= !result.isApplied();
+            results.add(result);
+        }
+    }
+
+    /**
+     * True when the collected changes must be written; false for an empty or aborted bulk
+     */
+    boolean hasWrites() {
+        return !transactions.isEmpty() && !(failed && mode == BulkMode.ALL_OR_NOTHING);
+    }
+
+    Map<String, BigDecimal> deltas() {
+        return deltas;
+    }
+
+    List<Transaction> transactions() {
+        return transactions;
+    }
+
+    OutboxEventCollector events() {
+        return events;
+    }
+
+    BulkCommandResult result() {
+        if (!failed || mode == BulkMode.BEST_EFFORT) {
+            return new BulkCommandResult(mode, results);
+        }
+        List<BulkItemResult> aborted = new ArrayList<>(results.size());
+        for (BulkItemResult result : results) {
+            aborted.add(result.isApplied() ? BulkItemResult.failed(result.getIndex(), BulkItemStatus.ABORTED) : result);
+        }
+        return new BulkCommandResult(mode, aborted);
+    }
+
+    private BulkItemResult applyOnce(int index, WalletCommand command) {
+        String referenceId = command instanceof IdempotentCommand idempotent ? idempotent.getReferenceId() : null;
+        if (referenceId == null) {
+            return apply(index, command);
+        }
+        if (usedReferenceIds.containsKey(referenceId)) {
+            return BulkItemResult.duplicate(index, usedReferenceIds.get(referenceId));
+        }
+        BulkItemResult result = apply(index, command);
+        if (result.isApplied()) {
+            // Within the bulk the duplicate is reported without a transaction id: the first item
+            // is not committed yet, and is not at all if the bulk is aborted
+            usedReferenceIds.put(referenceId, null);
+        }
+        return result;
+    }
+
+    private BulkItemResult apply(int index, WalletCommand command) {
+        if (command instanceof DepositFundsCommand deposit) {
+            BulkItemStatus invalid = check(deposit.getAmount(), deposit.getWalletId(), false);
+            if (invalid != null) {
+                return BulkItemResult.failed(index, invalid);
+            }
+            String transactionId = UUID.randomUUID().toString();
+            change(deposit.getWalletId(), deposit.getAmount());
+            transactions.add(DepositFundsCommandHandler.newTransaction(deposit, transactionId));
+            events.addWalletEvent(deposit.getWalletId(), "FundsDeposited",
+                DepositFundsCommandHandler.newEvent(deposit, transactionId));
+            return BulkItemResult.applied(index, transactionId);
+        }
+        if (command instanceof WithdrawFundsCommand withdrawal) {
+            BulkItemStatus invalid = check(withdrawal.getAmount(), withdrawal.getWalletId(), true);
+            if (invalid != null) {
+                return BulkItemResult.failed(index, invalid);
+            }
+            String transactionId = UUID.randomUUID().toString();
+            change(withdrawal.getWalletId(), withdrawal.getAmount().negate());
+            transactions.add(WithdrawFundsCommandHandler.newTransaction(withdrawal, transactionId));
+            events.addWalletEvent(withdrawal.getWalletId(), "FundsWithdrawn",
+                WithdrawFundsCommandHandler.newEvent(withdrawal, transactionId));
+            return BulkItemResult.applied(index, transactionId);
+        }
+        if (command instanceof TransferFundsCommand transfer) {
+            if (transfer.getSourceWalletId().equals(transfer.getDestinationWalletId())) {
+                return BulkItemResult.failed(index, BulkItemStatus.SAME_WALLET);
+            }
+            BulkItemStatus invalid = check(transfer.getAmount(), transfer.getDestinationWalletId(), false);
+            if (invalid == null) {
+                invalid = check(transfer.getAmount(), transfer.getSourceWalletId(), true);
+            }
+            if (invalid != null) {
+                return BulkItemResult.failed(index, invalid);
+            }
+            String transactionId = UUID.randomUUID().toString();
+            change(transfer.getSourceWalletId(), transfer.getAmount().negate());
+            change(transfer.getDestinationWalletId(), transfer.getAmount());
+            transactions.add(TransferFundsCommandHandler.newTransaction(transfer, transactionId));
+            // Keyed by the source wallet; consumers apply the credit from destinationWalletId
+            events.addWalletEvent(transfer.getSourceWalletId(), "FundsTransferred",
+                TransferFundsCommandHandler.newEvent(transfer, transactionId));
+            return BulkItemResult.applied(index, transactionId);
+        }
+        return BulkItemResult.failed(index, BulkItemStatus.UNSUPPORTED_COMMAND);
+    }
+
+    /**
+     * Why the amount cannot be moved into or out of the wallet, null if it can
+     *
+     * @param debit true when the amount is taken from the wallet
+     */
+    private BulkItemStatus check(BigDecimal amount, String walletId, boolean debit) {
+        if (amount == null || amount.signum() <= 0) {
+            return BulkItemStatus.INVALID_AMOUNT;
+        }
+        BigDecimal balance = balances.get(walletId);
+        if (balance == null) {
+            return BulkItemStatus.WALLET_NOT_FOUND;
+        }
+        if (debit && balance.compareTo(amount) < 0) {
+            return BulkItemStatus.INSUFFICIENT_FUNDS;
+        }
+        return null;
+    }
+
+    private void change(String walletId, BigDecimal amount) {
+        balances.merge(walletId, amount, BigDecimal::add);
+        deltas.merge(walletId, amount, BigDecimal::add);
+    }
+}
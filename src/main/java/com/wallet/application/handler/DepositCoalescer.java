@@ -0,0 +1,217 @@
+package com.wallet.application.handler;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.wallet.application.command.DepositFundsCommand;
+import com.wallet.domain.model.Transaction;
+import com.wallet.domain.model.Wallet;
+import com.wallet.infrastructure.cache.WalletStateCache;
+import com.wallet.infrastructure.metrics.WalletMetrics;
+import com.wallet.infrastructure.outbox.OutboxEventCollector;
+import com.wallet.infrastructure.outbox.OutboxEventService;
+import com.wallet.infrastructure.persistence.TransactionRepository;
+import com.wallet.infrastructure.persistence.WalletRepository;
+import com.wallet.infrastructure.resilience.ContentionRetry;
+
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.quarkus.logging.Log;
+import io.quarkus.reactive.datasource.ReactiveDataSource;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Merges deposits to hot credit-only wallets (merchant collection accounts)
+ *
+ * Deposits to a configured wallet that arrive within the coalescing window are written
+ * together: one balance UPDATE for the summed amount, one multi-row INSERT for the
+ * transactions, and their outbox events, all in a single database transaction. Every caller
+ * still gets its own transaction id and transaction row.
+ *
+ * Only meant for wallets that are never debited concurrently: a debit would not see the
+ * credits still waiting in the window.
+ *
+ * If a batch fails for any reason other than contention (a duplicate reference id, say),
+ * its deposits are replayed one by one so each caller gets its own outcome.
+ */
+@ApplicationScoped
+public class DepositCoalescer {
+
+    @Inject
+    @ReactiveDataSource("write")
+    WalletRepository walletWriteRepository;
+
+    @Inject
+    @ReactiveDataSource("write")
+    TransactionRepository transactionRepository;
+
+    @Inject
+    WalletStateCache walletCache;
+
+    @Inject
+    WalletMetrics walletMetrics;
+
+    @Inject
+    OutboxEventService outboxEventService;
+
+    @Inject
+    ContentionRetry contentionRetry;
+
+    @ConfigProperty(name = "wallet.deposit.coalescing.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "wallet.deposit.coalescing.wallet-ids")
+    Optional<List<String>> walletIds;
+
+    @ConfigProperty(name = "wallet.deposit.coalescing.window", defaultValue = "PT0.01S")
+    Duration window;
+
+    @ConfigProperty(name = "wallet.deposit.coalescing.max-batch-size", defaultValue = "200")
+    int maxBatchSize;
+
+    private final ConcurrentHashMap<String, Batch> openBatches = new ConcurrentHashMap<>();
+    private Set<String> coalescedWallets;
+
+    @PostConstruct
+    void init() {
+        coalescedWallets = Set.copyOf(walletIds.orElse(List.of()));
+    }
+
+    public boolean appliesTo(String walletId) {
+        return enabled && coalescedWallets.contains(walletId);
+    }
+
+    /**
+     * Adds the deposit to the wallet's open batch and completes with its transaction id once
+     * the batch is written. The batch is flushed when the window elapses or it is full.
+     *
+     * @param depositAlone writes a single deposit in its own transaction, used to replay a failed batch
+     */
+    public Uni<String> submit(DepositFundsCommand command, Function<DepositFundsCommand, Uni<String>> depositAlone) {
+        return Uni.createFrom().emitter(emitter -> {
+            PendingDeposit deposit = new PendingDeposit(command, UUID.randomUUID().toString(), emitter);
+            String walletId = command.getWalletId();
+
+            while (true) {
+                Batch batch = openBatches.computeIfAbsent(walletId, id -> new Batch(id, depositAlone));
+                boolean full;
+                synchronized (batch) {
+                    if (batch.closed) {
+                        // Flushed between the lookup and the lock, open a new one
+                        continue;
+                    }
+                    if (batch.deposits.isEmpty()) {
+                        scheduleFlush(batch);
+                    }
+                    batch.deposits.add(deposit);
+                    full = batch.deposits.size() >= maxBatchSize;
+                }
+                if (full) {
+                    closeAndFlush(batch);
+                }
+                return;
+            }
+        });
+    }
+
+    private void scheduleFlush(Batch batch) {
+        Context context = Vertx.currentContext();
+        Uni<Void> delay = Uni.createFrom().voidItem().onItem().delayIt().by(window);
+        if (context != null) {
+            // Database access has to happen on the event loop
+            delay = delay.emitOn(task -> context.runOnContext(ignored -> task.run()));
+        }
+        delay.subscribe().with(ignored -> closeAndFlush(batch));
+    }
+
+    private void closeAndFlush(Batch batch) {
+        synchronized (batch) {
+            if (batch.closed) {
+                return;
+            }
+            batch.closed = true;
+        }
+        openBatches.remove(batch.walletId, batch);
+        flush(batch);
+    }
+
+    private void flush(Batch batch) {
+        List<PendingDeposit> deposits = batch.deposits;
+        walletMetrics.recordDepositBatchSize(deposits.size());
+
+        contentionRetry.execute("DepositBatch", batch.walletId,
+                () -> Panache.withTransaction(() -> write(batch.walletId, deposits)))
+            // Only committed state is published to the cache
+            .call(walletCache::updateWallet)
+            .subscribe().with(
+                wallet -> deposits.forEach(deposit -> deposit.emitter.complete(deposit.transactionId)),
+                failure -> {
+                    if (deposits.size() == 1 || ContentionRetry.isExhausted(failure)) {
+                        deposits.forEach(deposit -> deposit.emitter.fail(failure));
+                    } else {
+                        Log.warnf("Deposit batch for wallet %s failed (%s), replaying %d deposits one by one",
+                            batch.walletId, failure.getMessage(), deposits.size());
+                        replay(batch, deposits);
+                    }
+                });
+    }
+
+    private Uni<Wallet> write(String walletId, List<PendingDeposit> deposits) {
+        BigDecimal total = BigDecimal.ZERO;
+        List<Transaction> transactions = new ArrayList<>(deposits.size());
+        OutboxEventCollector events = new OutboxEventCollector();
+        for (PendingDeposit deposit : deposits) {
+            total = total.add(deposit.command.getAmount());
+            transactions.add(DepositFundsCommandHandler.newTransaction(deposit.command, deposit.transactionId));
+            events.addWalletEvent(walletId, "FundsDeposited",
+                DepositFundsCommandHandler.newEvent(deposit.command, deposit.transactionId));
+        }
+
+        return walletWriteRepository.creditBalance(walletId, total)
+            .chain(applied -> applied
+                ? walletWriteRepository.findById(walletId)
+                : Uni.createFrom().<Wallet>nullItem())
+            .onItem().ifNull().failWith(() -> new IllegalArgumentException("Wallet not found: " + walletId))
+            .call(() -> transactionRepository.insertAll(transactions))
+            .call(() -> outboxEventService.storeAll(events));
+    }
+
+    private void replay(Batch batch, List<PendingDeposit> deposits) {
+        Multi.createFrom().iterable(deposits)
+            .onItem().transformToUniAndConcatenate(deposit -> batch.depositAlone.apply(deposit.command)
+                .onItem().invoke(deposit.emitter::complete)
+                .onFailure().invoke(deposit.emitter::fail)
+                .onFailure().recoverWithNull())
+            .subscribe().with(ignored -> { });
+    }
+
+    private static final class Batch {
+        final String walletId;
+        final Function<DepositFundsCommand, Uni<String>> depositAlone;
+        final List<PendingDeposit> deposits = new ArrayList<>();
+        boolean closed;
+
+        Batch(String walletId, Function<DepositFundsCommand, Uni<String>> depositAlone) {
+            this.walletId = walletId;
+            this.depositAlone = depositAlone;
+        }
+    }
+
+    private record PendingDeposit(DepositFundsCommand command, String transactionId, UniEmitter<? super String> emitter) {
+    }
+}
@@ -9,26 +9,24 @@ import com.wallet.domain.event.FundsDepositedEvent;
 import com.wallet.domain.model.Transaction;
 import com.wallet.domain.model.TransactionStatus;
 import com.wallet.domain.model.TransactionType;
+import com.wallet.domain.model.Wallet;
 import com.wallet.infrastructure.persistence.TransactionRepository;
-import com.wallet.infrastructure.persistence.WalletReadRepository;
 import com.wallet.infrastructure.persistence.WalletRepository;
 import com.wallet.infrastructure.cache.WalletStateCache;
 import com.wallet.infrastructure.metrics.WalletMetrics;
+import com.wallet.infrastructure.outbox.OutboxEventCollector;
 import com.wallet.infrastructure.outbox.OutboxEventService;
+import com.wallet.infrastructure.resilience.ContentionRetry;
 import io.opentelemetry.instrumentation.annotations.WithSpan;
+import io.quarkus.hibernate.reactive.panache.Panache;
 import io.quarkus.reactive.datasource.ReactiveDataSource;
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import jakarta.transaction.Transactional;
 
 @ApplicationScoped
 public class DepositFundsCommandHandler implements CommandHandler<DepositFundsCommand, String> {
 
-    @Inject
-    @ReactiveDataSource("read")
-    WalletReadRepository walletReadRepository;
-
     @Inject
     @ReactiveDataSource("write")
     WalletRepository walletWriteRepository;
@@ -39,88 +37,50 @@ public class DepositFundsCommandHandler implements CommandHandler<DepositFundsCo
 
     @Inject
     WalletStateCache walletCache;
-    
+
     @Inject
     WalletMetrics walletMetrics;
 
     @Inject
     OutboxEventService outboxEventService;
 
+    @Inject
+    DepositCoalescer depositCoalescer;
+
+    @Inject
+    ContentionRetry contentionRetry;
+
+    @Override
+    public boolean schedulesItself(DepositFundsCommand command) {
+        return depositCoalescer.appliesTo(command.getWalletId());
+    }
+
     @Override
-    @Transactional
     @WithSpan("wallet.deposit")
     public Uni<String> handle(DepositFundsCommand command) {
         // Start metrics timer
         var timer = walletMetrics.startDepositTimer();
-        
+
         // Validate amount is positive
         if (command.getAmount().compareTo(BigDecimal.ZERO) <= 0) {
             return Uni.createFrom().failure(
                 new IllegalArgumentException("Deposit amount must be positive")
             );
         }
-        
-        String transactionId = UUID.randomUUID().toString();
 
-        // First, check if wallet exists and get current balance
-        return walletReadRepository.findById(command.getWalletId())
-            .onItem().ifNull().failWith(() -> new IllegalArgumentException("Wallet not found: " + command.getWalletId()))
-            .chain(wallet -> {
-
-                
-                // Update wallet balance
-                wallet.setBalance(wallet.getBalance().add(command.getAmount()));
-                wallet.setUpdatedAt(java.time.Instant.now());
-                
-
-
-                // Create transaction record
-                Transaction transaction = new Transaction(
-                    transactionId,
-                    command.getWalletId(),
-                    TransactionType.DEPOSIT,
-                    command.getAmount(),
-                    command.getReferenceId(),
-                    TransactionStatus.COMPLETED
-                );
-                transaction.setDescription("Deposit to wallet");
-
-                // Create event for publishing
-                FundsDepositedEvent event = new FundsDepositedEvent(
-                    command.getWalletId(),
-                    transactionId,
-                    command.getAmount(),
-                    command.getReferenceId(),
-                    "Deposit to wallet"
-                );
-
-                // Persist wallet, transaction, and event in same database transaction
-                return walletWriteRepository.persist(wallet)
-                    .chain(() -> {
-
-                        return transactionRepository.persist(transaction);
-                    })
-                    .chain(() -> {
-
-                        return outboxEventService.storeWalletEvent(
-                            command.getWalletId(),
-                            "FundsDeposited",
-                            event
-                        );
-                    })
-                    .chain(() -> {
-
-                        return walletCache.invalidateWallet(command.getWalletId());
-                    })
-                    .map(v -> {
-
-                        // Record successful deposit metrics
-                        walletMetrics.incrementDeposits();
-                        walletMetrics.recordDepositAmount(command.getAmount());
-                        walletMetrics.recordDeposit(timer);
-                        walletMetrics.recordEventPublished("FUNDS_DEPOSITED");
-                        return transactionId;
-                    });
+        // Hot credit-only wallets are merged with other deposits arriving in the same window;
+        // everything else gets its own database transaction
+        Uni<String> deposit = depositCoalescer.appliesTo(command.getWalletId())
+            ? depositCoalescer.submit(command, this::depositAlone)
+            : depositInOwnTransaction(command);
+
+        return deposit
+            .onItem().invoke(transactionId -> {
+                // Record successful deposit metrics
+                walletMetrics.incrementDeposits();
+                walletMetrics.recordDepositAmount(command.getAmount());
+                walletMetrics.recordDeposit(timer);
+                walletMetrics.recordEventPublished("FUNDS_DEPOSITED");
             })
             .onFailure().invoke(throwable -> {
                 // Record failed deposit
@@ -128,4 +88,58 @@ public class DepositFundsCommandHandler implements CommandHandler<DepositFundsCo
                 walletMetrics.recordDeposit(timer);
             });
     }
-}
\ No newline at end of file
+
+    /**
+     * Deposit outside of a batch (used when a coalesced batch has to be replayed one by one)
+     */
+    private Uni<String> depositAlone(DepositFundsCommand command) {
+        return contentionRetry.execute(command.getClass().getSimpleName(), command.getWalletId(),
+            () -> depositInOwnTransaction(command));
+    }
+
+    private Uni<String> depositInOwnTransaction(DepositFundsCommand command) {
+        String transactionId = UUID.randomUUID().toString();
+        return Panache.withTransaction(() -> credit(command, transactionId))
+            // Only committed state is published to the cache
+            .call(walletCache::updateWallet)
+            .map(wallet -> transactionId);
+    }
+
+    private Uni<Wallet> credit(DepositFundsCommand command, String transactionId) {
+        // Credit the balance with a single UPDATE on the primary (no read-modify-write), then load
+        // the updated row to get the new balance and version for the cache: MySQL cannot return
+        // them from the UPDATE, and the row is still locked by it, so the read is a plain key lookup
+        return walletWriteRepository.creditBalance(command.getWalletId(), command.getAmount())
+            .chain(applied -> applied
+                ? walletWriteRepository.findById(command.getWalletId())
+                : Uni.createFrom().<Wallet>nullItem())
+            .onItem().ifNull().failWith(() -> new IllegalArgumentException("Wallet not found: " + command.getWalletId()))
+            // Persist transaction and event in the same database transaction as the balance update
+            .call(wallet -> transactionRepository.persist(newTransaction(command, transactionId)))
+            .call(wallet -> outboxEventService.storeAll(new OutboxEventCollector()
+                .addWalletEvent(command.getWalletId(), "FundsDeposited", newEvent(command, transactionId))));
+    }
+
+    static Transaction newTransaction(DepositFundsCommand command, String transactionId) {
+        Transaction transaction = new Transaction(
+            transactionId,
+            command.getWalletId(),
+            TransactionType.DEPOSIT,
+            command.getAmount(),
+            command.getReferenceId(),
+            TransactionStatus.COMPLETED
+        );
+        transaction.setDescription("Deposit to wallet");
+        return transaction;
+    }
+
+    static FundsDepositedEvent newEvent(DepositFundsCommand command, String transactionId) {
+        return new FundsDepositedEvent(
+            command.getWalletId(),
+            transactionId,
+            command.getAmount(),
+            command.getReferenceId(),
+            "Deposit to wallet"
+        );
+    }
+}
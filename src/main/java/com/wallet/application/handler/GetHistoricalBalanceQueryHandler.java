@@ -2,13 +2,11 @@ package com.wallet.application.handler;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.List;
 
 import com.wallet.application.query.GetHistoricalBalanceQuery;
 import com.wallet.core.query.QueryHandler;
-import com.wallet.domain.model.Transaction;
-import com.wallet.domain.model.TransactionType;
 import com.wallet.dto.HistoricalBalanceResponse;
+import com.wallet.infrastructure.persistence.BalanceSnapshotReadRepository;
 import com.wallet.infrastructure.persistence.TransactionReadRepository;
 import com.wallet.infrastructure.persistence.WalletReadRepository;
 import com.wallet.infrastructure.metrics.WalletMetrics;
@@ -18,6 +16,13 @@ import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
+/**
+ * Answers "what was the balance at time T" from the replica.
+ *
+ * Balances are rebuilt from the transaction log, starting at the latest balance snapshot taken
+ * at or before T (see BalanceSnapshotService) and adding the signed sum of the transactions after
+ * it. The sum is a single aggregate query, so no Transaction entity is loaded.
+ */
 @ApplicationScoped
 public class GetHistoricalBalanceQueryHandler implements QueryHandler<GetHistoricalBalanceQuery, HistoricalBalanceResponse> {
 
@@ -29,6 +34,10 @@ public class GetHistoricalBalanceQueryHandler implements QueryHandler<GetHistori
     @ReactiveDataSource("read")
     TransactionReadRepository transactionRepository;
 
+    @Inject
+    @ReactiveDataSource("read")
+    BalanceSnapshotReadRepository snapshotReadRepository;
+
     @Inject
     WalletMetrics walletMetrics;
 
@@ -40,29 +49,23 @@ public class GetHistoricalBalanceQueryHandler implements QueryHandler<GetHistori
         // First, verify the wallet exists
         return walletReadRepository.findById(query.getWalletId())
             .onItem().ifNull().failWith(() -> new IllegalArgumentException("Wallet not found: " + query.getWalletId()))
-            .chain(wallet -> {
-
-                
-                // Get all transactions up to the specified timestamp, ordered by creation time
-                return transactionRepository.find(
-                    "walletId = ?1 and createdAt <= ?2 order by createdAt asc", 
-                    query.getWalletId(), 
-                    query.getTimestamp()
-                ).list()
-                .map(transactions -> {
-
-                    
-                    // Calculate balance by replaying all transactions chronologically
-                    BigDecimal historicalBalance = calculateBalanceFromTransactions(transactions);
-                    
-
-                    
-                    return new HistoricalBalanceResponse(
-                        query.getWalletId(),
-                        historicalBalance,
-                        query.getTimestamp()
-                    );
-                });
+            // Start from the nearest checkpoint at or before the timestamp, if any
+            .chain(wallet -> snapshotReadRepository.findLatestAtOrBefore(query.getWalletId(), query.getTimestamp()))
+            .chain(snapshot -> {
+                BigDecimal openingBalance = snapshot != null ? snapshot.getBalance() : BigDecimal.ZERO;
+                LocalDateTime replayFrom = snapshot != null ? snapshot.getSnapshotAt() : null;
+
+                // Only the transactions after the checkpoint are summed, by the database
+                return transactionRepository.sumSignedAmounts(query.getWalletId(), replayFrom, query.getTimestamp())
+                    .map(delta -> {
+                        walletMetrics.recordHistoricalReplayLength(delta.transactionCount());
+
+                        return new HistoricalBalanceResponse(
+                            query.getWalletId(),
+                            delta.applyTo(openingBalance),
+                            query.getTimestamp()
+                        );
+                    });
             })
             .onItem().invoke(response -> {
                 walletMetrics.incrementQueries();
@@ -73,43 +76,4 @@ public class GetHistoricalBalanceQueryHandler implements QueryHandler<GetHistori
                 walletMetrics.recordQuery(timer);
             });
     }
-
-    /**
-     * Calculates the balance by replaying transactions chronologically.
-     * This is the core "transaction replay" logic.
-     */
-    private BigDecimal calculateBalanceFromTransactions(List<Transaction> transactions) {
-        BigDecimal balance = BigDecimal.ZERO;
-        
-        for (Transaction transaction : transactions) {
-            switch (transaction.getType()) {
-                case DEPOSIT:
-                    balance = balance.add(transaction.getAmount());
-
-                    break;
-                case WITHDRAWAL:
-                    balance = balance.subtract(transaction.getAmount());
-
-                    break;
-                case TRANSFER:
-                    // For transfers, we need to check if this wallet is source or destination
-                    if (transaction.getDestinationWalletId() != null && 
-                        transaction.getDestinationWalletId().equals(transaction.getWalletId())) {
-                        // This wallet is the destination - add the amount
-                        balance = balance.add(transaction.getAmount());
-
-                    } else {
-                        // This wallet is the source - subtract the amount
-                        balance = balance.subtract(transaction.getAmount());
-
-                    }
-                    break;
-                default:
-
-                    break;
-            }
-        }
-        
-        return balance;
-    }
 }
@@ -0,0 +1,74 @@
+package com.wallet.application.handler;
+
+import java.util.List;
+
+import com.wallet.application.query.GetTransactionHistoryQuery;
+import com.wallet.application.query.TransactionCursor;
+import com.wallet.core.query.QueryHandler;
+import com.wallet.domain.model.Transaction;
+import com.wallet.dto.TransactionHistoryPage;
+import com.wallet.dto.TransactionResponse;
+import com.wallet.exception.WalletNotFoundException;
+import com.wallet.infrastructure.metrics.WalletMetrics;
+import com.wallet.infrastructure.persistence.TransactionReadRepository;
+import com.wallet.infrastructure.persistence.WalletReadRepository;
+
+import io.quarkus.reactive.datasource.ReactiveDataSource;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Serves a wallet's transaction history one keyset page at a time, oldest first.
+ * The next page continues after the (createdAt, id) of the last transaction returned, so the
+ * cost of a page does not grow with how deep into the history it is.
+ */
+@ApplicationScoped
+public class GetTransactionHistoryQueryHandler implements QueryHandler<GetTransactionHistoryQuery, TransactionHistoryPage> {
+
+    @Inject
+    @ReactiveDataSource("read")
+    WalletReadRepository walletReadRepository;
+
+    @Inject
+    @ReactiveDataSource("read")
+    TransactionReadRepository transactionRepository;
+
+    @Inject
+    WalletMetrics walletMetrics;
+
+    @Override
+    public Uni<TransactionHistoryPage> handle(GetTransactionHistoryQuery query) {
+        var timer = walletMetrics.startQueryTimer();
+        TransactionCursor cursor = query.getCursor();
+
+        return walletReadRepository.findById(query.getWalletId())
+            .onItem().ifNull().failWith(() -> new WalletNotFoundException(query.getWalletId()))
+            // One extra row tells whether there is a next page
+            .chain(wallet -> transactionRepository.findHistoryPage(
+                query.getWalletId(),
+                cursor != null ? cursor.createdAt() : null,
+                cursor != null ? cursor.id() : null,
+                query.getLimit() + 1))
+            .map(transactions -> toPage(query, transactions))
+            .onItem().invoke(page -> {
+                walletMetrics.incrementQueries();
+                walletMetrics.recordQuery(timer);
+            })
+            .onFailure().invoke(throwable -> {
+                walletMetrics.incrementFailedOperations("query");
+                walletMetrics.recordQuery(timer);
+            });
+    }
+
+    private static TransactionHistoryPage toPage(GetTransactionHistoryQuery query, List<Transaction> transactions) {
+        boolean hasMore = transactions.size() > query.getLimit();
+        List<Transaction> page = hasMore ? transactions.subList(0, query.getLimit()) : transactions;
+
+        return new TransactionHistoryPage(
+            query.getWalletId(),
+            page.stream().map(TransactionResponse::from).toList(),
+            hasMore ? TransactionCursor.after(page.get(page.size() - 1)).encode() : null
+        );
+    }
+}
@@ -3,6 +3,7 @@ package com.wallet.application.handler;
 import com.wallet.application.query.GetWalletQuery;
 import com.wallet.core.query.QueryHandler;
 import com.wallet.domain.model.Wallet;
+import com.wallet.infrastructure.cache.WalletProjectionStore;
 import com.wallet.infrastructure.cache.WalletStateCache;
 import com.wallet.infrastructure.persistence.WalletReadRepository;
 import com.wallet.infrastructure.metrics.WalletMetrics;
@@ -14,6 +15,12 @@ import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
+/**
+ * Serves a wallet from the cache the commands write through, then from the event projection
+ * (see WalletProjectionStore), and only falls back to the replica for a wallet the projection
+ * does not have yet. A wallet read from the projection is not put into the cache: it carries
+ * no row version for the cache's guard.
+ */
 @ApplicationScoped
 public class GetWalletQueryHandler implements QueryHandler<GetWalletQuery, Wallet> {
 
@@ -23,6 +30,9 @@ public class GetWalletQueryHandler implements QueryHandler<GetWalletQuery, Walle
 
     @Inject
     WalletStateCache walletCache;
+
+    @Inject
+    WalletProjectionStore projectionStore;
     
     @Inject
     WalletMetrics walletMetrics;
@@ -32,6 +42,10 @@ public class GetWalletQueryHandler implements QueryHandler<GetWalletQuery, Walle
         var timer = walletMetrics.startQueryTimer();
         
         return walletCache.getWallet(query.getWalletId())
+                .onItem().ifNull().switchTo(() ->
+                    projectionStore.getWallet(query.getWalletId())
+                )
+                // Only a wallet created within the projection lag is read from the replica
                 .onItem().ifNull().switchTo(() -> 
                     walletRepository.findById(query.getWalletId())
                         .onItem().ifNotNull().call(wallet -> 
@@ -0,0 +1,100 @@
+package com.wallet.application.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.wallet.application.query.GetWalletsQuery;
+import com.wallet.core.query.QueryHandler;
+import com.wallet.domain.model.Wallet;
+import com.wallet.infrastructure.cache.WalletProjectionStore;
+import com.wallet.infrastructure.cache.WalletStateCache;
+import com.wallet.infrastructure.metrics.WalletMetrics;
+import com.wallet.infrastructure.persistence.WalletReadRepository;
+
+import io.quarkus.reactive.datasource.ReactiveDataSource;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Looks up a page of wallets with one cache round trip (MGET) and, for the misses, one lookup
+ * in the event projection (see WalletProjectionStore). Only wallets the projection does not
+ * have yet are read from the replica, with one query, and cached with one pipelined round trip.
+ */
+@ApplicationScoped
+public class GetWalletsQueryHandler implements QueryHandler<GetWalletsQuery, List<Wallet>> {
+
+    @Inject
+    @ReactiveDataSource("read")
+    WalletReadRepository walletRepository;
+
+    @Inject
+    WalletStateCache walletCache;
+
+    @Inject
+    WalletProjectionStore projectionStore;
+
+    @Inject
+    WalletMetrics walletMetrics;
+
+    @Override
+    public Uni<List<Wallet>> handle(GetWalletsQuery query) {
+        var timer = walletMetrics.startQueryTimer();
+        List<String> walletIds = query.getWalletIds();
+
+        return walletCache.getWallets(walletIds)
+            .chain(cached -> {
+                List<String> misses = new ArrayList<>();
+                for (String walletId : walletIds) {
+                    if (!cached.containsKey(walletId)) {
+                        misses.add(walletId);
+                    }
+                }
+                if (misses.isEmpty()) {
+                    return Uni.createFrom().item(inOrder(walletIds, cached));
+                }
+                return projectionStore.getWallets(misses)
+                    .chain(projected -> {
+                        cached.putAll(projected);
+                        List<String> unprojected = new ArrayList<>();
+                        for (String walletId : misses) {
+                            if (!projected.containsKey(walletId)) {
+                                unprojected.add(walletId);
+                            }
+                        }
+                        if (unprojected.isEmpty()) {
+                            return Uni.createFrom().item(inOrder(walletIds, cached));
+                        }
+                        // Wallets created within the projection lag, or unknown ones
+                        return walletRepository.findByIds(unprojected)
+                            .call(walletCache::cacheWallets)
+                            .map(loaded -> {
+                                for (Wallet wallet : loaded) {
+                                    cached.put(wallet.getId(), wallet);
+                                }
+                                return inOrder(walletIds, cached);
+                            });
+                    });
+            })
+            .onItem().invoke(wallets -> {
+                walletMetrics.incrementQueries();
+                walletMetrics.recordQuery(timer);
+            })
+            .onFailure().invoke(throwable -> {
+                walletMetrics.incrementFailedOperations("query");
+                walletMetrics.recordQuery(timer);
+            });
+    }
+
+    private static List<Wallet> inOrder(List<String> walletIds, Map<String, Wallet> wallets) {
+        List<Wallet> ordered = new ArrayList<>(walletIds.size());
+        for (String walletId : walletIds) {
+            Wallet wallet = wallets.get(walletId);
+            if (wallet != null) {
+                ordered.add(wallet);
+            }
+        }
+        return ordered;
+    }
+}
@@ -1,35 +1,35 @@
 package com.wallet.application.handler;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.UUID;
 
 import com.wallet.application.command.TransferFundsCommand;
 import com.wallet.core.command.CommandHandler;
+import com.wallet.domain.event.FundsTransferredEvent;
 import com.wallet.domain.model.Transaction;
 import com.wallet.domain.model.TransactionStatus;
 import com.wallet.domain.model.TransactionType;
+import com.wallet.domain.model.Wallet;
 import com.wallet.infrastructure.cache.WalletStateCache;
 import com.wallet.infrastructure.persistence.TransactionRepository;
-import com.wallet.infrastructure.persistence.WalletReadRepository;
 import com.wallet.infrastructure.persistence.WalletRepository;
 import com.wallet.exception.WalletNotFoundException;
 import com.wallet.exception.InsufficientFundsException;
 import com.wallet.exception.InvalidTransferException;
 import com.wallet.infrastructure.metrics.WalletMetrics;
+import com.wallet.infrastructure.outbox.OutboxEventCollector;
+import com.wallet.infrastructure.outbox.OutboxEventService;
 
+import io.quarkus.hibernate.reactive.panache.Panache;
 import io.quarkus.reactive.datasource.ReactiveDataSource;
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import jakarta.transaction.Transactional;
 
 @ApplicationScoped
 public class TransferFundsCommandHandler implements CommandHandler<TransferFundsCommand, String> {
 
-    @Inject
-    @ReactiveDataSource("read")
-    WalletReadRepository walletReadRepository;
-
     @Inject
     @ReactiveDataSource("write")
     WalletRepository walletWriteRepository;
@@ -44,8 +44,10 @@ public class TransferFundsCommandHandler implements CommandHandler<TransferFunds
     @Inject
     WalletMetrics walletMetrics;
 
+    @Inject
+    OutboxEventService outboxEventService;
+
     @Override
-    @Transactional
     public Uni<String> handle(TransferFundsCommand command) {
         var timer = walletMetrics.startTransferTimer();
         String transactionId = UUID.randomUUID().toString();
@@ -64,85 +66,97 @@ public class TransferFundsCommandHandler implements CommandHandler<TransferFunds
             );
         }
 
-        // First, verify source wallet exists and get its current balance
-        return walletReadRepository.findById(command.getSourceWalletId())
-            .chain(sourceWallet -> {
-                if (sourceWallet == null) {
-                    return Uni.createFrom().failure(
-                        new WalletNotFoundException(command.getSourceWalletId())
-                    );
-                }
-
-                // Then verify destination wallet exists
-                return walletReadRepository.findById(command.getDestinationWalletId())
-                    .chain(destinationWallet -> {
-                        if (destinationWallet == null) {
-                            return Uni.createFrom().failure(
-                                new WalletNotFoundException(command.getDestinationWalletId())
-                            );
-                        }
-
+        return Panache.withTransaction(() -> transfer(command, transactionId))
+            // Only committed state is published to the cache, for both wallets
+            .call(walletCache::updateWallets)
+            .map(wallets -> {
+
+                walletMetrics.incrementTransfers();
+                walletMetrics.recordTransferAmount(command.getAmount());
+                walletMetrics.recordTransfer(timer);
+                return transactionId;
+            })
+            .onFailure().invoke(throwable -> {
+                walletMetrics.incrementFailedOperations("transfer");
+                walletMetrics.recordTransfer(timer);
+            });
+    }
 
+    /**
+     * Moves the funds and records the transaction; returns the updated source and destination wallets
+     */
+    private Uni<List<Wallet>> transfer(TransferFundsCommand command, String transactionId) {
+        // Apply both balance changes as single-statement UPDATEs on the primary. Rows are
+        // always touched in wallet id order so opposite transfers cannot deadlock each other.
+        boolean sourceFirst = command.getSourceWalletId().compareTo(command.getDestinationWalletId()) < 0;
+        Uni<Wallet> balancesUpdated = sourceFirst
+            ? debitSource(command).chain(sourceWallet -> creditDestination(command)
+                .map(credited -> sourceWallet))
+            : creditDestination(command).chain(credited -> debitSource(command));
+
+        return balancesUpdated
+            .chain(sourceWallet -> walletWriteRepository.findById(command.getDestinationWalletId())
+                .chain(destinationWallet -> {
+
+                // Keyed by the source wallet; consumers apply the credit from destinationWalletId
+                OutboxEventCollector events = new OutboxEventCollector()
+                    .addWalletEvent(command.getSourceWalletId(), "FundsTransferred", newEvent(command, transactionId));
+
+                // Persist transaction and event in the same database transaction as the balances
+                return transactionRepository.persist(newTransaction(command, transactionId))
+                    .chain(() -> outboxEventService.storeAll(events))
+                    .map(v -> List.of(sourceWallet, destinationWallet));
+                }));
+    }
 
+    /**
+     * Debits the source wallet (guarded by balance >= amount) and returns its updated state
+     */
+    private Uni<Wallet> debitSource(TransferFundsCommand command) {
+        return walletWriteRepository.debitBalance(command.getSourceWalletId(), command.getAmount())
+            .chain(applied -> walletWriteRepository.findById(command.getSourceWalletId())
+                .onItem().ifNull().failWith(() -> new WalletNotFoundException(command.getSourceWalletId()))
+                .invoke(sourceWallet -> {
+                    if (!applied) {
+                        throw new InsufficientFundsException(sourceWallet.getBalance(), command.getAmount());
+                    }
+                }));
+    }
 
-                // Check if sufficient funds are available in source wallet
-                if (sourceWallet.getBalance().compareTo(command.getAmount()) < 0) {
-                    return Uni.createFrom().failure(
-                        new InsufficientFundsException(sourceWallet.getBalance(), command.getAmount())
-                    );
+    /**
+     * Credits the destination wallet, failing if it does not exist
+     */
+    private Uni<Boolean> creditDestination(TransferFundsCommand command) {
+        return walletWriteRepository.creditBalance(command.getDestinationWalletId(), command.getAmount())
+            .invoke(applied -> {
+                if (!applied) {
+                    throw new WalletNotFoundException(command.getDestinationWalletId());
                 }
-
-                // Update both wallet balances
-                sourceWallet.setBalance(sourceWallet.getBalance().subtract(command.getAmount()));
-                sourceWallet.setUpdatedAt(java.time.Instant.now());
-
-                destinationWallet.setBalance(destinationWallet.getBalance().add(command.getAmount()));
-                destinationWallet.setUpdatedAt(java.time.Instant.now());
-
-
-
-
-                // Create transaction record
-                Transaction transaction = new Transaction(
-                    transactionId,
-                    command.getSourceWalletId(),
-                    TransactionType.TRANSFER,
-                    command.getAmount(),
-                    command.getReferenceId(),
-                    TransactionStatus.COMPLETED
-                );
-                transaction.setDestinationWalletId(command.getDestinationWalletId());
-                transaction.setDescription("Transfer between wallets");
-
-                // Persist both wallets and transaction sequentially, then invalidate cache for both wallets
-                return walletWriteRepository.persist(sourceWallet)
-                    .chain(() -> {
-
-                        return walletWriteRepository.persist(destinationWallet);
-                    })
-                    .chain(() -> {
-
-                        return transactionRepository.persist(transaction);
-                    })
-                    .chain(() -> {
-
-                        return walletCache.invalidateWallet(command.getSourceWalletId());
-                    })
-                    .chain(() -> {
-                        return walletCache.invalidateWallet(command.getDestinationWalletId());
-                    })
-                    .map(v -> {
-
-                        walletMetrics.incrementTransfers();
-                        walletMetrics.recordTransferAmount(command.getAmount());
-                        walletMetrics.recordTransfer(timer);
-                        return transactionId;
-                    })
-                    .onFailure().invoke(throwable -> {
-                        walletMetrics.incrementFailedOperations("transfer");
-                        walletMetrics.recordTransfer(timer);
-                    });
-                    });
             });
     }
+
+    static Transaction newTransaction(TransferFundsCommand command, String transactionId) {
+        Transaction transaction = new Transaction(
+            transactionId,
+            command.getSourceWalletId(),
+            TransactionType.TRANSFER,
+            command.getAmount(),
+            command.getReferenceId(),
+            TransactionStatus.COMPLETED
+        );
+        transaction.setDestinationWalletId(command.getDestinationWalletId());
+        transaction.setDescription("Transfer between wallets");
+        return transaction;
+    }
+
+    static FundsTransferredEvent newEvent(TransferFundsCommand command, String transactionId) {
+        return new FundsTransferredEvent(
+            command.getSourceWalletId(),
+            command.getDestinationWalletId(),
+            transactionId,
+            command.getAmount(),
+            command.getReferenceId(),
+            "Transfer between wallets"
+        );
+    }
 }
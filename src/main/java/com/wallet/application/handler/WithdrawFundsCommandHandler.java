@@ -8,31 +8,28 @@ import com.wallet.core.command.CommandHandler;
 import com.wallet.domain.model.Transaction;
 import com.wallet.domain.model.TransactionStatus;
 import com.wallet.domain.model.TransactionType;
+import com.wallet.domain.model.Wallet;
 import com.wallet.infrastructure.cache.WalletStateCache;
 import com.wallet.infrastructure.persistence.TransactionRepository;
-import com.wallet.infrastructure.persistence.WalletReadRepository;
 import com.wallet.infrastructure.persistence.WalletRepository;
 import com.wallet.exception.WalletNotFoundException;
 import com.wallet.exception.InsufficientFundsException;
 import com.wallet.exception.InvalidTransferException;
 import com.wallet.infrastructure.metrics.WalletMetrics;
+import com.wallet.infrastructure.outbox.OutboxEventCollector;
 import com.wallet.infrastructure.outbox.OutboxEventService;
 import com.wallet.domain.event.FundsWithdrawnEvent;
 
 import io.opentelemetry.instrumentation.annotations.WithSpan;
+import io.quarkus.hibernate.reactive.panache.Panache;
 import io.quarkus.reactive.datasource.ReactiveDataSource;
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import jakarta.transaction.Transactional;
 
 @ApplicationScoped
 public class WithdrawFundsCommandHandler implements CommandHandler<WithdrawFundsCommand, String> {
 
-    @Inject
-    @ReactiveDataSource("read")
-    WalletReadRepository walletReadRepository;
-
     @Inject
     @ReactiveDataSource("write")
     WalletRepository walletWriteRepository;
@@ -51,7 +48,6 @@ public class WithdrawFundsCommandHandler implements CommandHandler<WithdrawFunds
     OutboxEventService outboxEventService;
 
     @Override
-    @Transactional
     @WithSpan("wallet.withdraw")
     public Uni<String> handle(WithdrawFundsCommand command) {
         var timer = walletMetrics.startWithdrawalTimer();
@@ -64,66 +60,59 @@ public class WithdrawFundsCommandHandler implements CommandHandler<WithdrawFunds
             );
         }
 
-        // First, check if wallet exists and get current balance
-        return walletReadRepository.findById(command.getWalletId())
-            .onItem().ifNull().failWith(() -> new WalletNotFoundException(command.getWalletId()))
-            .chain(wallet -> {
-
-                
-                // Check if sufficient funds are available
-                if (wallet.getBalance().compareTo(command.getAmount()) < 0) {
-                    return Uni.createFrom().failure(
-                        new InsufficientFundsException(wallet.getBalance(), command.getAmount())
-                    );
-                }
-                
-                // Update wallet balance
-                wallet.setBalance(wallet.getBalance().subtract(command.getAmount()));
-                wallet.setUpdatedAt(java.time.Instant.now());
-                
-
-
-                // Create transaction record
-                Transaction transaction = new Transaction(
-                    transactionId,
-                    command.getWalletId(),
-                    TransactionType.WITHDRAWAL,
-                    command.getAmount(),
-                    command.getReferenceId(),
-                    TransactionStatus.COMPLETED
-                );
-                transaction.setDescription("Withdrawal from wallet");
-
-                // Create event for publishing
-                FundsWithdrawnEvent event = new FundsWithdrawnEvent(
-                    command.getWalletId(),
-                    transactionId,
-                    command.getAmount(),
-                    command.getReferenceId(),
-                    "Withdrawal from wallet"
-                );
-
-                // Persist wallet, transaction, and event in same database transaction
-                return walletWriteRepository.persist(wallet)
-                    .chain(() -> {
-
-                        return transactionRepository.persist(transaction);
-                    })
-                    .chain(() -> {
-
-                        return walletCache.invalidateWallet(command.getWalletId());
-                    })
-                    .map(v -> {
-
-                        walletMetrics.incrementWithdrawals();
-                        walletMetrics.recordWithdrawalAmount(command.getAmount());
-                        walletMetrics.recordWithdrawal(timer);
-                        return transactionId;
-                    })
-                    .onFailure().invoke(throwable -> {
-                        walletMetrics.incrementFailedOperations("withdrawal");
-                        walletMetrics.recordWithdrawal(timer);
-                    });
+        return Panache.withTransaction(() -> debit(command, transactionId))
+            // Only committed state is published to the cache
+            .call(walletCache::updateWallet)
+            .map(wallet -> {
+
+                walletMetrics.incrementWithdrawals();
+                walletMetrics.recordWithdrawalAmount(command.getAmount());
+                walletMetrics.recordWithdrawal(timer);
+                return transactionId;
+            })
+            .onFailure().invoke(throwable -> {
+                walletMetrics.incrementFailedOperations("withdrawal");
+                walletMetrics.recordWithdrawal(timer);
             });
     }
+
+    private Uni<Wallet> debit(WithdrawFundsCommand command, String transactionId) {
+        // Debit the balance with a single guarded UPDATE on the primary (balance >= amount),
+        // then load the row to get the new balance, or to tell a missing wallet from insufficient funds
+        return walletWriteRepository.debitBalance(command.getWalletId(), command.getAmount())
+            .chain(applied -> walletWriteRepository.findById(command.getWalletId())
+                .onItem().ifNull().failWith(() -> new WalletNotFoundException(command.getWalletId()))
+                .invoke(wallet -> {
+                    if (!applied) {
+                        throw new InsufficientFundsException(wallet.getBalance(), command.getAmount());
+                    }
+                }))
+            // Persist transaction and event in the same database transaction as the balance update
+            .call(wallet -> transactionRepository.persist(newTransaction(command, transactionId)))
+            .call(wallet -> outboxEventService.storeAll(new OutboxEventCollector()
+                .addWalletEvent(command.getWalletId(), "FundsWithdrawn", newEvent(command, transactionId))));
+    }
+
+    static Transaction newTransaction(WithdrawFundsCommand command, String transactionId) {
+        Transaction transaction = new Transaction(
+            transactionId,
+            command.getWalletId(),
+            TransactionType.WITHDRAWAL,
+            command.getAmount(),
+            command.getReferenceId(),
+            TransactionStatus.COMPLETED
+        );
+        transaction.setDescription("Withdrawal from wallet");
+        return transaction;
+    }
+
+    static FundsWithdrawnEvent newEvent(WithdrawFundsCommand command, String transactionId) {
+        return new FundsWithdrawnEvent(
+            command.getWalletId(),
+            transactionId,
+            command.getAmount(),
+            command.getReferenceId(),
+            "Withdrawal from wallet"
+        );
+    }
 }
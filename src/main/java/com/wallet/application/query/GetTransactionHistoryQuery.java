@@ -0,0 +1,50 @@
+package com.wallet.application.query;
+
+import java.util.UUID;
+
+import com.wallet.core.query.Query;
+import com.wallet.dto.TransactionHistoryPage;
+
+public class GetTransactionHistoryQuery implements Query<TransactionHistoryPage> {
+    private final String queryId;
+    private final String walletId;
+    private final TransactionCursor cursor;
+    private final int limit;
+
+    /**
+     * @param cursor position to continue after, null for the first page
+     */
+    public GetTransactionHistoryQuery(String walletId, TransactionCursor cursor, int limit) {
+        this.queryId = UUID.randomUUID().toString();
+        this.walletId = walletId;
+        this.cursor = cursor;
+        this.limit = limit;
+    }
+
+    @Override
+    public String getQueryId() {
+        return queryId;
+    }
+
+    public String getWalletId() {
+        return walletId;
+    }
+
+    public TransactionCursor getCursor() {
+        return cursor;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public String toString() {
+        return "GetTransactionHistoryQuery{" +
+                "queryId='" + queryId + '\'' +
+                ", walletId='" + walletId + '\'' +
+                ", cursor=" + cursor +
+                ", limit=" + limit +
+                '}';
+    }
+}
@@ -0,0 +1,39 @@
+package com.wallet.application.query;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+
+import com.wallet.core.query.Query;
+import com.wallet.domain.model.Wallet;
+
+/**
+ * Several wallets by id; the result keeps the order of the ids and leaves out unknown wallets
+ */
+public class GetWalletsQuery implements Query<List<Wallet>> {
+    private final String queryId;
+    private final List<String> walletIds;
+
+    public GetWalletsQuery(List<String> walletIds) {
+        this.queryId = UUID.randomUUID().toString();
+        // A dashboard page can name a wallet twice; it is only looked up once
+        this.walletIds = List.copyOf(new LinkedHashSet<>(walletIds));
+    }
+
+    @Override
+    public String getQueryId() {
+        return queryId;
+    }
+
+    public List<String> getWalletIds() {
+        return walletIds;
+    }
+
+    @Override
+    public String toString() {
+        return "GetWalletsQuery{" +
+                "queryId='" + queryId + '\'' +
+                ", walletIds=" + walletIds.size() +
+                '}';
+    }
+}
@@ -0,0 +1,127 @@
+package com.wallet.application.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.stream.Collectors;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.wallet.domain.model.BalanceSnapshot;
+import com.wallet.infrastructure.metrics.WalletMetrics;
+import com.wallet.infrastructure.persistence.BalanceSnapshotRepository;
+import com.wallet.infrastructure.persistence.TransactionRepository;
+
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.quarkus.hibernate.reactive.panache.common.WithSession;
+import io.quarkus.logging.Log;
+import io.quarkus.reactive.datasource.ReactiveDataSource;
+import io.quarkus.scheduler.Scheduled;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Writes periodic balance checkpoints so historical balance queries only replay a short tail
+ *
+ * Each run picks a cutoff slightly in the past and, for every wallet with transactions since
+ * the previous run, extends the wallet's latest snapshot with the transactions up to the cutoff.
+ * A snapshot is only written once enough transactions piled up since the previous one.
+ *
+ * The cutoff lags behind the clock by the settle delay: a transaction whose createdAt is before
+ * the cutoff but that commits after the run would be missing from the snapshot, so the delay
+ * must exceed the longest write transaction (and clock skew between pods).
+ */
+@ApplicationScoped
+public class BalanceSnapshotService {
+
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Inject
+    @ReactiveDataSource("write")
+    TransactionRepository transactionRepository;
+
+    @Inject
+    @ReactiveDataSource("write")
+    BalanceSnapshotRepository snapshotRepository;
+
+    @Inject
+    WalletMetrics walletMetrics;
+
+    @ConfigProperty(name = "wallet.snapshot.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "wallet.snapshot.settle-delay", defaultValue = "PT5M")
+    Duration settleDelay;
+
+    /**
+     * Transactions that must accumulate after a wallet's last snapshot before a new one is written
+     */
+    @ConfigProperty(name = "wallet.snapshot.min-transactions", defaultValue = "100")
+    int minTransactions;
+
+    // Cutoff of the last completed run on this pod
+    private volatile LocalDateTime watermark;
+
+    @Scheduled(every = "${wallet.snapshot.interval:15m}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    @WithSession
+    public Uni<Void> takeSnapshots() {
+        if (!enabled) {
+            return Uni.createFrom().voidItem();
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(settleDelay);
+
+        return previousCutoff()
+            .chain(after -> transactionRepository.findWalletIdsWithTransactionsBetween(after, cutoff))
+            .chain(walletIds -> Multi.createFrom().iterable(walletIds)
+                .onItem().transformToUniAndConcatenate(walletId -> snapshotWallet(walletId, cutoff)
+                    .onFailure().invoke(failure -> Log.warnf(
+                        "Balance snapshot of wallet %s failed: %s", walletId, failure.getMessage()))
+                    .onFailure().recoverWithItem(0))
+                .collect().with(Collectors.summingInt(Integer::intValue)))
+            .invoke(written -> {
+                watermark = cutoff;
+                walletMetrics.recordBalanceSnapshotsWritten(written);
+            })
+            .replaceWithVoid();
+    }
+
+    private Uni<LocalDateTime> previousCutoff() {
+        if (watermark != null) {
+            return Uni.createFrom().item(watermark);
+        }
+        return snapshotRepository.findLatestSnapshotAt()
+            .map(latest -> latest != null ? latest : BEGINNING);
+    }
+
+    /**
+     * Extends the wallet's latest snapshot up to the cutoff.
+     * Completes with the number of snapshots written.
+     */
+    Uni<Integer> snapshotWallet(String walletId, LocalDateTime cutoff) {
+        return Panache.withTransaction(() -> snapshotRepository.findLatest(walletId)
+            .chain(previous -> {
+                if (previous != null && !previous.getSnapshotAt().isBefore(cutoff)) {
+                    return Uni.createFrom().item(0);
+                }
+                LocalDateTime after = previous != null ? previous.getSnapshotAt() : null;
+
+                return transactionRepository.sumSignedAmounts(walletId, after, cutoff)
+                    .chain(delta -> {
+                        if (delta.transactionCount() < minTransactions) {
+                            return Uni.createFrom().item(0);
+                        }
+                        BigDecimal openingBalance = previous != null ? previous.getBalance() : BigDecimal.ZERO;
+                        long previousCount = previous != null ? previous.getTransactionCount() : 0;
+                        BalanceSnapshot snapshot = new BalanceSnapshot(
+                            walletId,
+                            delta.applyTo(openingBalance),
+                            cutoff,
+                            previousCount + delta.transactionCount());
+
+                        return snapshotRepository.persist(snapshot).replaceWith(1);
+                    });
+            }));
+    }
+}
@@ -19,6 +19,7 @@ import com.wallet.application.command.TransferFundsCommand;
 import com.wallet.application.query.GetWalletQuery;
 import com.wallet.domain.model.Wallet;
 import com.wallet.infrastructure.metrics.WalletMetrics;
+import com.wallet.infrastructure.resilience.ContentionRetry;
 import com.wallet.infrastructure.resilience.DegradationManager;
 import com.wallet.infrastructure.resilience.ServiceDegradedException;
 
@@ -65,31 +66,30 @@ public class ResilientWalletService {
     @Inject
     DegradationManager degradationManager;
 
+    @Inject
+    ContentionRetry contentionRetry;
+
     // ============================================================================
     // OPTIMISTIC LOCK RETRY OPERATIONS
+    // Retried by ContentionRetry (jittered backoff, one transaction per attempt,
+    // per-wallet contention metrics); @Fallback only sees the final outcome
     // ============================================================================
 
     /**
      * Deposit funds with optimistic lock retry
      * Critical for handling concurrent deposit operations on the same wallet
      */
-    @Retry
     @Fallback(fallbackMethod = "depositFundsOptimisticLockFallback")
     public Uni<String> depositFundsWithRetry(String walletId, BigDecimal amount, String referenceId) {
         logger.debug("Attempting deposit with optimistic lock retry: walletId={}, amount={}, referenceId={}", 
                     walletId, amount, referenceId);
         
         DepositFundsCommand command = new DepositFundsCommand(walletId, amount, referenceId);
-        return depositFundsHandler.handle(command)
+        return contentionRetry.execute("deposit", walletId, () -> depositFundsHandler.handle(command))
                 .onItem().invoke(transactionId -> {
                     walletMetrics.recordSuccessfulRetryOperation("deposit", "optimistic_lock");
                     logger.debug("Deposit successful after retry: walletId={}, transactionId={}", 
                                walletId, transactionId);
-                })
-                .onFailure().invoke(throwable -> {
-                    walletMetrics.recordRetryAttempt("deposit", "optimistic_lock", throwable.getClass().getSimpleName());
-                    logger.warn("Deposit retry attempt failed: walletId={}, error={}", 
-                              walletId, throwable.getMessage());
                 });
     }
 
@@ -97,23 +97,17 @@ public class ResilientWalletService {
      * Withdraw funds with optimistic lock retry
      * Critical for handling concurrent withdrawal operations
      */
-    @Retry
     @Fallback(fallbackMethod = "withdrawFundsOptimisticLockFallback")
     public Uni<String> withdrawFundsWithRetry(String walletId, BigDecimal amount, String referenceId) {
         logger.debug("Attempting withdrawal with optimistic lock retry: walletId={}, amount={}, referenceId={}", 
                     walletId, amount, referenceId);
         
         WithdrawFundsCommand command = new WithdrawFundsCommand(walletId, amount, referenceId);
-        return withdrawFundsHandler.handle(command)
+        return contentionRetry.execute("withdrawal", walletId, () -> withdrawFundsHandler.handle(command))
                 .onItem().invoke(transactionId -> {
                     walletMetrics.recordSuccessfulRetryOperation("withdrawal", "optimistic_lock");
                     logger.debug("Withdrawal successful after retry: walletId={}, transactionId={}", 
                                walletId, transactionId);
-                })
-                .onFailure().invoke(throwable -> {
-                    walletMetrics.recordRetryAttempt("withdrawal", "optimistic_lock", throwable.getClass().getSimpleName());
-                    logger.warn("Withdrawal retry attempt failed: walletId={}, error={}", 
-                              walletId, throwable.getMessage());
                 });
     }
 
@@ -121,7 +115,6 @@ public class ResilientWalletService {
      * Transfer funds with optimistic lock retry
      * Most critical operation - affects two wallets simultaneously
      */
-    @Retry
     @Fallback(fallbackMethod = "transferFundsOptimisticLockFallback")
     public Uni<String> transferFundsWithRetry(String sourceWalletId, String destinationWalletId, 
                                             BigDecimal amount, String referenceId) {
@@ -129,16 +122,11 @@ public class ResilientWalletService {
                     sourceWalletId, destinationWalletId, amount, referenceId);
         
         TransferFundsCommand command = new TransferFundsCommand(sourceWalletId, destinationWalletId, amount, referenceId);
-        return transferFundsHandler.handle(command)
+        return contentionRetry.execute("transfer", sourceWalletId, () -> transferFundsHandler.handle(command))
                 .onItem().invoke(transactionId -> {
                     walletMetrics.recordSuccessfulRetryOperation("transfer", "optimistic_lock");
                     logger.debug("Transfer successful after retry: source={}, destination={}, transactionId={}", 
                                sourceWalletId, destinationWalletId, transactionId);
-                })
-                .onFailure().invoke(throwable -> {
-                    walletMetrics.recordRetryAttempt("transfer", "optimistic_lock", throwable.getClass().getSimpleName());
-                    logger.warn("Transfer retry attempt failed: source={}, destination={}, error={}", 
-                              sourceWalletId, destinationWalletId, throwable.getMessage());
                 });
     }
 
@@ -0,0 +1,71 @@
+package com.wallet.application.service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.wallet.application.query.TransactionCursor;
+import com.wallet.domain.model.Transaction;
+import com.wallet.dto.TransactionResponse;
+import com.wallet.exception.WalletNotFoundException;
+import com.wallet.infrastructure.persistence.TransactionReadRepository;
+import com.wallet.infrastructure.persistence.WalletReadRepository;
+
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.quarkus.reactive.datasource.ReactiveDataSource;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Streams a wallet's full transaction history for statement exports
+ *
+ * The history is read in keyset pages, and the next page is only queried once the client has
+ * consumed the previous one, so an export holds at most one page in memory however long the
+ * history is. Each page runs in its own short session on the replica.
+ */
+@ApplicationScoped
+public class TransactionExportService {
+
+    @Inject
+    @ReactiveDataSource("read")
+    WalletReadRepository walletReadRepository;
+
+    @Inject
+    @ReactiveDataSource("read")
+    TransactionReadRepository transactionRepository;
+
+    @ConfigProperty(name = "wallet.history.export-page-size", defaultValue = "500")
+    int pageSize;
+
+    public Multi<TransactionResponse> export(String walletId) {
+        return Panache.withSession(() -> walletReadRepository.findById(walletId))
+            .onItem().ifNull().failWith(() -> new WalletNotFoundException(walletId))
+            .onItem().transformToMulti(wallet -> pages(walletId))
+            .onItem().transform(TransactionResponse::from);
+    }
+
+    private Multi<Transaction> pages(String walletId) {
+        return Multi.createBy().repeating()
+            .uni(AtomicReference<TransactionCursor>::new, position -> nextPage(walletId, position))
+            // The first short page is the last one, and is still emitted
+            .whilst(page -> page.size() == pageSize)
+            .onItem().disjoint();
+    }
+
+    private Uni<List<Transaction>> nextPage(String walletId, AtomicReference<TransactionCursor> position) {
+        TransactionCursor cursor = position.get();
+        return Panache.withSession(() -> transactionRepository.findHistoryPage(
+                walletId,
+                cursor != null ? cursor.createdAt() : null,
+                cursor != null ? cursor.id() : null,
+                pageSize))
+            .invoke(page -> {
+                if (!page.isEmpty()) {
+                    position.set(TransactionCursor.after(page.get(page.size() - 1)));
+                }
+            });
+    }
+}
@@ -4,4 +4,12 @@ import io.smallrye.mutiny.Uni;
 
 public interface CommandHandler<C extends Command, R> {
     Uni<R> handle(C command);
-}
\ No newline at end of file
+
+    /**
+     * True if the handler schedules this command itself (for example by batching it with
+     * other commands); the bus then hands it over directly, without queueing or retrying it.
+     */
+    default boolean schedulesItself(C command) {
+        return false;
+    }
+}
@@ -0,0 +1,28 @@
+package com.wallet.core.command;
+
+import java.math.BigDecimal;
+
+/**
+ * Command that records a transaction under a client supplied reference id.
+ * A command repeating the reference id of one already applied is a retry: it is answered with
+ * the id of the original transaction instead of being applied again. A retry must repeat the
+ * original exactly; its {@link #getFingerprint() fingerprint} tells it apart from a different
+ * command reusing the reference id, which is rejected.
+ */
+public interface IdempotentCommand extends Command {
+    String getReferenceId();
+
+    /**
+     * What the command does: transaction type, wallets and amount, see {@link #fingerprint}
+     */
+    String getFingerprint();
+
+    /**
+     * Fingerprint of a command, or of the transaction it recorded. Amounts are compared by value,
+     * so 10.5 and 10.5000 match.
+     */
+    static String fingerprint(String transactionType, String walletId, String destinationWalletId, BigDecimal amount) {
+        return transactionType + ':' + walletId + ':' + (destinationWalletId != null ? destinationWalletId : "")
+            + ':' + (amount != null ? amount.stripTrailingZeros().toPlainString() : "");
+    }
+}
@@ -0,0 +1,10 @@
+package com.wallet.core.command;
+
+/**
+ * Command that changes the balance of a wallet.
+ * The affected wallet is the row the command contends on; the bus uses it to retry
+ * and report lock conflicts per wallet.
+ */
+public interface WalletCommand extends Command {
+    String getAffectedWalletId();
+}
@@ -0,0 +1,33 @@
+package com.wallet.domain.model;
+
+import io.quarkus.hibernate.reactive.panache.PanacheEntityBase;
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Id of an event already applied to the wallet projections, written in the same transaction
+ * as its balance change so a redelivered event is recognized and skipped
+ */
+@Entity
+@Table(name = "wallet_projection_events", indexes = {
+    @Index(name = "idx_projection_event_applied_at", columnList = "appliedAt")
+})
+public class AppliedProjectionEvent extends PanacheEntityBase {
+    @Id
+    @Column(nullable = false, length = 36)
+    private String eventId;
+
+    @Column(nullable = false)
+    private Instant appliedAt;
+
+    public AppliedProjectionEvent() {
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public Instant getAppliedAt() {
+        return appliedAt;
+    }
+}
@@ -0,0 +1,90 @@
+package com.wallet.domain.model;
+
+import io.quarkus.hibernate.reactive.panache.PanacheEntityBase;
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Checkpoint of a wallet's replayed balance
+ *
+ * The balance is the signed sum of every transaction of the wallet created at or before
+ * {@code snapshotAt}. A historical balance at time T is then the balance of the latest snapshot
+ * at or before T plus the signed sum of the transactions in (snapshotAt, T].
+ *
+ * Transfers count for both wallets (debited from the source, credited to the destination) since
+ * format 2. Snapshots of an older format left out incoming transfers, so readers only look at
+ * snapshots of {@link #CURRENT_FORMAT} and older ones are rebuilt by the next snapshot run.
+ */
+@Entity
+@Table(name = "wallet_balance_snapshots", indexes = {
+    @Index(name = "idx_snapshot_wallet_at", columnList = "walletId, snapshotAt", unique = true),
+    @Index(name = "idx_snapshot_at", columnList = "snapshotAt")
+})
+public class BalanceSnapshot extends PanacheEntityBase {
+    public static final int CURRENT_FORMAT = 2;
+
+    @Id
+    @Column(nullable = false)
+    private String id;
+
+    @Column(nullable = false)
+    private String walletId;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal balance;
+
+    @Column(nullable = false)
+    private LocalDateTime snapshotAt;
+
+    @Column(nullable = false)
+    private long transactionCount;
+
+    @Column(nullable = false)
+    private int formatVersion;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public BalanceSnapshot() {
+    }
+
+    public BalanceSnapshot(String walletId, BigDecimal balance, LocalDateTime snapshotAt, long transactionCount) {
+        this.id = UUID.randomUUID().toString();
+        this.walletId = walletId;
+        this.balance = balance;
+        this.snapshotAt = snapshotAt;
+        this.transactionCount = transactionCount;
+        this.formatVersion = CURRENT_FORMAT;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getWalletId() {
+        return walletId;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public LocalDateTime getSnapshotAt() {
+        return snapshotAt;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public int getFormatVersion() {
+        return formatVersion;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -7,7 +7,11 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "transaction", indexes = {
-    @Index(name = "idx_wallet_id", columnList = "walletId"),
+    // One covering index per side of a transfer: the keyset history pages on (createdAt, id)
+    // and the historical balance sums read type and amount without touching the rows
+    @Index(name = "idx_wallet_transactions", columnList = "walletId, createdAt, id, type, amount"),
+    @Index(name = "idx_destination_transactions", columnList = "destinationWalletId, createdAt, id, type, amount"),
+    @Index(name = "idx_created_at", columnList = "createdAt"),
     @Index(name = "idx_reference_id", columnList = "referenceId", unique = true)
 })
 public class Transaction extends PanacheEntityBase {
@@ -1,9 +1,11 @@
 package com.wallet.domain.model;
 
 import io.quarkus.hibernate.reactive.panache.PanacheEntityBase;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.math.BigDecimal;
 import java.time.Instant;
 
@@ -19,6 +21,11 @@ public class Wallet extends PanacheEntityBase {
     private Instant createdAt;
     private Instant updatedAt;
 
+    // Revision compared by the wallet cache; see 08-wallet-version.sql for existing databases
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     public String getId() {
         return id;
     }
@@ -68,4 +75,12 @@ public class Wallet extends PanacheEntityBase {
     public void setUpdatedAt(Instant updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.wallet.domain.model;
+
+import io.quarkus.hibernate.reactive.panache.PanacheEntityBase;
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Denormalized wallet read model built from the wallet-events topic
+ *
+ * Only the event projector writes it, applying each event's balance change once. It trails the
+ * wallet table by the projection lag (wallet_projection_lag_seconds). Status and creation time
+ * come from the WalletCreated event; a row without them was reached by a transfer before its
+ * creation was projected and cannot be served yet.
+ */
+@Entity
+@Table(name = "wallet_projections")
+public class WalletProjection extends PanacheEntityBase {
+    @Id
+    @Column(nullable = false)
+    private String walletId;
+
+    private String userId;
+
+    private String status;
+
+    private Instant createdAt;
+
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal balance;
+
+    // Events applied to this wallet so far
+    @Column(nullable = false)
+    private long eventCount;
+
+    // Time of the newest event applied
+    @Column(nullable = false)
+    private Instant lastEventAt;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    public WalletProjection() {
+    }
+
+    public String getWalletId() {
+        return walletId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    public Instant getLastEventAt() {
+        return lastEventAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,69 @@
+package com.wallet.dto;
+
+import java.util.List;
+
+import com.wallet.application.command.BulkMode;
+
+public class BulkCommandResult {
+    private BulkMode mode;
+    private int applied;
+    private int failed;
+
+    // One result per item, in request order
+    private List<BulkItemResult> results;
+
+    public BulkCommandResult() {}
+
+    public BulkCommandResult(BulkMode mode, List<BulkItemResult> results) {
+        this.mode = mode;
+        this.results = results;
+        for (BulkItemResult result : results) {
+            if (result.isApplied()) {
+                applied++;
+            } else if (result.getStatus() != BulkItemStatus.ABORTED) {
+                failed++;
+            }
+        }
+    }
+
+    public BulkMode getMode() {
+        return mode;
+    }
+
+    public void setMode(BulkMode mode) {
+        this.mode = mode;
+    }
+
+    public int getApplied() {
+        return applied;
+    }
+
+    public void setApplied(int applied) {
+        this.applied = applied;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<BulkItemResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BulkItemResult> results) {
+        this.results = results;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkCommandResult{" +
+                "mode=" + mode +
+                ", applied=" + applied +
+                ", failed=" + failed +
+                '}';
+    }
+}
@@ -0,0 +1,67 @@
+package com.wallet.dto;
+
+public class BulkItemResult {
+    // Position of the item in the request
+    private int index;
+    private BulkItemStatus status;
+
+    // Set for applied items, and for duplicates of an existing transaction (its id)
+    private String transactionId;
+
+    public BulkItemResult() {}
+
+    public BulkItemResult(int index, BulkItemStatus status, String transactionId) {
+        this.index = index;
+        this.status = status;
+        this.transactionId = transactionId;
+    }
+
+    public static BulkItemResult applied(int index, String transactionId) {
+        return new BulkItemResult(index, BulkItemStatus.OK, transactionId);
+    }
+
+    public static BulkItemResult failed(int index, BulkItemStatus status) {
+        return new BulkItemResult(index, status, null);
+    }
+
+    public static BulkItemResult duplicate(int index, String originalTransactionId) {
+        return new BulkItemResult(index, BulkItemStatus.DUPLICATE_REFERENCE, originalTransactionId);
+    }
+
+    public boolean isApplied() {
+        return status == BulkItemStatus.OK;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public BulkItemStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(BulkItemStatus status) {
+        this.status = status;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(String transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkItemResult{" +
+                "index=" + index +
+                ", status=" + status +
+                ", transactionId='" + transactionId + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,15 @@
+package com.wallet.dto;
+
+public enum BulkItemStatus {
+    OK,
+    INVALID_AMOUNT,
+    SAME_WALLET,
+    WALLET_NOT_FOUND,
+    INSUFFICIENT_FUNDS,
+    UNSUPPORTED_COMMAND,
+    // The reference id was already used, by an earlier transaction (whose id is returned) or an
+    // earlier item of the same bulk
+    DUPLICATE_REFERENCE,
+    // Valid item not applied because another item of an all-or-nothing bulk failed
+    ABORTED
+}
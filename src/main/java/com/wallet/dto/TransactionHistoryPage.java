@@ -0,0 +1,52 @@
+package com.wallet.dto;
+
+import java.util.List;
+
+public class TransactionHistoryPage {
+    private String walletId;
+    private List<TransactionResponse> transactions;
+
+    // Null on the last page
+    private String nextCursor;
+
+    public TransactionHistoryPage() {}
+
+    public TransactionHistoryPage(String walletId, List<TransactionResponse> transactions, String nextCursor) {
+        this.walletId = walletId;
+        this.transactions = transactions;
+        this.nextCursor = nextCursor;
+    }
+
+    public String getWalletId() {
+        return walletId;
+    }
+
+    public void setWalletId(String walletId) {
+        this.walletId = walletId;
+    }
+
+    public List<TransactionResponse> getTransactions() {
+        return transactions;
+    }
+
+    public void setTransactions(List<TransactionResponse> transactions) {
+        this.transactions = transactions;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionHistoryPage{" +
+                "walletId='" + walletId + '\'' +
+                ", transactions=" + transactions.size() +
+                ", nextCursor='" + nextCursor + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,20 @@
+package com.wallet.exception;
+
+/**
+ * Exception thrown when a command arrives while another command with the same reference id
+ * is still being applied. This should result in a 409 Conflict response; the client retries
+ * once the first one has completed and gets its result.
+ */
+public class DuplicateRequestException extends BusinessException {
+
+    private final String referenceId;
+
+    public DuplicateRequestException(String referenceId) {
+        super("A request with reference id " + referenceId + " is already in progress", "DUPLICATE_REQUEST");
+        this.referenceId = referenceId;
+    }
+
+    public String getReferenceId() {
+        return referenceId;
+    }
+}
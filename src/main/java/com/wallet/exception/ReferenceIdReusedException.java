@@ -0,0 +1,20 @@
+package com.wallet.exception;
+
+/**
+ * Exception thrown when a command reuses the reference id of a different command (another
+ * wallet, type or amount). It is not a retry, so it is neither applied nor answered with the
+ * original transaction. This should result in a 409 Conflict response.
+ */
+public class ReferenceIdReusedException extends BusinessException {
+
+    private final String referenceId;
+
+    public ReferenceIdReusedException(String referenceId) {
+        super("Reference id " + referenceId + " was already used by a different request", "REFERENCE_ID_REUSED");
+        this.referenceId = referenceId;
+    }
+
+    public String getReferenceId() {
+        return referenceId;
+    }
+}
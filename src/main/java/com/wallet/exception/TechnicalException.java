@@ -33,4 +33,8 @@ public class TechnicalException extends RuntimeException {
     public static TechnicalException cacheError(Throwable cause) {
         return new TechnicalException("Cache operation failed", "CACHE_ERROR", cause);
     }
+
+    public static TechnicalException walletContention(String walletId, Throwable cause) {
+        return new TechnicalException("Wallet is under heavy concurrent update: " + walletId, "WALLET_CONTENTION", cause);
+    }
 }
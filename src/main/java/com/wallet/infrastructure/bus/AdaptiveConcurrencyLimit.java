@@ -0,0 +1,120 @@
+package com.wallet.infrastructure.bus;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that follows the latency of what it protects (gradient style)
+ *
+ * A long-term average of the response time stands for the latency when nothing is queued. Each
+ * completed call compares it with its own time: while calls take about as long, the limit grows
+ * by a little more than its square root, and when they start taking longer (the database is
+ * queueing them) the limit shrinks in proportion, by at most half per sample. Timeouts cut the
+ * limit by a fixed factor. Latency samples are only allowed to raise the limit while the limit is
+ * actually in use, so a quiet period does not leave an inflated limit behind.
+ *
+ * Acquiring is a CAS on the in-flight count; the limit itself is recalculated under a lock on
+ * completion, which is cheap next to the database call that was just timed.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    // Weight of one sample in the long-term response time: an average over roughly 500 calls
+    private static final double LONG_RTT_WEIGHT = 2.0 / 501;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double tolerance;
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+
+    // Guarded by this
+    private double estimatedLimit;
+    private double longRttNanos;
+
+    /**
+     * @param smoothing weight of a new estimate in the limit, 0..1
+     * @param tolerance how much slower than the long-term average a call may be before the limit shrinks
+     * @param backoffRatio factor applied to the limit on a timeout
+     */
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit,
+            double smoothing, double tolerance, double backoffRatio) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.tolerance = tolerance;
+        this.backoffRatio = backoffRatio;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * Takes a slot; false when the limit is reached and the call should be rejected
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Frees the slot of a call that completed, and feeds its response time into the limit
+     */
+    public void onSuccess(long rttNanos) {
+        int running = inFlight.getAndDecrement();
+        update(rttNanos, running);
+    }
+
+    /**
+     * Frees the slot of a call that timed out, cutting the limit
+     */
+    public void onDropped() {
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            estimatedLimit = Math.max(minLimit, estimatedLimit * backoffRatio);
+            limit = (int) estimatedLimit;
+        }
+    }
+
+    /**
+     * Frees the slot of a call whose time says nothing about the load (e.g. it was cancelled)
+     */
+    public void onIgnored() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update(long rttNanos, int running) {
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+            return;
+        }
+        longRttNanos = longRttNanos * (1 - LONG_RTT_WEIGHT) + rttNanos * LONG_RTT_WEIGHT;
+        // Let the baseline recover quickly once a slow period is over
+        if (longRttNanos > 2.0 * rttNanos) {
+            longRttNanos = longRttNanos * 0.9;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / rttNanos));
+        // An under-used limit has not been tested, so it may only shrink
+        double headroom = running < estimatedLimit / 2 ? 0 : Math.sqrt(estimatedLimit);
+        double newLimit = estimatedLimit * gradient + headroom;
+        newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+}
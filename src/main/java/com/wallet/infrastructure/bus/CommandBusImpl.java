@@ -3,88 +3,106 @@ package com.wallet.infrastructure.bus;
 import com.wallet.core.command.Command;
 import com.wallet.core.command.CommandBus;
 import com.wallet.core.command.CommandHandler;
+import com.wallet.core.command.WalletCommand;
 import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
 import com.wallet.infrastructure.metrics.WalletMetrics;
-import io.micrometer.core.instrument.Timer;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
+import com.wallet.infrastructure.outbox.OutboxPublisher;
+import com.wallet.infrastructure.resilience.ContentionRetry;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
+/**
+ * Routes each command to its handler through a dispatch table built at startup, with the
+ * interceptors (metrics, tracing, validation) already wrapped around every route.
+ */
 @ApplicationScoped
 public class CommandBusImpl implements CommandBus {
 
-    private final Map<Class<?>, CommandHandler<?, ?>> handlers = new HashMap<>();
+    private final Instance<CommandHandler<?, ?>> handlerInstances;
+    private final Instance<DispatchInterceptor> interceptors;
+
+    private DispatchTable dispatchTable;
+    private Runnable wakeUpPublisher;
     
     @Inject
     WalletMetrics metrics;
 
     @Inject
-    public CommandBusImpl(Instance<CommandHandler<?, ?>> handlerInstances) {
+    ContentionRetry contentionRetry;
+
+    @Inject
+    StripedCommandExecutor stripedExecutor;
+
+    @Inject
+    OutboxPublisher outboxPublisher;
+
+    @Inject
+    public CommandBusImpl(Instance<CommandHandler<?, ?>> handlerInstances, Instance<DispatchInterceptor> interceptors) {
+        this.handlerInstances = handlerInstances;
+        this.interceptors = interceptors;
+    }
+
+    @PostConstruct
+    void buildDispatchTable() {
+        wakeUpPublisher = outboxPublisher::wakeUp;
+        Map<Class<?>, Dispatcher<Object, Object>> routes = new HashMap<>();
         for (CommandHandler<?, ?> handler : handlerInstances) {
-            Class<?> commandType = getCommandType(handler.getClass());
+            Class<?> commandType = HandlerTypes.messageType(handler.getClass(), CommandHandler.class);
             if (commandType != null) {
-                handlers.put(commandType, handler);
+                routes.put(commandType, handlerStep(commandType, handler));
             }
         }
+        dispatchTable = DispatchTable.build(MessageType.Kind.COMMAND, routes, interceptors);
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <T extends Command, R> Uni<R> dispatch(T command) {
-        CommandHandler<T, R> handler = (CommandHandler<T, R>) handlers.get(command.getClass());
-        if (handler == null) {
+        Dispatcher<Object, Object> route = dispatchTable.route(command.getClass());
+        if (route == null) {
             return Uni.createFrom().failure(
                 new IllegalArgumentException("No handler found for command: " + command.getClass().getSimpleName())
             );
         }
-        return handler.handle(command);
+        return (Uni<R>) route.dispatch(command);
     }
 
-    private Class<?> getCommandType(Class<?> handlerClass) {
-        // Handle Quarkus CDI proxies by getting the superclass
-        Class<?> actualClass = handlerClass;
-        if (handlerClass.getSimpleName().contains("_ClientProxy")) {
-            actualClass = handlerClass.getSuperclass();
-        }
-        
-        
-        // Check direct interfaces first
-        Type[] genericInterfaces = actualClass.getGenericInterfaces();
-        for (Type genericInterface : genericInterfaces) {
-            if (genericInterface instanceof ParameterizedType) {
-                ParameterizedType parameterizedType = (ParameterizedType) genericInterface;
-                if (parameterizedType.getRawType().equals(CommandHandler.class)) {
-                    Type[] typeArguments = parameterizedType.getActualTypeArguments();
-                    if (typeArguments.length > 0 && typeArguments[0] instanceof Class) {
-                        Class<?> commandType = (Class<?>) typeArguments[0];
-                        return commandType;
-                    }
-                }
-            }
+    /**
+     * Last step of a route: runs the handler, retrying balance changes on write conflicts
+     */
+    @SuppressWarnings("unchecked")
+    private Dispatcher<Object, Object> handlerStep(Class<?> commandType, CommandHandler<?, ?> commandHandler) {
+        CommandHandler<Command, Object> handler = (CommandHandler<Command, Object>) commandHandler;
+        // Other commands may still commit after this (in the resource), a wake-up that comes
+        // too early only costs one extra poll
+        Dispatcher<Object, Object> direct = command -> handler.handle((Command) command).invoke(wakeUpPublisher);
+        if (!WalletCommand.class.isAssignableFrom(commandType)) {
+            return direct;
         }
-        
-        // Check superclass interfaces if not found
-        Class<?> superClass = actualClass.getSuperclass();
-        if (superClass != null && superClass != Object.class) {
-            Type[] superInterfaces = superClass.getGenericInterfaces();
-            for (Type genericInterface : superInterfaces) {
-                if (genericInterface instanceof ParameterizedType) {
-                    ParameterizedType parameterizedType = (ParameterizedType) genericInterface;
-                    if (parameterizedType.getRawType().equals(CommandHandler.class)) {
-                        Type[] typeArguments = parameterizedType.getActualTypeArguments();
-                        if (typeArguments.length > 0 && typeArguments[0] instanceof Class) {
-                            Class<?> commandType = (Class<?>) typeArguments[0];
-                            return commandType;
-                        }
-                    }
-                }
+
+        String operation = commandType.getSimpleName();
+        return message -> {
+            Command command = (Command) message;
+            if (handler.schedulesItself(command)) {
+                return direct.dispatch(command);
             }
-        }
-        
-        return null;
+            // Balance changes run one transaction per attempt and are retried on write conflicts
+            String walletId = ((WalletCommand) command).getAffectedWalletId();
+            Supplier<Uni<Object>> execution = () -> contentionRetry.execute(operation, walletId, () -> handler.handle(command))
+                .onFailure(ContentionRetry::isExhausted)
+                .invoke(() -> metrics.recordRetryExhaustion(operation, "optimistic_lock"));
+
+            // Optionally queue behind other commands for the same wallet instead of racing them
+            Uni<Object> result = stripedExecutor.isEnabled()
+                ? stripedExecutor.submit(walletId, execution)
+                : execution.get();
+            // The handler's transaction has committed by now, so its outbox events are visible
+            return result.invoke(wakeUpPublisher);
+        };
     }
 }
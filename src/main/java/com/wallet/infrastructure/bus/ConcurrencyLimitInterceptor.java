@@ -0,0 +1,116 @@
+package com.wallet.infrastructure.bus;
+
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.wallet.infrastructure.metrics.WalletMetrics;
+import com.wallet.infrastructure.resilience.ContentionRetry;
+import com.wallet.infrastructure.resilience.ServiceDegradedException;
+
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Sheds commands once the primary database stops keeping up
+ *
+ * Every command type gets its own {@link AdaptiveConcurrencyLimit}, so when transfers slow down
+ * their limit shrinks and excess transfers are rejected as rate limited, while deposits keep
+ * their own budget. Queries are not limited: they are served by the replica and the cache, and
+ * are exactly what must keep working while writes are being shed.
+ *
+ * Defaults come from wallet.bus.concurrency-limit.*, and any of them can be set for one command
+ * type, e.g. wallet.bus.concurrency-limit.TransferFundsCommand.max-limit=50.
+ *
+ * Timeouts and write conflicts cut the limit. Rate-limited rejections from further down the
+ * bus are not timed at all, and any other failure is timed like a success.
+ */
+@ApplicationScoped
+public class ConcurrencyLimitInterceptor implements DispatchInterceptor {
+
+    static final int PRIORITY = 150;
+
+    private static final String PREFIX = "wallet.bus.concurrency-limit.";
+
+    @Inject
+    WalletMetrics metrics;
+
+    @Inject
+    Config config;
+
+    @ConfigProperty(name = "wallet.bus.concurrency-limit.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @Override
+    public int priority() {
+        return PRIORITY;
+    }
+
+    @Override
+    public <M, R> Dispatcher<M, R> intercept(MessageType type, Dispatcher<M, R> next) {
+        if (!enabled || !type.isCommand()) {
+            return next;
+        }
+        String command = type.name();
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(
+            setting(command, "initial-limit", Integer.class, 20),
+            setting(command, "min-limit", Integer.class, 4),
+            setting(command, "max-limit", Integer.class, 200),
+            setting(command, "smoothing", Double.class, 0.2),
+            setting(command, "tolerance", Double.class, 1.5),
+            setting(command, "backoff-ratio", Double.class, 0.9));
+        metrics.registerConcurrencyLimit(command, limit::getLimit, limit::getInFlight);
+
+        return message -> Uni.createFrom().deferred(() -> {
+            if (!limit.tryAcquire()) {
+                metrics.recordConcurrencyLimitRejected(command);
+                return Uni.createFrom().failure(ServiceDegradedException.rateLimited());
+            }
+            long start = System.nanoTime();
+            Uni<R> result;
+            try {
+                result = next.dispatch(message);
+            } catch (RuntimeException e) {
+                limit.onIgnored();
+                throw e;
+            }
+            return result.onTermination().invoke((item, failure, cancelled) -> {
+                if (cancelled || isFastRejection(failure)) {
+                    limit.onIgnored();
+                } else if (isDropped(failure)) {
+                    limit.onDropped();
+                } else {
+                    // Business failures (insufficient funds, ...) still took a database round trip
+                    limit.onSuccess(System.nanoTime() - start);
+                }
+            });
+        });
+    }
+
+    /**
+     * True for failures that mean the database is overloaded: timeouts, and write conflicts
+     * whether or not they ran out of retries
+     */
+    static boolean isDropped(Throwable failure) {
+        return failure instanceof TimeoutException
+            || ContentionRetry.isContention(failure)
+            || ContentionRetry.isExhausted(failure);
+    }
+
+    /**
+     * True for failures returned without reaching the database (a full stripe queue), whose
+     * time would drag down the latency baseline
+     */
+    static boolean isFastRejection(Throwable failure) {
+        return failure instanceof ServiceDegradedException degraded
+            && "RATE_LIMITED".equals(degraded.getDegradationCode());
+    }
+
+    private <T> T setting(String command, String name, Class<T> type, T defaultValue) {
+        return config.getOptionalValue(PREFIX + command + "." + name, type)
+            .or(() -> config.getOptionalValue(PREFIX + name, type))
+            .orElse(defaultValue);
+    }
+}
@@ -0,0 +1,20 @@
+package com.wallet.infrastructure.bus;
+
+/**
+ * Cross-cutting step of the command and query buses
+ *
+ * Interceptors are applied once per message type, when the bus builds its dispatch table, and
+ * return the step that will run for every message of that type. Anything that only depends on
+ * the type (a metric, a span name, whether the class has constraints at all) is decided there,
+ * and an interceptor with nothing to do for a type returns {@code next} unchanged, so it adds no
+ * work to that route.
+ */
+public interface DispatchInterceptor {
+
+    /**
+     * Interceptors with a lower priority run first, around those with a higher one
+     */
+    int priority();
+
+    <M, R> Dispatcher<M, R> intercept(MessageType type, Dispatcher<M, R> next);
+}
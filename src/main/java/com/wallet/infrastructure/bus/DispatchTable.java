@@ -0,0 +1,70 @@
+package com.wallet.infrastructure.bus;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable route per message class, built once from the handlers and interceptors
+ *
+ * Each route is the handler step with every interceptor already wrapped around it, so a dispatch
+ * is a lookup and a call. Lookups go through a {@link ClassValue}, which caches the route on the
+ * message class itself; a subclass of a handled message type resolves to its parent's route
+ * the first time it is seen.
+ */
+public final class DispatchTable {
+
+    private final Map<Class<?>, Dispatcher<Object, Object>> routes;
+
+    private final ClassValue<Dispatcher<Object, Object>> resolved = new ClassValue<>() {
+        @Override
+        protected Dispatcher<Object, Object> computeValue(Class<?> type) {
+            for (Class<?> candidate = type; candidate != null; candidate = candidate.getSuperclass()) {
+                Dispatcher<Object, Object> route = routes.get(candidate);
+                if (route != null) {
+                    return route;
+                }
+            }
+            return null;
+        }
+    };
+
+    private DispatchTable(Map<Class<?>, Dispatcher<Object, Object>> routes) {
+        this.routes = Map.copyOf(routes);
+    }
+
+    /**
+     * @param handlers handler step per message class
+     */
+    public static DispatchTable build(MessageType.Kind kind, Map<Class<?>, Dispatcher<Object, Object>> handlers,
+            Iterable<? extends DispatchInterceptor> interceptors) {
+        List<DispatchInterceptor> ordered = new ArrayList<>();
+        interceptors.forEach(ordered::add);
+        ordered.sort(Comparator.comparingInt(DispatchInterceptor::priority));
+
+        Map<Class<?>, Dispatcher<Object, Object>> routes = new HashMap<>();
+        handlers.forEach((type, handler) -> {
+            MessageType messageType = new MessageType(type, kind);
+            Dispatcher<Object, Object> route = handler;
+            // Wrap from the innermost out, so the lowest priority ends up running first
+            for (int i = ordered.size() - 1; i >= 0; i--) {
+                route = ordered.get(i).intercept(messageType, route);
+            }
+            routes.put(type, route);
+        });
+        return new DispatchTable(routes);
+    }
+
+    /**
+     * Route for the message class, null when no handler accepts it
+     */
+    public Dispatcher<Object, Object> route(Class<?> messageType) {
+        return resolved.get(messageType);
+    }
+
+    public int size() {
+        return routes.size();
+    }
+}
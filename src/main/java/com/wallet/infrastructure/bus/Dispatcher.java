@@ -0,0 +1,11 @@
+package com.wallet.infrastructure.bus;
+
+import io.smallrye.mutiny.Uni;
+
+/**
+ * One step of a bus route: the handler itself, or an interceptor wrapped around the next step
+ */
+@FunctionalInterface
+public interface Dispatcher<M, R> {
+    Uni<R> dispatch(M message);
+}
@@ -0,0 +1,47 @@
+package com.wallet.infrastructure.bus;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+/**
+ * Finds the message class a handler bean is declared for; only used while the buses are built
+ */
+final class HandlerTypes {
+
+    private HandlerTypes() {
+    }
+
+    /**
+     * First type argument of {@code handlerInterface} on the handler class or its superclass,
+     * null if it is not declared with a concrete class
+     */
+    static Class<?> messageType(Class<?> handlerClass, Class<?> handlerInterface) {
+        // Handle Quarkus CDI proxies by getting the superclass
+        Class<?> actualClass = handlerClass;
+        if (handlerClass.getSimpleName().contains("_ClientProxy")) {
+            actualClass = handlerClass.getSuperclass();
+        }
+
+        Class<?> messageType = fromInterfaces(actualClass, handlerInterface);
+        if (messageType == null) {
+            Class<?> superClass = actualClass.getSuperclass();
+            if (superClass != null && superClass != Object.class) {
+                messageType = fromInterfaces(superClass, handlerInterface);
+            }
+        }
+        return messageType;
+    }
+
+    private static Class<?> fromInterfaces(Class<?> type, Class<?> handlerInterface) {
+        for (Type genericInterface : type.getGenericInterfaces()) {
+            if (genericInterface instanceof ParameterizedType parameterizedType
+                    && parameterizedType.getRawType().equals(handlerInterface)) {
+                Type[] typeArguments = parameterizedType.getActualTypeArguments();
+                if (typeArguments.length > 0 && typeArguments[0] instanceof Class<?> messageType) {
+                    return messageType;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,158 @@
+package com.wallet.infrastructure.bus;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.exception.ConstraintViolationException;
+
+import com.wallet.core.command.IdempotentCommand;
+import com.wallet.domain.model.Transaction;
+import com.wallet.exception.DuplicateRequestException;
+import com.wallet.exception.ReferenceIdReusedException;
+import com.wallet.infrastructure.cache.IdempotencyStore;
+import com.wallet.infrastructure.cache.IdempotencyStore.Claim;
+import com.wallet.infrastructure.metrics.WalletMetrics;
+import com.wallet.infrastructure.persistence.TransactionRepository;
+
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.quarkus.reactive.datasource.ReactiveDataSource;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mysqlclient.MySQLException;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Answers retried commands with the transaction they already recorded
+ *
+ * Commands carrying a reference id claim it in the {@link IdempotencyStore} before anything else
+ * runs. A retry of an applied command gets the original transaction id back from Redis without
+ * a wallet read, a database transaction or a concurrency limit slot, which is what keeps client
+ * retries cheap during an incident. A retry racing the original fails with a conflict.
+ *
+ * Only a command with the same fingerprint (type, wallets and amount) as the one holding the
+ * reference id is a retry. Any other command reusing it is rejected with a conflict instead of
+ * being answered with a transaction it did not record.
+ *
+ * When Redis is unavailable or the entry has expired, the unique reference id index is the
+ * backstop: the duplicate insert fails, and the original transaction is looked up and compared
+ * instead.
+ */
+@ApplicationScoped
+public class IdempotencyInterceptor implements DispatchInterceptor {
+
+    // Ahead of the concurrency limit, so answered retries never take or get shed from a slot
+    static final int PRIORITY = 125;
+
+    static final String REFERENCE_ID_INDEX = "idx_reference_id";
+
+    private static final int MYSQL_DUPLICATE_ENTRY = 1062;
+
+    @Inject
+    IdempotencyStore store;
+
+    @Inject
+    @ReactiveDataSource("write")
+    TransactionRepository transactionRepository;
+
+    @Inject
+    WalletMetrics metrics;
+
+    @ConfigProperty(name = "wallet.idempotency.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @Override
+    public int priority() {
+        return PRIORITY;
+    }
+
+    @Override
+    public <M, R> Dispatcher<M, R> intercept(MessageType type, Dispatcher<M, R> next) {
+        if (!enabled || !type.isCommand() || !IdempotentCommand.class.isAssignableFrom(type.type())) {
+            return next;
+        }
+        String command = type.name();
+        return message -> {
+            IdempotentCommand idempotent = (IdempotentCommand) message;
+            String referenceId = idempotent.getReferenceId();
+            if (referenceId == null || referenceId.isBlank()) {
+                return next.dispatch(message);
+            }
+            String commandId = idempotent.getCommandId();
+            String fingerprint = idempotent.getFingerprint();
+            return store.claim(referenceId, commandId, fingerprint)
+                .chain(claim -> dispatch(command, referenceId, commandId, fingerprint, claim, message, next));
+        };
+    }
+
+    private <M, R> Uni<R> dispatch(String command, String referenceId, String commandId, String fingerprint,
+            Claim claim, M message, Dispatcher<M, R> next) {
+        if (!claim.matches(fingerprint)) {
+            metrics.recordIdempotency(command, "reused");
+            return Uni.createFrom().failure(new ReferenceIdReusedException(referenceId));
+        }
+        switch (claim.status()) {
+            case COMPLETED:
+                metrics.recordIdempotency(command, "replayed");
+                return Uni.createFrom().item(IdempotencyInterceptor.<R>transactionId(claim.transactionId()));
+            case IN_PROGRESS:
+                metrics.recordIdempotency(command, "in_progress");
+                return Uni.createFrom().failure(new DuplicateRequestException(referenceId));
+            case CLAIMED:
+                return apply(command, referenceId, fingerprint, message, next)
+                    .call(result -> store.complete(referenceId, String.valueOf(result), fingerprint))
+                    .onFailure().call(() -> store.release(referenceId, commandId, fingerprint));
+            default:
+                metrics.recordIdempotency(command, "unavailable");
+                return apply(command, referenceId, fingerprint, message, next);
+        }
+    }
+
+    private <M, R> Uni<R> apply(String command, String referenceId, String fingerprint, M message,
+            Dispatcher<M, R> next) {
+        return Uni.createFrom().deferred(() -> next.dispatch(message))
+            .onFailure(IdempotencyInterceptor::isDuplicateReference).recoverWithUni(failure ->
+                Panache.withSession(() -> transactionRepository.findByReferenceId(referenceId))
+                    .onItem().ifNull().failWith(() -> failure)
+                    .map(transaction -> {
+                        if (!fingerprint.equals(fingerprintOf(transaction))) {
+                            metrics.recordIdempotency(command, "reused");
+                            throw new ReferenceIdReusedException(referenceId);
+                        }
+                        metrics.recordIdempotency(command, "backstop");
+                        return IdempotencyInterceptor.<R>transactionId(transaction.getId());
+                    }));
+    }
+
+    static String fingerprintOf(Transaction transaction) {
+        return IdempotentCommand.fingerprint(transaction.getType().name(), transaction.getWalletId(),
+            transaction.getDestinationWalletId(), transaction.getAmount());
+    }
+
+    /**
+     * Idempotent commands resolve to the id of the transaction they record
+     */
+    @SuppressWarnings("unchecked")
+    private static <R> R transactionId(String transactionId) {
+        return (R) transactionId;
+    }
+
+    /**
+     * True if the failure (or one of its causes) is a second insert of a reference id
+     */
+    static boolean isDuplicateReference(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                String constraint = violation.getConstraintName();
+                if (constraint != null && constraint.contains(REFERENCE_ID_INDEX)) {
+                    return true;
+                }
+            }
+            if (cause instanceof MySQLException mysql && mysql.getErrorCode() == MYSQL_DUPLICATE_ENTRY) {
+                String message = mysql.getMessage();
+                return message != null && message.contains(REFERENCE_ID_INDEX);
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,22 @@
+package com.wallet.infrastructure.bus;
+
+/**
+ * Message class a bus route serves, as seen by interceptors when the route is built
+ *
+ * @param name simple class name, used for metric tags and span names
+ */
+public record MessageType(Class<?> type, Kind kind, String name) {
+
+    public enum Kind {
+        COMMAND,
+        QUERY
+    }
+
+    public MessageType(Class<?> type, Kind kind) {
+        this(type, kind, type.getSimpleName());
+    }
+
+    public boolean isCommand() {
+        return kind == Kind.COMMAND;
+    }
+}
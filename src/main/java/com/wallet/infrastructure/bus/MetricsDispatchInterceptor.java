@@ -0,0 +1,61 @@
+package com.wallet.infrastructure.bus;
+
+import com.wallet.infrastructure.metrics.WalletMetrics;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Counts every dispatch and times it until the handler's result (or failure) is emitted
+ */
+@ApplicationScoped
+public class MetricsDispatchInterceptor implements DispatchInterceptor {
+
+    static final int PRIORITY = 100;
+
+    @Inject
+    WalletMetrics metrics;
+
+    public MetricsDispatchInterceptor() {
+    }
+
+    /**
+     * For use outside CDI, e.g. in benchmarks
+     */
+    public MetricsDispatchInterceptor(WalletMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public int priority() {
+        return PRIORITY;
+    }
+
+    @Override
+    public <M, R> Dispatcher<M, R> intercept(MessageType type, Dispatcher<M, R> next) {
+        if (type.isCommand()) {
+            return message -> {
+                metrics.recordCommandDispatched();
+                long start = System.nanoTime();
+                return next.dispatch(message)
+                    .onItemOrFailure().invoke((item, failure) -> {
+                        metrics.recordCommandDispatch(System.nanoTime() - start);
+                        if (failure != null) {
+                            metrics.recordBusError();
+                        }
+                    });
+            };
+        }
+        return message -> {
+            metrics.recordQueryDispatched();
+            long start = System.nanoTime();
+            return next.dispatch(message)
+                .onItemOrFailure().invoke((item, failure) -> {
+                    metrics.recordQueryDispatch(System.nanoTime() - start);
+                    if (failure != null) {
+                        metrics.recordBusError();
+                    }
+                });
+        };
+    }
+}
@@ -7,79 +7,41 @@ import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Routes each query to its handler through a dispatch table built at startup, with the
+ * interceptors already wrapped around every route.
+ */
 @ApplicationScoped
 public class QueryBusImpl implements QueryBus {
 
-    private final Map<Class<?>, QueryHandler<?, ?>> handlers = new HashMap<>();
+    private final DispatchTable dispatchTable;
 
     @Inject
-    public QueryBusImpl(Instance<QueryHandler<?, ?>> handlerInstances) {
-        for (QueryHandler<?, ?> handler : handlerInstances) {
-            Class<?> queryType = getQueryType(handler.getClass());
+    @SuppressWarnings("unchecked")
+    public QueryBusImpl(Instance<QueryHandler<?, ?>> handlerInstances, Instance<DispatchInterceptor> interceptors) {
+        Map<Class<?>, Dispatcher<Object, Object>> routes = new HashMap<>();
+        for (QueryHandler<?, ?> queryHandler : handlerInstances) {
+            Class<?> queryType = HandlerTypes.messageType(queryHandler.getClass(), QueryHandler.class);
             if (queryType != null) {
-                handlers.put(queryType, handler);
+                QueryHandler<Query<Object>, Object> handler = (QueryHandler<Query<Object>, Object>) queryHandler;
+                routes.put(queryType, query -> handler.handle((Query<Object>) query));
             }
         }
+        dispatchTable = DispatchTable.build(MessageType.Kind.QUERY, routes, interceptors);
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <T extends Query<R>, R> Uni<R> dispatch(T query) {
-        QueryHandler<T, R> handler = (QueryHandler<T, R>) handlers.get(query.getClass());
-        if (handler == null) {
+        Dispatcher<Object, Object> route = dispatchTable.route(query.getClass());
+        if (route == null) {
             return Uni.createFrom().failure(
                 new IllegalArgumentException("No handler found for query: " + query.getClass().getSimpleName())
             );
         }
-        return handler.handle(query);
-    }
-
-    private Class<?> getQueryType(Class<?> handlerClass) {
-        // Handle Quarkus CDI proxies by getting the superclass
-        Class<?> actualClass = handlerClass;
-        if (handlerClass.getSimpleName().contains("_ClientProxy")) {
-            actualClass = handlerClass.getSuperclass();
-        }
-        
-        
-        // Check direct interfaces first
-        Type[] genericInterfaces = actualClass.getGenericInterfaces();
-        for (Type genericInterface : genericInterfaces) {
-            if (genericInterface instanceof ParameterizedType) {
-                ParameterizedType parameterizedType = (ParameterizedType) genericInterface;
-                if (parameterizedType.getRawType().equals(QueryHandler.class)) {
-                    Type[] typeArguments = parameterizedType.getActualTypeArguments();
-                    if (typeArguments.length > 0 && typeArguments[0] instanceof Class) {
-                        Class<?> queryType = (Class<?>) typeArguments[0];
-                        return queryType;
-                    }
-                }
-            }
-        }
-        
-        // Check superclass interfaces if not found
-        Class<?> superClass = actualClass.getSuperclass();
-        if (superClass != null && superClass != Object.class) {
-            Type[] superInterfaces = superClass.getGenericInterfaces();
-            for (Type genericInterface : superInterfaces) {
-                if (genericInterface instanceof ParameterizedType) {
-                    ParameterizedType parameterizedType = (ParameterizedType) genericInterface;
-                    if (parameterizedType.getRawType().equals(QueryHandler.class)) {
-                        Type[] typeArguments = parameterizedType.getActualTypeArguments();
-                        if (typeArguments.length > 0 && typeArguments[0] instanceof Class) {
-                            Class<?> queryType = (Class<?>) typeArguments[0];
-                            return queryType;
-                        }
-                    }
-                }
-            }
-        }
-        
-        return null;
+        return (Uni<R>) route.dispatch(query);
     }
 }
@@ -0,0 +1,165 @@
+package com.wallet.infrastructure.bus;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.wallet.infrastructure.metrics.WalletMetrics;
+import com.wallet.infrastructure.resilience.ServiceDegradedException;
+
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Serializes commands per wallet on this pod
+ *
+ * Wallet ids are hashed onto a fixed set of stripes. Each stripe is a single-consumer queue:
+ * the next command only starts once the previous one has completed, so commands for the same
+ * wallet never wait on each other's row locks in MySQL, while wallets on other stripes run in
+ * parallel. Two wallets sharing a stripe are serialized too, which is the price of a fixed
+ * number of queues; size the stripe count well above the expected number of hot wallets.
+ *
+ * Nothing blocks: a stripe is "busy" while its current command's Uni is in flight.
+ * Every command runs on the Vert.x context of the request that submitted it, because
+ * Hibernate Reactive sessions are bound to that context.
+ */
+@ApplicationScoped
+public class StripedCommandExecutor {
+
+    @Inject
+    WalletMetrics walletMetrics;
+
+    @ConfigProperty(name = "wallet.command.serialization.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "wallet.command.serialization.stripes", defaultValue = "256")
+    int stripeCount;
+
+    /**
+     * Commands allowed to wait per stripe; beyond that callers are rejected as rate limited
+     */
+    @ConfigProperty(name = "wallet.command.serialization.max-queue-depth", defaultValue = "1000")
+    int maxQueueDepth;
+
+    private Stripe[] stripes;
+
+    @PostConstruct
+    void init() {
+        stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+        walletMetrics.registerCommandQueueDepth("total", this::totalQueueDepth);
+        walletMetrics.registerCommandQueueDepth("max_stripe", this::maxStripeQueueDepth);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Runs the command after all commands previously submitted for the same stripe have completed
+     */
+    public <T> Uni<T> submit(String walletId, Supplier<Uni<T>> command) {
+        Stripe stripe = stripes[stripeIndex(walletId)];
+        return Uni.createFrom().emitter(emitter -> {
+            if (stripe.depth.incrementAndGet() > maxQueueDepth) {
+                stripe.depth.decrementAndGet();
+                walletMetrics.recordCommandQueueRejected();
+                emitter.fail(ServiceDegradedException.rateLimited());
+                return;
+            }
+            stripe.queue.offer(new Task<>(command, emitter, Vertx.currentContext(), System.nanoTime()));
+            drain(stripe);
+        });
+    }
+
+    /**
+     * Starts the next queued command if the stripe is idle.
+     * The work-in-progress counter turns re-entrant calls (a command completing synchronously
+     * releases the stripe from inside this loop) into another iteration instead of recursion.
+     */
+    private void drain(Stripe stripe) {
+        if (stripe.wip.getAndIncrement() != 0) {
+            return;
+        }
+        do {
+            if (!stripe.running.get()) {
+                Task<?> task = stripe.queue.poll();
+                if (task != null) {
+                    stripe.running.set(true);
+                    stripe.depth.decrementAndGet();
+                    walletMetrics.recordCommandQueueWait(System.nanoTime() - task.enqueuedAt);
+                    start(stripe, task);
+                }
+            }
+        } while (stripe.wip.decrementAndGet() != 0);
+    }
+
+    private void start(Stripe stripe, Task<?> task) {
+        if (task.context != null) {
+            task.context.runOnContext(ignored -> run(stripe, task));
+        } else {
+            run(stripe, task);
+        }
+    }
+
+    private <T> void run(Stripe stripe, Task<T> task) {
+        Uni.createFrom().deferred(task.command::get)
+                .subscribe().with(
+                        item -> {
+                            release(stripe);
+                            task.emitter.complete(item);
+                        },
+                        failure -> {
+                            release(stripe);
+                            task.emitter.fail(failure);
+                        });
+    }
+
+    private void release(Stripe stripe) {
+        stripe.running.set(false);
+        drain(stripe);
+    }
+
+    int stripeIndex(String walletId) {
+        int hash = walletId != null ? walletId.hashCode() : 0;
+        // Mix the high bits into the low ones before reducing to a stripe index
+        return Math.floorMod(hash ^ (hash >>> 16), stripeCount);
+    }
+
+    private double totalQueueDepth() {
+        long total = 0;
+        for (Stripe stripe : stripes) {
+            total += stripe.depth.get();
+        }
+        return total;
+    }
+
+    private double maxStripeQueueDepth() {
+        int max = 0;
+        for (Stripe stripe : stripes) {
+            max = Math.max(max, stripe.depth.get());
+        }
+        return max;
+    }
+
+    private static final class Stripe {
+        final Queue<Task<?>> queue = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean running = new AtomicBoolean();
+        final AtomicInteger wip = new AtomicInteger();
+        final AtomicInteger depth = new AtomicInteger();
+    }
+
+    private record Task<T>(Supplier<Uni<T>> command, UniEmitter<? super T> emitter, Context context, long enqueuedAt) {
+    }
+}
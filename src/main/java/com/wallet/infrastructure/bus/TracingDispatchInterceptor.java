@@ -0,0 +1,54 @@
+package com.wallet.infrastructure.bus;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Opens a span per dispatch ("bus.command DepositFundsCommand"), so handler spans and database
+ * calls nest under the bus rather than directly under the HTTP request
+ */
+@ApplicationScoped
+public class TracingDispatchInterceptor implements DispatchInterceptor {
+
+    static final int PRIORITY = 200;
+
+    @Inject
+    Tracer tracer;
+
+    @ConfigProperty(name = "wallet.bus.tracing.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @Override
+    public int priority() {
+        return PRIORITY;
+    }
+
+    @Override
+    public <M, R> Dispatcher<M, R> intercept(MessageType type, Dispatcher<M, R> next) {
+        if (!enabled) {
+            return next;
+        }
+        String spanName = (type.isCommand() ? "bus.command " : "bus.query ") + type.name();
+        return message -> {
+            Span span = tracer.spanBuilder(spanName).startSpan();
+            Uni<R> result;
+            try (Scope ignored = span.makeCurrent()) {
+                result = next.dispatch(message);
+            }
+            return result.onItemOrFailure().invoke((item, failure) -> {
+                if (failure != null) {
+                    span.recordException(failure);
+                    span.setStatus(StatusCode.ERROR);
+                }
+                span.end();
+            });
+        };
+    }
+}
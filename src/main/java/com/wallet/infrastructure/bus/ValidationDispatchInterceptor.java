@@ -0,0 +1,42 @@
+package com.wallet.infrastructure.bus;
+
+import java.util.Set;
+
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+
+/**
+ * Rejects messages that break their Bean Validation constraints before they reach the handler.
+ * Message classes without any constraint are not intercepted at all.
+ */
+@ApplicationScoped
+public class ValidationDispatchInterceptor implements DispatchInterceptor {
+
+    static final int PRIORITY = 300;
+
+    @Inject
+    Validator validator;
+
+    @Override
+    public int priority() {
+        return PRIORITY;
+    }
+
+    @Override
+    public <M, R> Dispatcher<M, R> intercept(MessageType type, Dispatcher<M, R> next) {
+        if (!validator.getConstraintsForClass(type.type()).isBeanConstrained()) {
+            return next;
+        }
+        return message -> {
+            Set<ConstraintViolation<M>> violations = validator.validate(message);
+            if (!violations.isEmpty()) {
+                return Uni.createFrom().failure(new ConstraintViolationException(violations));
+            }
+            return next.dispatch(message);
+        };
+    }
+}
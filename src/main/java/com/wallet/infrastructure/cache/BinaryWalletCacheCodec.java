@@ -0,0 +1,145 @@
+package com.wallet.infrastructure.cache;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import com.wallet.domain.model.Wallet;
+import com.wallet.domain.model.WalletStatus;
+
+/**
+ * Compact fixed-layout wallet encoding.
+ *
+ * Layout (version 2):
+ * <pre>
+ * byte    format version
+ * short   id length, id bytes (UTF-8)
+ * short   userId length, userId bytes (UTF-8)
+ * int     balance scale
+ * short   unscaled balance length, unscaled balance bytes (two's complement)
+ * byte    status ordinal
+ * long    createdAt epoch millis
+ * long    updatedAt epoch millis
+ * long    row version
+ * </pre>
+ * Version 1 entries (without the row version) are still decoded, with a null version.
+ * Null strings and balances are written with a length of -1, a null status as ordinal -1
+ * and null timestamps and versions as {@link Long#MIN_VALUE}.
+ *
+ * The leading version byte can never be '{', so readers can tell binary entries apart
+ * from JSON ones and pods can switch encodings without flushing the cache.
+ */
+public final class BinaryWalletCacheCodec implements WalletCacheCodec {
+
+    public static final byte FORMAT_VERSION = 2;
+
+    private static final byte FORMAT_VERSION_WITHOUT_ROW_VERSION = 1;
+
+    private static final short NULL_LENGTH = -1;
+    private static final long NULL_LONG = Long.MIN_VALUE;
+    private static final WalletStatus[] STATUSES = WalletStatus.values();
+
+    @Override
+    public byte[] encode(Wallet wallet) {
+        byte[] id = utf8(wallet.getId());
+        byte[] userId = utf8(wallet.getUserId());
+        BigDecimal balance = wallet.getBalance();
+        byte[] unscaled = balance != null ? balance.unscaledValue().toByteArray() : null;
+
+        int size = 1
+                + lengthPrefixed(id)
+                + lengthPrefixed(userId)
+                + Integer.BYTES + lengthPrefixed(unscaled)
+                + 1
+                + Long.BYTES * 3;
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(FORMAT_VERSION);
+        putBytes(buffer, id);
+        putBytes(buffer, userId);
+        buffer.putInt(balance != null ? balance.scale() : 0);
+        putBytes(buffer, unscaled);
+        buffer.put(statusOrdinal(wallet.getStatus()));
+        buffer.putLong(epochMillis(wallet.getCreatedAt()));
+        buffer.putLong(epochMillis(wallet.getUpdatedAt()));
+        buffer.putLong(wallet.getVersion() != null ? wallet.getVersion() : NULL_LONG);
+        return buffer.array();
+    }
+
+    @Override
+    public Wallet decode(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        byte version = buffer.get();
+        if (version != FORMAT_VERSION && version != FORMAT_VERSION_WITHOUT_ROW_VERSION) {
+            throw new IllegalArgumentException("Unsupported wallet cache format version: " + version);
+        }
+
+        Wallet wallet = new Wallet();
+        wallet.setId(string(getBytes(buffer)));
+        wallet.setUserId(string(getBytes(buffer)));
+        int scale = buffer.getInt();
+        byte[] unscaled = getBytes(buffer);
+        wallet.setBalance(unscaled != null ? new BigDecimal(new BigInteger(unscaled), scale) : null);
+        byte status = buffer.get();
+        wallet.setStatus(status >= 0 ? STATUSES[status].name() : null);
+        wallet.setCreatedAt(instant(buffer.getLong()));
+        wallet.setUpdatedAt(instant(buffer.getLong()));
+        if (version == FORMAT_VERSION) {
+            long rowVersion = buffer.getLong();
+            wallet.setVersion(rowVersion != NULL_LONG ? rowVersion : null);
+        }
+        return wallet;
+    }
+
+    /**
+     * True if the payload was written by this codec (any version), false for JSON entries
+     */
+    public static boolean isBinary(byte[] data) {
+        return data.length > 0 && data[0] != '{';
+    }
+
+    private static int lengthPrefixed(byte[] bytes) {
+        return Short.BYTES + (bytes != null ? bytes.length : 0);
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putShort(NULL_LENGTH);
+            return;
+        }
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static byte[] getBytes(ByteBuffer buffer) {
+        short length = buffer.getShort();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static String string(byte[] bytes) {
+        return bytes != null ? new String(bytes, StandardCharsets.UTF_8) : null;
+    }
+
+    private static byte statusOrdinal(String status) {
+        return status != null ? (byte) WalletStatus.valueOf(status).ordinal() : -1;
+    }
+
+    private static long epochMillis(Instant instant) {
+        return instant != null ? instant.toEpochMilli() : NULL_LONG;
+    }
+
+    private static Instant instant(long epochMillis) {
+        return epochMillis != NULL_LONG ? Instant.ofEpochMilli(epochMillis) : null;
+    }
+}
@@ -0,0 +1,159 @@
+package com.wallet.infrastructure.cache;
+
+import io.quarkus.logging.Log;
+import io.quarkus.redis.datasource.ReactiveRedisDataSource;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.redis.client.Command;
+import io.vertx.mutiny.redis.client.Request;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Reference ids of recent commands, kept in Redis
+ *
+ * A command first claims its reference id with a short lived pending marker. Once applied, the
+ * marker is replaced by the id of the transaction it recorded, kept for a day, so a retry is
+ * answered with one Redis round trip. A failed command releases its claim so it can be retried.
+ * Both values carry the command's fingerprint after a '|', so a different command reusing the
+ * reference id can be told apart from a retry. Entries written without one (by older pods) have
+ * no fingerprint.
+ *
+ * Redis is only the fast path: when it is unavailable, or an entry has expired, the unique
+ * reference id index on the transaction table still rejects a second transaction.
+ */
+@ApplicationScoped
+public class IdempotencyStore {
+
+    private static final String KEY_PREFIX = "idempotency:";
+    private static final String PENDING_PREFIX = "pending:";
+    private static final char FINGERPRINT_SEPARATOR = '|';
+
+    /**
+     * SET NX that returns the existing value when the key is taken, in one round trip.
+     * KEYS[1] = key, ARGV = pending marker, ttl seconds
+     */
+    private static final String CLAIM_SCRIPT =
+            "local current = redis.call('GET', KEYS[1]) "
+            + "if current then return current end "
+            + "redis.call('SET', KEYS[1], ARGV[1], 'EX', ARGV[2]) "
+            + "return false";
+
+    /**
+     * Deletes the key only while it still holds the caller's pending marker
+     * KEYS[1] = key, ARGV[1] = pending marker
+     */
+    private static final String RELEASE_SCRIPT =
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end "
+            + "return 0";
+
+    @Inject
+    ReactiveRedisDataSource redisDataSource;
+
+    /**
+     * How long a completed reference id is answered from Redis
+     */
+    @ConfigProperty(name = "wallet.idempotency.ttl", defaultValue = "P1D")
+    Duration ttl;
+
+    /**
+     * How long a claim survives without completing; bounds how long a crashed pod blocks retries
+     */
+    @ConfigProperty(name = "wallet.idempotency.pending-ttl", defaultValue = "PT30S")
+    Duration pendingTtl;
+
+    public enum Status {
+        /** The caller owns the reference id and must complete or release it */
+        CLAIMED,
+        /** Already applied; the claim carries the original transaction id */
+        COMPLETED,
+        /** Claimed by a command that has not finished yet */
+        IN_PROGRESS,
+        /** Redis could not be reached; the caller proceeds without the fast path */
+        UNAVAILABLE
+    }
+
+    /**
+     * @param fingerprint fingerprint of the command holding the reference id, null if unknown
+     */
+    public record Claim(Status status, String transactionId, String fingerprint) {
+        static Claim of(Status status) {
+            return new Claim(status, null, null);
+        }
+
+        /**
+         * False if the reference id is held by a command with a different fingerprint
+         */
+        public boolean matches(String commandFingerprint) {
+            return fingerprint == null || fingerprint.equals(commandFingerprint);
+        }
+    }
+
+    /**
+     * Claims the reference id for the command, or tells who already has it
+     */
+    public Uni<Claim> claim(String referenceId, String commandId, String fingerprint) {
+        Request request = Request.cmd(Command.EVAL)
+                .arg(CLAIM_SCRIPT)
+                .arg(1)
+                .arg(KEY_PREFIX + referenceId)
+                .arg(pendingMarker(commandId, fingerprint))
+                .arg(pendingTtl.toSeconds());
+
+        return redisDataSource.getRedis().send(request)
+                .map(response -> response == null ? Claim.of(Status.CLAIMED) : parse(response.toString()))
+                .onFailure().recoverWithItem(failure -> {
+                    Log.debugf("Idempotency claim unavailable for %s: %s", referenceId, failure.getMessage());
+                    return Claim.of(Status.UNAVAILABLE);
+                });
+    }
+
+    /**
+     * Records the transaction the reference id resolved to
+     */
+    public Uni<Void> complete(String referenceId, String transactionId, String fingerprint) {
+        return redisDataSource.value(String.class)
+                .setex(KEY_PREFIX + referenceId, ttl.toSeconds(), transactionId + FINGERPRINT_SEPARATOR + fingerprint)
+                .onFailure().recoverWithUni(failure -> {
+                    Log.debugf("Failed to record idempotency key %s: %s", referenceId, failure.getMessage());
+                    return Uni.createFrom().voidItem();
+                });
+    }
+
+    /**
+     * Gives up the command's claim so the reference id can be used again
+     */
+    public Uni<Void> release(String referenceId, String commandId, String fingerprint) {
+        Request request = Request.cmd(Command.EVAL)
+                .arg(RELEASE_SCRIPT)
+                .arg(1)
+                .arg(KEY_PREFIX + referenceId)
+                .arg(pendingMarker(commandId, fingerprint));
+
+        return redisDataSource.getRedis().send(request)
+                .replaceWithVoid()
+                .onFailure().recoverWithUni(failure -> {
+                    // The claim expires on its own after the pending ttl
+                    Log.debugf("Failed to release idempotency key %s: %s", referenceId, failure.getMessage());
+                    return Uni.createFrom().voidItem();
+                });
+    }
+
+    private static String pendingMarker(String commandId, String fingerprint) {
+        return PENDING_PREFIX + commandId + FINGERPRINT_SEPARATOR + fingerprint;
+    }
+
+    /**
+     * Reads a claimed value: a pending marker or a transaction id, each followed by the
+     * fingerprint when the pod that wrote it knew about fingerprints
+     */
+    static Claim parse(String value) {
+        int separator = value.indexOf(FINGERPRINT_SEPARATOR);
+        String holder = separator < 0 ? value : value.substring(0, separator);
+        String fingerprint = separator < 0 ? null : value.substring(separator + 1);
+        return holder.startsWith(PENDING_PREFIX)
+                ? new Claim(Status.IN_PROGRESS, null, fingerprint)
+                : new Claim(Status.COMPLETED, holder, fingerprint);
+    }
+}
@@ -0,0 +1,37 @@
+package com.wallet.infrastructure.cache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallet.domain.model.Wallet;
+
+/**
+ * Original cache encoding: the Wallet entity serialized as UTF-8 JSON.
+ */
+public final class JsonWalletCacheCodec implements WalletCacheCodec {
+
+    private final ObjectMapper objectMapper;
+
+    public JsonWalletCacheCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public byte[] encode(Wallet wallet) {
+        try {
+            return objectMapper.writeValueAsBytes(wallet);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Wallet decode(byte[] data) {
+        try {
+            return objectMapper.readValue(data, Wallet.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
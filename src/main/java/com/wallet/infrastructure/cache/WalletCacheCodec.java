@@ -0,0 +1,13 @@
+package com.wallet.infrastructure.cache;
+
+import com.wallet.domain.model.Wallet;
+
+/**
+ * Encodes wallets to and from the byte representation stored in Redis.
+ */
+public interface WalletCacheCodec {
+
+    byte[] encode(Wallet wallet);
+
+    Wallet decode(byte[] data);
+}
@@ -0,0 +1,63 @@
+package com.wallet.infrastructure.cache;
+
+import io.quarkus.logging.Log;
+import io.quarkus.redis.datasource.ReactiveRedisDataSource;
+import io.quarkus.redis.datasource.pubsub.ReactivePubSubCommands.ReactiveRedisSubscriber;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+/**
+ * Subscribes to the wallet cache invalidation channel so that a mutation handled by
+ * another pod evicts the wallet from this pod's near cache. Messages this pod published
+ * itself are ignored.
+ *
+ * Delivery is best effort: if the subscription is lost, the near cache TTL bounds
+ * how long a stale entry can be served.
+ */
+@ApplicationScoped
+public class WalletCacheInvalidationListener {
+
+    @Inject
+    ReactiveRedisDataSource redisDataSource;
+
+    @Inject
+    WalletNearCache nearCache;
+
+    private volatile ReactiveRedisSubscriber subscriber;
+
+    void onStart(@Observes StartupEvent event) {
+        if (!nearCache.isEnabled()) {
+            return;
+        }
+
+        redisDataSource.pubsub(String.class)
+                .subscribe(WalletStateCache.INVALIDATION_CHANNEL, this::onInvalidation)
+                .subscribe().with(
+                    redisSubscriber -> {
+                        subscriber = redisSubscriber;
+                        Log.infof("Subscribed to wallet cache invalidation channel %s",
+                                WalletStateCache.INVALIDATION_CHANNEL);
+                    },
+                    failure -> Log.warnf("Could not subscribe to wallet cache invalidations, "
+                            + "near cache will rely on TTL only: %s", failure.getMessage())
+                );
+    }
+
+    void onInvalidation(String message) {
+        String walletId = WalletStateCache.invalidatedWalletId(message);
+        // This pod's own messages are skipped: its near cache already holds the state it published
+        if (walletId != null) {
+            nearCache.invalidate(walletId);
+        }
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        ReactiveRedisSubscriber current = subscriber;
+        if (current != null) {
+            current.unsubscribe().subscribe().with(ignored -> { }, failure -> { });
+        }
+    }
+}
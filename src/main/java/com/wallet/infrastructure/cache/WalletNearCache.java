@@ -0,0 +1,117 @@
+package com.wallet.infrastructure.cache;
+
+import java.time.Duration;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.wallet.domain.model.Wallet;
+import com.wallet.infrastructure.metrics.WalletMetrics;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * In-process (L1) wallet cache sitting in front of the Redis-backed {@link WalletStateCache}.
+ *
+ * Hot wallets are polled many times per second; serving them from the heap avoids a Redis
+ * round trip and a full deserialization per read. Entries are held in a Caffeine cache, bounded
+ * by size and by a short TTL from their write, which caps staleness when a cross-pod
+ * invalidation message is missed. Reads take no lock.
+ *
+ * Cached instances are never handed out directly: callers receive a copy so that a caller
+ * mutating the entity cannot corrupt the shared entry.
+ */
+@ApplicationScoped
+public class WalletNearCache {
+
+    @ConfigProperty(name = "wallet.cache.near.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "wallet.cache.near.max-size", defaultValue = "10000")
+    int maxSize;
+
+    @ConfigProperty(name = "wallet.cache.near.ttl", defaultValue = "PT2S")
+    Duration ttl;
+
+    @Inject
+    WalletMetrics walletMetrics;
+
+    private Cache<String, Wallet> entries;
+
+    @PostConstruct
+    void init() {
+        entries = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            // Evictions are drained on the calling thread, amortized over reads and writes,
+            // rather than handed to the common pool
+            .executor(Runnable::run)
+            .removalListener(this::recordRemoval)
+            .build();
+    }
+
+    /**
+     * Returns a copy of the cached wallet, or null on a miss or expired entry.
+     */
+    public Wallet get(String walletId) {
+        if (!enabled) {
+            return null;
+        }
+
+        Wallet cached = entries.getIfPresent(walletId);
+        if (cached == null) {
+            walletMetrics.recordNearCacheMiss();
+            return null;
+        }
+        walletMetrics.recordNearCacheHit();
+        return copyOf(cached);
+    }
+
+    public void put(Wallet wallet) {
+        if (!enabled || wallet == null || wallet.getId() == null) {
+            return;
+        }
+        entries.put(wallet.getId(), copyOf(wallet));
+    }
+
+    public void invalidate(String walletId) {
+        entries.invalidate(walletId);
+    }
+
+    public void invalidateAll() {
+        entries.invalidateAll();
+    }
+
+    public int size() {
+        entries.cleanUp();
+        return (int) entries.estimatedSize();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private void recordRemoval(String walletId, Wallet wallet, RemovalCause cause) {
+        if (cause == RemovalCause.SIZE) {
+            walletMetrics.recordNearCacheEviction("size");
+        } else if (cause == RemovalCause.EXPIRED) {
+            walletMetrics.recordNearCacheEviction("expired");
+        }
+    }
+
+    private static Wallet copyOf(Wallet source) {
+        Wallet copy = new Wallet();
+        copy.setId(source.getId());
+        copy.setUserId(source.getUserId());
+        copy.setBalance(source.getBalance());
+        copy.setStatus(source.getStatus());
+        copy.setCreatedAt(source.getCreatedAt());
+        copy.setUpdatedAt(source.getUpdatedAt());
+        copy.setVersion(source.getVersion());
+        return copy;
+    }
+}
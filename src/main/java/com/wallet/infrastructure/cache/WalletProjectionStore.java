@@ -0,0 +1,149 @@
+package com.wallet.infrastructure.cache;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallet.domain.model.Wallet;
+import com.wallet.domain.model.WalletProjection;
+import com.wallet.infrastructure.persistence.WalletProjectionReadRepository;
+
+import io.quarkus.logging.Log;
+import io.quarkus.redis.datasource.ReactiveRedisDataSource;
+import io.quarkus.reactive.datasource.ReactiveDataSource;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Wallet read model as served to queries: the wallet_projections rows the event projector
+ * writes, mirrored into Redis under {@code wallet-projection:} keys.
+ *
+ * Lookups are one MGET, and only the wallets Redis does not have are read from the table on the
+ * replica. A projection is served as a {@link Wallet} with no version (the projection does not
+ * track the row version), so it must never be put into {@link WalletStateCache}, whose guard
+ * compares versions. Projections whose creation has not been applied yet are left out.
+ */
+@ApplicationScoped
+public class WalletProjectionStore {
+
+    static final String PROJECTION_KEY_PREFIX = "wallet-projection:";
+
+    @Inject
+    ReactiveRedisDataSource redisDataSource;
+
+    @Inject
+    @ReactiveDataSource("read")
+    WalletProjectionReadRepository projectionReadRepository;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    /**
+     * Pushes the projections to Redis with one MSET. The table stays the source of truth, so a
+     * failure is logged rather than failing (and replaying) a batch that is already committed.
+     */
+    public Uni<Void> cacheProjections(List<WalletProjection> projections) {
+        if (projections.isEmpty()) {
+            return Uni.createFrom().voidItem();
+        }
+        Map<String, String> entries = new HashMap<>();
+        try {
+            for (WalletProjection projection : projections) {
+                entries.put(PROJECTION_KEY_PREFIX + projection.getWalletId(),
+                    objectMapper.writeValueAsString(CachedProjection.from(projection)));
+            }
+        } catch (JsonProcessingException e) {
+            return Uni.createFrom().failure(e);
+        }
+        return redisDataSource.value(String.class).mset(entries)
+            .onFailure().recoverWithUni(failure -> {
+                Log.warnf("Failed to cache %d wallet projections: %s", entries.size(), failure.getMessage());
+                return Uni.createFrom().voidItem();
+            });
+    }
+
+    public Uni<Wallet> getWallet(String walletId) {
+        return getWallets(List.of(walletId)).map(wallets -> wallets.get(walletId));
+    }
+
+    /**
+     * Projected wallets by id; wallets without a servable projection are absent from the result
+     */
+    public Uni<Map<String, Wallet>> getWallets(Collection<String> walletIds) {
+        if (walletIds.isEmpty()) {
+            return Uni.createFrom().item(new HashMap<>());
+        }
+        String[] keys = walletIds.stream().map(walletId -> PROJECTION_KEY_PREFIX + walletId).toArray(String[]::new);
+
+        return redisDataSource.value(String.class).mget(keys)
+            .onFailure().recoverWithItem(failure -> {
+                Log.warnf("Failed to read %d wallet projections from Redis: %s", keys.length, failure.getMessage());
+                return Map.of();
+            })
+            .chain(entries -> {
+                Map<String, Wallet> found = new HashMap<>();
+                for (String value : entries.values()) {
+                    CachedProjection cached = value != null ? read(value) : null;
+                    if (cached != null && cached.status() != null) {
+                        found.put(cached.walletId(), cached.toWallet());
+                    }
+                }
+                List<String> misses = new ArrayList<>();
+                for (String walletId : walletIds) {
+                    if (!found.containsKey(walletId)) {
+                        misses.add(walletId);
+                    }
+                }
+                if (misses.isEmpty()) {
+                    return Uni.createFrom().item(found);
+                }
+                return projectionReadRepository.findByIds(misses)
+                    .map(projections -> {
+                        for (WalletProjection projection : projections) {
+                            if (projection.getStatus() != null) {
+                                found.put(projection.getWalletId(), CachedProjection.from(projection).toWallet());
+                            }
+                        }
+                        return found;
+                    });
+            });
+    }
+
+    private CachedProjection read(String value) {
+        try {
+            return objectMapper.readValue(value, CachedProjection.class);
+        } catch (JsonProcessingException e) {
+            // The table still has it
+            Log.warnf("Unreadable cached wallet projection: %s", e.getMessage());
+            return null;
+        }
+    }
+
+    record CachedProjection(String walletId, String userId, String status, Instant createdAt, BigDecimal balance,
+            long eventCount, Instant lastEventAt) {
+
+        static CachedProjection from(WalletProjection projection) {
+            return new CachedProjection(projection.getWalletId(), projection.getUserId(), projection.getStatus(),
+                projection.getCreatedAt(), projection.getBalance(), projection.getEventCount(),
+                projection.getLastEventAt());
+        }
+
+        Wallet toWallet() {
+            Wallet wallet = new Wallet();
+            wallet.setId(walletId);
+            wallet.setUserId(userId);
+            wallet.setStatus(status);
+            wallet.setBalance(balance);
+            wallet.setCreatedAt(createdAt);
+            wallet.setUpdatedAt(lastEventAt);
+            return wallet;
+        }
+    }
+}
@@ -1,11 +1,26 @@
 package com.wallet.infrastructure.cache;
 
+import io.quarkus.logging.Log;
 import io.quarkus.redis.client.reactive.ReactiveRedisClient;
+import io.quarkus.redis.datasource.ReactiveRedisDataSource;
+import io.quarkus.redis.datasource.value.ReactiveValueCommands;
 import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.core.buffer.Buffer;
+import io.vertx.mutiny.redis.client.Command;
+import io.vertx.mutiny.redis.client.Request;
+import io.vertx.mutiny.redis.client.Response;
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.wallet.domain.model.Wallet;
 
@@ -13,43 +28,246 @@ import com.wallet.domain.model.Wallet;
 public class WalletStateCache {
 
     private static final String WALLET_KEY_PREFIX = "wallet:";
+    private static final String REVISION_KEY_PREFIX = "wallet-ver:";
     private static final Duration CACHE_DURATION = Duration.ofMinutes(30);
 
+    /**
+     * Compare-and-set: only writes the entry if its revision is not older than the one
+     * already cached, so a late write from another pod (or a lagging replica read)
+     * can never replace newer state.
+     * KEYS[1] = entry key, KEYS[2] = revision key, ARGV = revision, payload, ttl seconds
+     */
+    private static final String GUARDED_SET_SCRIPT =
+            "local current = redis.call('GET', KEYS[2]) "
+            + "if current and tonumber(current) > tonumber(ARGV[1]) then return 0 end "
+            + "redis.call('SET', KEYS[1], ARGV[2], 'EX', ARGV[3]) "
+            + "redis.call('SET', KEYS[2], ARGV[1], 'EX', ARGV[3]) "
+            + "return 1";
+
+    /**
+     * Pub/sub channel used to tell other pods to drop their near cache entry for a wallet.
+     * Messages are "instance id|wallet id", so a pod can ignore the ones it published itself.
+     */
+    public static final String INVALIDATION_CHANNEL = "wallet-cache-invalidations";
+
+    private static final char INVALIDATION_SEPARATOR = '|';
+
+    // Identifies this pod's messages on the invalidation channel
+    static final String INSTANCE_ID = UUID.randomUUID().toString();
+
     @Inject
     ReactiveRedisClient redis;
 
+    @Inject
+    ReactiveRedisDataSource redisDataSource;
+
     @Inject
     ObjectMapper objectMapper;
 
+    @Inject
+    WalletNearCache nearCache;
+
+    /**
+     * Encoding used for new cache entries (json or binary).
+     * Reads always accept both, so the setting can be rolled out pod by pod.
+     */
+    @ConfigProperty(name = "wallet.cache.encoding", defaultValue = "json")
+    String encoding;
+
+    /**
+     * When enabled, command handlers push the freshly written wallet state into the cache
+     * instead of invalidating it, so the next read does not miss to the replica.
+     */
+    @ConfigProperty(name = "wallet.cache.write-through", defaultValue = "true")
+    boolean writeThrough;
+
+    private ReactiveValueCommands<String, byte[]> values;
+    private WalletCacheCodec jsonCodec;
+    private WalletCacheCodec binaryCodec;
+    private WalletCacheCodec writeCodec;
+
+    @PostConstruct
+    void init() {
+        values = redisDataSource.value(byte[].class);
+        jsonCodec = new JsonWalletCacheCodec(objectMapper);
+        binaryCodec = new BinaryWalletCacheCodec();
+        writeCodec = "binary".equalsIgnoreCase(encoding) ? binaryCodec : jsonCodec;
+    }
+
     public Uni<Wallet> getWallet(String walletId) {
-        return redis.get(WALLET_KEY_PREFIX + walletId)
-                .map(response -> {
-                    if (response == null) {
+        Wallet local = nearCache.get(walletId);
+        if (local != null) {
+            return Uni.createFrom().item(local);
+        }
+
+        return values.get(WALLET_KEY_PREFIX + walletId)
+                .map(data -> {
+                    if (data == null) {
                         return null;
                     }
                     try {
-                        return objectMapper.readValue(response.toString(), Wallet.class);
+                        return decode(data);
                     } catch (Exception e) {
                         throw new RuntimeException("Failed to deserialize wallet from cache", e);
                     }
-                });
+                })
+                .onItem().ifNotNull().invoke(nearCache::put);
     }
 
+    /**
+     * Caches the wallet unless a newer revision is already cached.
+     */
     public Uni<Void> cacheWallet(Wallet wallet) {
+        Request request;
         try {
-            String walletJson = objectMapper.writeValueAsString(wallet);
-            return redis.setex(
-                    WALLET_KEY_PREFIX + wallet.getId(),
-                    String.valueOf(CACHE_DURATION.toSeconds()),
-                    walletJson
-            ).replaceWithVoid();
+            request = guardedSet(wallet);
         } catch (Exception e) {
             return Uni.createFrom().failure(new RuntimeException("Failed to serialize wallet for cache", e));
         }
+
+        return redisDataSource.getRedis().send(request)
+                .invoke(response -> {
+                    if (response != null && response.toInteger() == 1) {
+                        nearCache.put(wallet);
+                    }
+                })
+                .replaceWithVoid();
+    }
+
+    /**
+     * Reads several wallets at once: near cache first, then a single MGET for the rest.
+     * Wallets that are not cached are absent from the result.
+     */
+    public Uni<Map<String, Wallet>> getWallets(Collection<String> walletIds) {
+        Map<String, Wallet> found = new HashMap<>();
+        List<String> remoteKeys = new ArrayList<>();
+        for (String walletId : walletIds) {
+            Wallet local = nearCache.get(walletId);
+            if (local != null) {
+                found.put(walletId, local);
+            } else {
+                remoteKeys.add(WALLET_KEY_PREFIX + walletId);
+            }
+        }
+        if (remoteKeys.isEmpty()) {
+            return Uni.createFrom().item(found);
+        }
+
+        return values.mget(remoteKeys.toArray(String[]::new))
+                .map(entries -> {
+                    for (byte[] data : entries.values()) {
+                        if (data == null) {
+                            continue;
+                        }
+                        try {
+                            Wallet wallet = decode(data);
+                            found.put(wallet.getId(), wallet);
+                            nearCache.put(wallet);
+                        } catch (Exception e) {
+                            throw new RuntimeException("Failed to deserialize wallet from cache", e);
+                        }
+                    }
+                    return found;
+                });
     }
 
+    /**
+     * Caches several wallets in one pipelined round trip. Each entry still goes through the
+     * revision guard, so a plain MSET is not used: it would let state read from a lagging
+     * replica replace newer state written by a command.
+     */
+    public Uni<Void> cacheWallets(List<Wallet> wallets) {
+        if (wallets.isEmpty()) {
+            return Uni.createFrom().voidItem();
+        }
+        List<Request> requests = new ArrayList<>(wallets.size());
+        try {
+            for (Wallet wallet : wallets) {
+                requests.add(guardedSet(wallet));
+            }
+        } catch (Exception e) {
+            return Uni.createFrom().failure(new RuntimeException("Failed to serialize wallet for cache", e));
+        }
+
+        return redisDataSource.getRedis().batch(requests)
+                .invoke(responses -> {
+                    for (int i = 0; i < responses.size(); i++) {
+                        Response response = responses.get(i);
+                        if (response != null && response.toInteger() == 1) {
+                            nearCache.put(wallets.get(i));
+                        }
+                    }
+                })
+                .replaceWithVoid();
+    }
+
+    /**
+     * Publishes the state of a wallet that was just mutated by a command.
+     * In write-through mode the new state is cached (guarded by its revision) and other
+     * pods are told to drop their near cache entry; otherwise the entry is invalidated.
+     *
+     * Must only be called once the command's database transaction has committed, and never
+     * fails: a write-through that fails falls back to invalidating the entry, and if Redis
+     * cannot be reached at all the entry is left to expire.
+     */
+    public Uni<Void> updateWallet(Wallet wallet) {
+        Uni<Void> update = writeThrough
+                ? cacheWallet(wallet).chain(() -> publishInvalidation(wallet.getId()))
+                : invalidateWallet(wallet.getId());
+
+        return update
+                .onFailure().recoverWithUni(failure -> {
+                    Log.warnf("Failed to update cached wallet %s (%s), invalidating it", wallet.getId(), failure.getMessage());
+                    return invalidateWallet(wallet.getId());
+                })
+                .onFailure().recoverWithUni(failure -> {
+                    Log.errorf("Failed to invalidate cached wallet %s (%s), it may be stale for up to %s",
+                            wallet.getId(), failure.getMessage(), CACHE_DURATION);
+                    return Uni.createFrom().voidItem();
+                });
+    }
+
+    /**
+     * {@link #updateWallet} for every wallet a command changed
+     */
+    public Uni<Void> updateWallets(Collection<Wallet> wallets) {
+        if (wallets.isEmpty()) {
+            return Uni.createFrom().voidItem();
+        }
+        return Uni.join().all(wallets.stream().map(this::updateWallet).toList())
+                .andCollectFailures()
+                .replaceWithVoid();
+    }
+
+    /**
+     * Drops the wallet from Redis and the local near cache, then notifies other pods
+     * so they drop their near cache entry as well.
+     *
+     * Redis goes first: a read between the two would otherwise put the old Redis entry
+     * back into the near cache.
+     */
     public Uni<Void> invalidateWallet(String walletId) {
         return redis.del(Collections.singletonList(WALLET_KEY_PREFIX + walletId))
+                .eventually(() -> nearCache.invalidate(walletId))
+                .chain(() -> publishInvalidation(walletId));
+    }
+
+    /**
+     * Wallet id of an invalidation message, or null if this pod published it. Messages without
+     * an instance id (pods running an older version) are a bare wallet id.
+     */
+    static String invalidatedWalletId(String message) {
+        int separator = message.indexOf(INVALIDATION_SEPARATOR);
+        if (separator < 0) {
+            return message;
+        }
+        return message.startsWith(INSTANCE_ID) && separator == INSTANCE_ID.length()
+                ? null
+                : message.substring(separator + 1);
+    }
+
+    private Uni<Void> publishInvalidation(String walletId) {
+        return redis.publish(INVALIDATION_CHANNEL, INSTANCE_ID + INVALIDATION_SEPARATOR + walletId)
                 .replaceWithVoid();
     }
 
@@ -62,4 +280,26 @@ public class WalletStateCache {
                 .map(response -> response != null)
                 .onFailure().recoverWithItem(false);
     }
-}
\ No newline at end of file
+
+    private Request guardedSet(Wallet wallet) {
+        return Request.cmd(Command.EVAL)
+                .arg(GUARDED_SET_SCRIPT)
+                .arg(2)
+                .arg(WALLET_KEY_PREFIX + wallet.getId())
+                .arg(REVISION_KEY_PREFIX + wallet.getId())
+                .arg(revisionOf(wallet))
+                .arg(Buffer.buffer(writeCodec.encode(wallet)))
+                .arg(CACHE_DURATION.toSeconds());
+    }
+
+    /**
+     * Monotonic per-wallet revision used by the compare-and-set guard (the row version)
+     */
+    private static long revisionOf(Wallet wallet) {
+        return wallet.getVersion() != null ? wallet.getVersion() : 0L;
+    }
+
+    private Wallet decode(byte[] data) {
+        return BinaryWalletCacheCodec.isBinary(data) ? binaryCodec.decode(data) : jsonCodec.decode(data);
+    }
+}
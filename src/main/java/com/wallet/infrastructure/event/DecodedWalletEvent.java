@@ -0,0 +1,21 @@
+package com.wallet.infrastructure.event;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import com.wallet.domain.event.WalletEventType;
+
+/**
+ * The fields of a wallet event the projections need, whichever encoding it was published in
+ *
+ * @param walletId the wallet the event is about; the source wallet of a transfer
+ */
+public record DecodedWalletEvent(
+    String eventId,
+    WalletEventType type,
+    String walletId,
+    String userId,
+    String destinationWalletId,
+    BigDecimal amount,
+    Instant occurredAt) {
+}
@@ -0,0 +1,136 @@
+package com.wallet.infrastructure.event;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+
+import org.apache.kafka.common.header.Headers;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallet.domain.event.WalletEventType;
+import com.wallet.infrastructure.outbox.AvroWalletEventEncoder;
+import com.wallet.infrastructure.outbox.OutboxEventHeaders;
+
+import io.confluent.kafka.serializers.KafkaAvroDeserializer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Reads wallet events published by the outbox, JSON or Avro as told by the content-type header.
+ *
+ * The event type and id come from the record headers, so a consumer can decide from
+ * {@link #peekType(Headers)} whether it needs the record at all before paying for the payload.
+ */
+@ApplicationScoped
+public class WalletEventDecoder {
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "kafka.schema.registry.url")
+    String registryUrl;
+
+    private KafkaAvroDeserializer avroDeserializer;
+
+    @PostConstruct
+    void init() {
+        avroDeserializer = new KafkaAvroDeserializer();
+        avroDeserializer.configure(Map.of(
+            "schema.registry.url", registryUrl,
+            "specific.avro.reader", true), false);
+    }
+
+    @PreDestroy
+    void close() {
+        avroDeserializer.close();
+    }
+
+    /**
+     * Event type named by the headers alone, null when the record has no or an unknown type
+     */
+    public WalletEventType peekType(Headers headers) {
+        String eventType = OutboxEventHeaders.get(headers, OutboxEventHeaders.EVENT_TYPE);
+        if (eventType == null) {
+            return null;
+        }
+        try {
+            return WalletEventType.valueOf(OutboxEventHeaders.eventTypeConstant(eventType));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param producedAt record timestamp, used when the payload carries none
+     * @throws IllegalArgumentException if the payload cannot be read
+     */
+    public DecodedWalletEvent decode(String topic, WalletEventType type, Headers headers, byte[] value, Instant producedAt) {
+        String eventId = OutboxEventHeaders.get(headers, OutboxEventHeaders.EVENT_ID);
+        String contentType = OutboxEventHeaders.get(headers, OutboxEventHeaders.CONTENT_TYPE);
+
+        if (OutboxEventHeaders.AVRO.equals(contentType)) {
+            com.wallet.event.WalletEvent event;
+            try {
+                event = (com.wallet.event.WalletEvent) avroDeserializer.deserialize(topic, value);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Unreadable Avro wallet event payload", e);
+            }
+            return new DecodedWalletEvent(
+                eventId != null ? eventId : event.getEventId(),
+                type,
+                event.getWalletId(),
+                event.getUserId(),
+                event.getDestinationWalletId(),
+                exactAmount(event),
+                event.getTimestamp() != null ? event.getTimestamp() : producedAt);
+        }
+
+        if (eventId == null) {
+            throw new IllegalArgumentException("Wallet event without " + OutboxEventHeaders.EVENT_ID + " header");
+        }
+        JsonNode payload = readJson(value);
+        return new DecodedWalletEvent(
+            eventId,
+            type,
+            text(payload, "walletId", text(payload, "sourceWalletId", null)),
+            text(payload, "userId", null),
+            text(payload, "destinationWalletId", null),
+            payload.hasNonNull("amount") ? payload.get("amount").decimalValue() : null,
+            producedAt);
+    }
+
+    /**
+     * The Avro amount is rounded to cents; a sub-cent amount is kept exact in the metadata
+     */
+    private static BigDecimal exactAmount(com.wallet.event.WalletEvent event) {
+        Map<String, String> metadata = event.getMetadata();
+        String exact = metadata != null ? metadata.get(AvroWalletEventEncoder.EXACT_AMOUNT) : null;
+        if (exact == null) {
+            return event.getAmount();
+        }
+        try {
+            return new BigDecimal(exact);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Unreadable exact amount in Avro wallet event: " + exact, e);
+        }
+    }
+
+    private JsonNode readJson(byte[] value) {
+        try {
+            return objectMapper.readTree(value);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unreadable wallet event payload", new UncheckedIOException(e));
+        }
+    }
+
+    private static String text(JsonNode payload, String field, String fallback) {
+        JsonNode value = payload.get(field);
+        return value != null && !value.isNull() ? value.asText() : fallback;
+    }
+}
@@ -1,88 +1,201 @@
 package com.wallet.infrastructure.event;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
-import com.wallet.domain.event.WalletEvent;
-import com.wallet.domain.model.Wallet;
-import com.wallet.infrastructure.cache.WalletStateCache;
-import com.wallet.infrastructure.persistence.WalletRepository;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.eclipse.microprofile.reactive.messaging.Incoming;
 
-import io.quarkus.reactive.datasource.ReactiveDataSource;
+import com.wallet.domain.event.WalletEventType;
+import com.wallet.domain.model.WalletProjection;
+import com.wallet.domain.model.WalletStatus;
+import com.wallet.infrastructure.cache.WalletProjectionStore;
+import com.wallet.infrastructure.metrics.WalletMetrics;
+import com.wallet.infrastructure.persistence.WalletProjectionDelta;
+import com.wallet.infrastructure.persistence.WalletProjectionRepository;
+import com.wallet.infrastructure.resilience.ContentionRetry;
+
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.quarkus.hibernate.reactive.panache.common.WithSession;
+import io.quarkus.logging.Log;
+import io.quarkus.scheduler.Scheduled;
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
+/**
+ * Projects the wallet-events topic into the wallet_projections read table and Redis.
+ *
+ * Records arrive in per-partition batches, and the channel runs one consumer per partition so
+ * batches of different partitions are applied in parallel. Events are keyed by the wallet that
+ * emitted them, except that a transfer is keyed by its source wallet only: the credit to the
+ * destination arrives from the source's partition. A projection row can therefore be updated
+ * by several partition consumers at once, and its events are not applied in order. That is
+ * fine for what is projected (a balance is a sum of deltas, lastEventAt a maximum), but the
+ * concurrent upserts can deadlock, which is why a batch runs under {@link ContentionRetry}.
+ *
+ * A batch is applied in one transaction: event ids already in wallet_projection_events are
+ * dropped as redeliveries, the rest are recorded there and folded into one balance delta per
+ * wallet, written with a single upsert in wallet id order. The resulting rows are then pushed
+ * to Redis with one MSET, from where {@link WalletProjectionStore} serves the wallet queries.
+ * Offsets are only committed once the batch is applied, so a crash replays the batch and the
+ * event ids make the replay a no-op.
+ *
+ * A batch that cannot be applied is never skipped, since the projection would silently drift
+ * from the ledger: the channel fails (failure-strategy=fail), which takes the pod's health check
+ * down, and the batch is redelivered from the last committed offset once it restarts.
+ */
 @ApplicationScoped
 public class WalletEventHandler {
 
+    private static final String OPERATION = "WalletProjection";
+
+    private static final Set<WalletEventType> PROJECTED_TYPES = Set.of(
+        WalletEventType.WALLET_CREATED,
+        WalletEventType.FUNDS_DEPOSITED,
+        WalletEventType.FUNDS_WITHDRAWN,
+        WalletEventType.FUNDS_TRANSFERRED);
+
+    @Inject
+    WalletProjectionRepository projectionRepository;
+
     @Inject
-    @ReactiveDataSource("write")
-    WalletRepository walletRepository;
+    WalletEventDecoder decoder;
 
     @Inject
-    WalletStateCache walletCache;
-
-    // @Incoming("wallet-events") // Disabled for now - focusing on command side
-    public Uni<Void> handleEvent(WalletEvent event) {
-        switch (event.getEventType()) {
-            case WALLET_CREATED:
-                return handleWalletCreated(event);
-            case FUNDS_DEPOSITED:
-                return handleFundsDeposited(event);
-            case FUNDS_WITHDRAWN:
-                return handleFundsWithdrawn(event);
-            case FUNDS_TRANSFERRED:
-                return handleFundsTransferred(event);
-            default:
-                return Uni.createFrom().voidItem();
+    WalletProjectionStore projectionStore;
+
+    @Inject
+    WalletMetrics metrics;
+
+    @Inject
+    ContentionRetry contentionRetry;
+
+    /**
+     * How long applied event ids are remembered; must exceed how far back the consumer can rewind
+     */
+    @ConfigProperty(name = "wallet.projection.dedup-retention", defaultValue = "P7D")
+    Duration dedupRetention;
+
+    @Incoming("wallet-projections")
+    public Uni<Void> project(List<ConsumerRecord<String, byte[]>> records) {
+        List<DecodedWalletEvent> events = new ArrayList<>(records.size());
+        long newestTimestamp = 0;
+        int unreadable = 0;
+        for (ConsumerRecord<String, byte[]> record : records) {
+            // The headers tell the type, so other events are skipped without reading the payload
+            WalletEventType type = decoder.peekType(record.headers());
+            if (type == null || !PROJECTED_TYPES.contains(type)) {
+                continue;
+            }
+            Instant producedAt = Instant.ofEpochMilli(record.timestamp());
+            try {
+                events.add(decoder.decode(record.topic(), type, record.headers(), record.value(), producedAt));
+            } catch (RuntimeException e) {
+                // A record that cannot be read now never will be; it must not stop the partition
+                unreadable++;
+                Log.errorf("Skipping unreadable wallet event at %s-%d@%d: %s",
+                    record.topic(), record.partition(), record.offset(), e.getMessage());
+                continue;
+            }
+            newestTimestamp = Math.max(newestTimestamp, record.timestamp());
+        }
+        metrics.recordProjectedEvents("unreadable", unreadable);
+        metrics.recordProjectedEvents("skipped", records.size() - events.size() - unreadable);
+        if (events.isEmpty()) {
+            return Uni.createFrom().voidItem();
         }
+
+        long producedAt = newestTimestamp;
+        // Deadlocks with other partition consumers are retried with jittered backoff. Anything else
+        // (the database being unreachable, say) fails the batch: the channel then stops without
+        // committing its offsets and the batch is redelivered, which the applied event ids make safe
+        return contentionRetry.execute(OPERATION, "projection", () -> Panache.withTransaction(() -> apply(events)))
+            .onFailure().invoke(failure -> {
+                metrics.recordProjectedEvents("failed", events.size());
+                ConsumerRecord<String, byte[]> first = records.get(0);
+                ConsumerRecord<String, byte[]> last = records.get(records.size() - 1);
+                Log.errorf("Failed to project wallet events %s-%d@%d..%d: %s", first.topic(), first.partition(),
+                    first.offset(), last.offset(), failure.getMessage());
+            })
+            .call(projectionStore::cacheProjections)
+            .invoke(() -> metrics.recordProjectionLag(System.currentTimeMillis() - producedAt))
+            .replaceWithVoid();
     }
 
-    private Uni<Void> handleWalletCreated(WalletEvent event) {
-        Wallet wallet = new Wallet();
-        wallet.setId(event.getWalletId());
-        wallet.setUserId(event.getUserId());
-        wallet.setBalance(BigDecimal.ZERO);
+    /**
+     * Applies the events not seen before and returns the projections they changed
+     */
+    private Uni<List<WalletProjection>> apply(List<DecodedWalletEvent> events) {
+        Set<String> eventIds = new HashSet<>();
+        for (DecodedWalletEvent event : events) {
+            eventIds.add(event.eventId());
+        }
+
+        return projectionRepository.findAppliedEventIds(eventIds).chain(applied -> {
+            List<String> newEventIds = new ArrayList<>();
+            // Sorted by wallet id so concurrent batches lock projection rows in the same order
+            Map<String, WalletProjectionDelta> deltas = new TreeMap<>();
+            for (DecodedWalletEvent event : events) {
+                // A redelivered event can also appear twice within one batch
+                if (applied.add(event.eventId())) {
+                    newEventIds.add(event.eventId());
+                    addDeltas(deltas, event);
+                }
+            }
+            metrics.recordProjectedEvents("duplicate", events.size() - newEventIds.size());
+            if (newEventIds.isEmpty()) {
+                return Uni.createFrom().item(List.<WalletProjection>of());
+            }
 
-        
-        return walletRepository.persist(wallet)
-                .call(() -> walletCache.cacheWallet(wallet))
-                .replaceWithVoid();
+            Instant now = Instant.now();
+            List<WalletProjectionDelta> sortedDeltas = new ArrayList<>(deltas.values());
+            return projectionRepository.markApplied(newEventIds, now)
+                .chain(() -> projectionRepository.applyDeltas(sortedDeltas, now))
+                .chain(() -> projectionRepository.findByIds(deltas.keySet()))
+                .invoke(() -> metrics.recordProjectedEvents("applied", newEventIds.size()));
+        });
     }
 
-    private Uni<Void> handleFundsDeposited(WalletEvent event) {
-        return walletRepository.findById(event.getWalletId())
-                .onItem().ifNotNull().transformToUni(wallet -> {
-                    wallet.setBalance(wallet.getBalance().add(event.getAmount()));
-                    return walletRepository.persist(wallet)
-                            .call(() -> walletCache.cacheWallet(wallet));
-                })
-                .replaceWithVoid();
+    private static void addDeltas(Map<String, WalletProjectionDelta> deltas, DecodedWalletEvent event) {
+        BigDecimal amount = event.amount() != null ? event.amount() : BigDecimal.ZERO;
+        switch (event.type()) {
+            case WALLET_CREATED -> add(deltas, new WalletProjectionDelta(event.walletId(), event.userId(),
+                WalletStatus.ACTIVE.name(), event.occurredAt(), BigDecimal.ZERO, 1, event.occurredAt()));
+            case FUNDS_DEPOSITED -> add(deltas, balanceDelta(event.walletId(), amount, event.occurredAt()));
+            case FUNDS_WITHDRAWN -> add(deltas, balanceDelta(event.walletId(), amount.negate(), event.occurredAt()));
+            case FUNDS_TRANSFERRED -> {
+                add(deltas, balanceDelta(event.walletId(), amount.negate(), event.occurredAt()));
+                add(deltas, balanceDelta(event.destinationWalletId(), amount, event.occurredAt()));
+            }
+            default -> {
+            }
+        }
+    }
+
+    private static WalletProjectionDelta balanceDelta(String walletId, BigDecimal amount, Instant occurredAt) {
+        return new WalletProjectionDelta(walletId, null, null, null, amount, 1, occurredAt);
     }
 
-    private Uni<Void> handleFundsWithdrawn(WalletEvent event) {
-        return walletRepository.findById(event.getWalletId())
-                .onItem().ifNotNull().transformToUni(wallet -> {
-                    wallet.setBalance(wallet.getBalance().subtract(event.getAmount()));
-                    return walletRepository.persist(wallet)
-                            .call(() -> walletCache.cacheWallet(wallet));
-                })
-                .replaceWithVoid();
+    private static void add(Map<String, WalletProjectionDelta> deltas, WalletProjectionDelta delta) {
+        if (delta.walletId() == null) {
+            return;
+        }
+        deltas.merge(delta.walletId(), delta, WalletProjectionDelta::merge);
     }
 
-    private Uni<Void> handleFundsTransferred(WalletEvent event) {
-        return walletRepository.findById(event.getWalletId())
-                .onItem().ifNotNull().transformToUni(sourceWallet -> {
-                    sourceWallet.setBalance(sourceWallet.getBalance().subtract(event.getAmount()));
-                    return walletRepository.persist(sourceWallet)
-                            .call(() -> walletCache.cacheWallet(sourceWallet))
-                            .chain(() -> walletRepository.findById(event.getDestinationWalletId()))
-                            .onItem().ifNotNull().transformToUni(destWallet -> {
-                                destWallet.setBalance(destWallet.getBalance().add(event.getAmount()));
-                                return walletRepository.persist(destWallet)
-                                        .call(() -> walletCache.cacheWallet(destWallet));
-                            });
-                })
-                .replaceWithVoid();
+    @Scheduled(every = "${wallet.projection.prune-interval:1h}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    @WithSession
+    public Uni<Integer> pruneAppliedEvents() {
+        return Panache.withTransaction(() -> projectionRepository.pruneAppliedEvents(Instant.now().minus(dedupRetention)))
+            .onFailure().invoke(failure -> Log.warnf("Pruning applied projection events failed: %s", failure.getMessage()));
     }
-}
\ No newline at end of file
+}
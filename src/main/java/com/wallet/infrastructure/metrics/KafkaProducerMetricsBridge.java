@@ -0,0 +1,63 @@
+package com.wallet.infrastructure.metrics;
+
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.reactive.messaging.kafka.KafkaClientService;
+import io.smallrye.reactive.messaging.kafka.KafkaProducer;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+
+import java.util.Map;
+
+/**
+ * Exposes the Kafka producer client metrics needed to tune the wallet-events producer
+ * (send rate, batch fill, compression, latency) as wallet_kafka_producer_* gauges.
+ *
+ * The values are read from the producer's own metrics registry at scrape time, so they reflect
+ * whichever producer profile is active.
+ */
+@ApplicationScoped
+public class KafkaProducerMetricsBridge {
+
+    static final String CHANNEL = "wallet-events";
+
+    // Client metric name (producer-metrics group) and description
+    private static final Map<String, String> PRODUCER_METRICS = Map.of(
+            "record-send-rate", "Records sent per second",
+            "batch-size-avg", "Average bytes per partition batch",
+            "records-per-request-avg", "Average records per produce request",
+            "compression-rate-avg", "Average compressed to uncompressed batch size ratio",
+            "request-latency-avg", "Average produce request latency in ms",
+            "request-latency-max", "Maximum produce request latency in ms",
+            "record-queue-time-avg", "Average ms a record waits in the accumulator before sending",
+            "buffer-available-bytes", "Unused bytes of the producer buffer");
+
+    @Inject
+    KafkaClientService kafkaClientService;
+
+    @Inject
+    WalletMetrics metrics;
+
+    void onStart(@Observes StartupEvent event) {
+        PRODUCER_METRICS.forEach((metric, description) ->
+                metrics.registerKafkaProducerMetric(CHANNEL, metric, description, () -> read(metric)));
+    }
+
+    private double read(String metric) {
+        KafkaProducer<?, ?> producer = kafkaClientService.getProducer(CHANNEL);
+        if (producer == null) {
+            return Double.NaN;
+        }
+        Map<MetricName, ? extends Metric> clientMetrics = producer.unwrap().metrics();
+        for (Map.Entry<MetricName, ? extends Metric> entry : clientMetrics.entrySet()) {
+            MetricName name = entry.getKey();
+            if ("producer-metrics".equals(name.group()) && metric.equals(name.name())) {
+                Object value = entry.getValue().metricValue();
+                return value instanceof Number number ? number.doubleValue() : Double.NaN;
+            }
+        }
+        return Double.NaN;
+    }
+}
@@ -1,6 +1,7 @@
 package com.wallet.infrastructure.metrics;
 
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
@@ -8,13 +9,22 @@ import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 
 import java.math.BigDecimal;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 @ApplicationScoped
 public class WalletMetrics {
 
+    private static final int MAX_CONTENDED_WALLET_TAGS = 200;
+
     private final MeterRegistry meterRegistry;
     
+    // Wallets that already have their own contention series
+    private final Set<String> contendedWallets = ConcurrentHashMap.newKeySet();
+    
     // Counters for business operations
     private final Counter walletsCreatedCounter;
     private final Counter depositsCounter;
@@ -33,6 +43,10 @@ public class WalletMetrics {
     private final Counter queriesDispatchedCounter;
     private final Counter busErrorsCounter;
     
+    // Near (in-process) cache metrics
+    private final Counter nearCacheHitsCounter;
+    private final Counter nearCacheMissesCounter;
+    
     // Money amount counters
     private final Counter moneyDepositedCounter;
     private final Counter moneyWithdrawnCounter;
@@ -47,10 +61,12 @@ public class WalletMetrics {
     private final Timer outboxPublishingTimer;
     private final Timer commandDispatchTimer;
     private final Timer queryDispatchTimer;
+    private final Timer commandQueueWaitTimer;
     
     // Gauges for current state
     private final AtomicLong totalWallets = new AtomicLong(0);
     private final AtomicLong totalTransactions = new AtomicLong(0);
+    private final AtomicLong projectionLagMillis = new AtomicLong(0);
     
     @Inject
     public WalletMetrics(MeterRegistry meterRegistry) {
@@ -108,6 +124,15 @@ public class WalletMetrics {
                 .description("Total number of CQRS bus errors")
                 .register(meterRegistry);
         
+        // Initialize near cache metrics
+        this.nearCacheHitsCounter = Counter.builder("wallet_cache_near_hits_total")
+                .description("Wallet reads served from the in-process near cache")
+                .register(meterRegistry);
+                
+        this.nearCacheMissesCounter = Counter.builder("wallet_cache_near_misses_total")
+                .description("Wallet reads that missed the in-process near cache")
+                .register(meterRegistry);
+        
         // Initialize money amount counters
         this.moneyDepositedCounter = Counter.builder("wallet_money_deposited_total")
                 .description("Total amount of money deposited")
@@ -153,6 +178,11 @@ public class WalletMetrics {
         this.queryDispatchTimer = Timer.builder("wallet_cqrs_query_dispatch_duration_seconds")
                 .description("Time taken to dispatch queries")
                 .register(meterRegistry);
+                
+        this.commandQueueWaitTimer = Timer.builder("wallet_cqrs_command_queue_wait_seconds")
+                .description("Time commands wait in their per-wallet stripe queue before running")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
         
         // Initialize gauges
         Gauge.builder("wallet.total.count", this, WalletMetrics::getTotalWallets)
@@ -162,6 +192,10 @@ public class WalletMetrics {
         Gauge.builder("wallet.transactions.total", this, WalletMetrics::getTotalTransactions)
                 .description("Current total number of transactions")
                 .register(meterRegistry);
+
+        Gauge.builder("wallet_projection_lag_seconds", projectionLagMillis, lag -> lag.get() / 1000.0)
+                .description("Age of the newest event in the last batch applied to the wallet projections")
+                .register(meterRegistry);
     }
     
     // Counter methods
@@ -259,6 +293,68 @@ public class WalletMetrics {
         sample.stop(outboxPublishingTimer);
     }
     
+    /**
+     * Record a drain pass skipped because the Kafka channel was not requesting records
+     */
+    public void recordOutboxBackPressure() {
+        Counter.builder("wallet_outbox_backpressure_waits_total")
+                .description("Outbox drain passes deferred by Kafka producer back-pressure")
+                .register(meterRegistry)
+                .increment();
+    }
+    
+    public Timer.Sample startOutboxBatchTimer() {
+        return Timer.start(meterRegistry);
+    }
+    
+    /**
+     * Record one outbox batch: from the first send until the whole batch is acked and marked processed
+     */
+    public void recordOutboxBatch(int size, Timer.Sample sample) {
+        sample.stop(Timer.builder("wallet_outbox_batch_duration_seconds")
+                .description("Time to publish an outbox batch and mark it processed")
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        DistributionSummary.builder("wallet_outbox_batch_size")
+                .description("Outbox events published per batch")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(size);
+    }
+    
+    /**
+     * Record processed outbox events moved out of the live table by one archiver run
+     */
+    public void recordOutboxEventsArchived(int events) {
+        Counter.builder("wallet_outbox_events_archived_total")
+                .description("Processed outbox events archived or purged from outbox_events")
+                .register(meterRegistry)
+                .increment(events);
+    }
+    
+    /**
+     * Record the delay between an event being produced and being applied to the projections
+     */
+    public void recordProjectionLag(long lagMillis) {
+        Timer.builder("wallet_projection_event_delay_seconds")
+                .description("Time from producing a wallet event to applying it to the projections")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(lagMillis, TimeUnit.MILLISECONDS);
+        projectionLagMillis.set(lagMillis);
+    }
+    
+    /**
+     * Count consumed wallet events by outcome: applied, duplicate, skipped, unreadable or failed
+     */
+    public void recordProjectedEvents(String outcome, int events) {
+        Counter.builder("wallet_projection_events_total")
+                .description("Wallet events consumed by the projector")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment(events);
+    }
+    
     // CQRS Bus metrics
     public void recordCommandDispatched() {
         commandsDispatchedCounter.increment();
@@ -288,6 +384,145 @@ public class WalletMetrics {
         sample.stop(queryDispatchTimer);
     }
     
+    /**
+     * Record a command dispatch timed by the caller; avoids a Timer.Sample per dispatch
+     */
+    public void recordCommandDispatch(long durationNanos) {
+        commandDispatchTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    public void recordQueryDispatch(long durationNanos) {
+        queryDispatchTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    /**
+     * Register a gauge over the per-wallet command queues (aggregate: total or max_stripe)
+     */
+    public void registerCommandQueueDepth(String aggregate, Supplier<Number> depth) {
+        Gauge.builder("wallet_cqrs_command_queue_depth", depth)
+                .description("Commands waiting in the per-wallet stripe queues")
+                .tag("aggregate", aggregate)
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Register a gauge over one Kafka producer client metric of a channel, e.g. record-send-rate
+     * becomes wallet_kafka_producer_record_send_rate{channel=...}
+     */
+    public void registerKafkaProducerMetric(String channel, String metric, String description, Supplier<Number> value) {
+        Gauge.builder("wallet_kafka_producer_" + metric.replace('-', '_'), value)
+                .description(description)
+                .tag("channel", channel)
+                .register(meterRegistry);
+    }
+    
+    public void recordCommandQueueWait(long waitNanos) {
+        commandQueueWaitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    /**
+     * Count one item of a bulk command by result status (OK, INSUFFICIENT_FUNDS, ABORTED, ...)
+     */
+    public void recordBulkItem(String status) {
+        Counter.builder("wallet_bulk_items_total")
+                .description("Items of bulk commands by result status")
+                .tag("status", status)
+                .register(meterRegistry)
+                .increment();
+    }
+    
+    /**
+     * Register gauges over the adaptive concurrency limit of one command type
+     */
+    public void registerConcurrencyLimit(String command, Supplier<Number> limit, Supplier<Number> inFlight) {
+        Gauge.builder("wallet_bus_concurrency_limit", limit)
+                .description("Current adaptive concurrency limit of a command type")
+                .tag("command", command)
+                .register(meterRegistry);
+        Gauge.builder("wallet_bus_concurrency_in_flight", inFlight)
+                .description("Commands of a type currently running under the concurrency limit")
+                .tag("command", command)
+                .register(meterRegistry);
+    }
+    
+    /**
+     * Commands with a reference id by how the idempotency layer handled them:
+     * replayed, in_progress, reused, backstop or unavailable
+     */
+    public void recordIdempotency(String command, String outcome) {
+        Counter.builder("wallet_idempotency_total")
+                .description("Commands answered or let through by the idempotency layer")
+                .tag("command", command)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+    
+    public void recordConcurrencyLimitRejected(String command) {
+        Counter.builder("wallet_bus_concurrency_rejected_total")
+                .description("Commands rejected because their type was at its concurrency limit")
+                .tag("command", command)
+                .register(meterRegistry)
+                .increment();
+    }
+    
+    public void recordCommandQueueRejected() {
+        Counter.builder("wallet_cqrs_command_queue_rejected_total")
+                .description("Commands rejected because their stripe queue was full")
+                .register(meterRegistry)
+                .increment();
+    }
+    
+    // Near cache metrics
+    public void recordNearCacheHit() {
+        nearCacheHitsCounter.increment();
+    }
+    
+    public void recordNearCacheMiss() {
+        nearCacheMissesCounter.increment();
+    }
+    
+    /**
+     * Record near cache evictions by cause (size, expired)
+     */
+    public void recordNearCacheEviction(String cause) {
+        Counter.builder("wallet_cache_near_evictions_total")
+                .description("Entries evicted from the in-process near cache")
+                .tag("cause", cause)
+                .register(meterRegistry)
+                .increment();
+    }
+    
+    /**
+     * Record how many deposits were merged into one coalesced write
+     */
+    public void recordDepositBatchSize(int size) {
+        DistributionSummary.builder("wallet_deposit_batch_size")
+                .description("Deposits merged into a single coalesced balance update")
+                .register(meterRegistry)
+                .record(size);
+    }
+    
+    /**
+     * Record how many transactions a historical balance query summed after its snapshot
+     */
+    public void recordHistoricalReplayLength(int transactions) {
+        DistributionSummary.builder("wallet_historical_balance_replayed_transactions")
+                .description("Transactions summed on top of the nearest balance snapshot")
+                .register(meterRegistry)
+                .record(transactions);
+    }
+    
+    /**
+     * Record balance snapshots written by the snapshot job
+     */
+    public void recordBalanceSnapshotsWritten(int snapshots) {
+        Counter.builder("wallet_balance_snapshots_written_total")
+                .description("Balance checkpoints written for historical balance queries")
+                .register(meterRegistry)
+                .increment(snapshots);
+    }
+    
     // Amount tracking
     public void recordDepositAmount(BigDecimal amount) {
         moneyDepositedCounter.increment(amount.doubleValue());
@@ -514,7 +749,9 @@ public class WalletMetrics {
     }
 
     /**
-     * Record optimistic lock contention metrics
+     * Record optimistic lock contention metrics, by operation and by wallet.
+     * Only the first MAX_CONTENDED_WALLET_TAGS wallets get their own series (contention is
+     * concentrated on a few hot wallets); the rest are counted under wallet_id=other.
      */
     public void recordOptimisticLockContention(String operation, String walletId) {
         Counter.builder("wallet.optimistic_lock.contentions")
@@ -522,6 +759,26 @@ public class WalletMetrics {
                 .tag("operation", operation)
                 .register(meterRegistry)
                 .increment();
+
+        Counter.builder("wallet.optimistic_lock.contentions.by_wallet")
+                .description("Optimistic lock contentions by wallet")
+                .tag("wallet_id", contendedWalletTag(walletId))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private String contendedWalletTag(String walletId) {
+        if (walletId == null) {
+            return "other";
+        }
+        if (contendedWallets.contains(walletId)) {
+            return walletId;
+        }
+        if (contendedWallets.size() < MAX_CONTENDED_WALLET_TAGS) {
+            contendedWallets.add(walletId);
+            return walletId;
+        }
+        return "other";
     }
 
     /**
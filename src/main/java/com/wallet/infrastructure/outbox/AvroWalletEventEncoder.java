@@ -0,0 +1,152 @@
+package com.wallet.infrastructure.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallet.event.WalletEvent;
+import com.wallet.event.WalletEventType;
+import io.confluent.kafka.serializers.KafkaAvroSerializer;
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Encodes outbox event payloads as WalletEvent Avro records (kafka/schemas/WalletEvent.avsc)
+ * in the schema registry wire format, so the publisher sends the stored bytes unchanged.
+ *
+ * The payload objects handed to the outbox are mapped onto the schema by field name; fields
+ * the schema has no slot for (referenceId, description, ...) go into its metadata map.
+ * A registry URL of the form mock://scope uses an in-memory registry, for tests and local runs.
+ */
+@ApplicationScoped
+public class AvroWalletEventEncoder {
+
+    // The schema declares decimal(20, 2)
+    private static final int AMOUNT_SCALE = 2;
+
+    /**
+     * Metadata key holding the exact amount when it does not fit the schema's two decimals
+     */
+    public static final String EXACT_AMOUNT = "amount";
+
+    private static final Set<String> MAPPED_FIELDS = Set.of(
+            "eventId", "eventType", "walletId", "sourceWalletId", "userId", "amount", "currency",
+            "destinationWalletId", "transactionId", "timestamp", "version", "aggregateId");
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @ConfigProperty(name = "kafka.schema.registry.url")
+    String registryUrl;
+
+    @ConfigProperty(name = "mp.messaging.outgoing.wallet-events.topic", defaultValue = "wallet-events")
+    String topic;
+
+    @ConfigProperty(name = "wallet.outbox.encoding", defaultValue = "json")
+    String encoding;
+
+    private KafkaAvroSerializer serializer;
+
+    public AvroWalletEventEncoder() {
+    }
+
+    /**
+     * Standalone encoder, for use outside CDI such as benchmarks
+     */
+    public AvroWalletEventEncoder(ObjectMapper objectMapper, String registryUrl, String topic) {
+        this.objectMapper = objectMapper;
+        this.registryUrl = registryUrl;
+        this.topic = topic;
+        init();
+    }
+
+    @PostConstruct
+    void init() {
+        serializer = new KafkaAvroSerializer();
+        serializer.configure(Map.of(
+                "schema.registry.url", registryUrl,
+                "auto.register.schemas", true), false);
+    }
+
+    @PreDestroy
+    void close() {
+        serializer.close();
+    }
+
+    /**
+     * Registers or looks up the schema at startup, so the blocking registry call does not
+     * happen on the event loop inside the first command's transaction
+     */
+    void onStart(@Observes StartupEvent event) {
+        if (!"avro".equalsIgnoreCase(encoding)) {
+            return;
+        }
+        try {
+            String walletId = UUID.randomUUID().toString();
+            encode(new OutboxEvent("Wallet", walletId, "WalletCreated", null), Map.of("walletId", walletId));
+        } catch (RuntimeException e) {
+            Log.warnf("Could not register the WalletEvent schema at startup: %s", e.getMessage());
+        }
+    }
+
+    public byte[] encode(OutboxEvent event, Object payload) {
+        return serializer.serialize(topic, toRecord(event, objectMapper.valueToTree(payload)));
+    }
+
+    WalletEvent toRecord(OutboxEvent event, JsonNode payload) {
+        Map<String, String> metadata = new HashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = payload.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (!MAPPED_FIELDS.contains(field.getKey()) && field.getValue().isValueNode() && !field.getValue().isNull()) {
+                metadata.put(field.getKey(), field.getValue().asText());
+            }
+        }
+
+        BigDecimal amount = null;
+        if (payload.hasNonNull("amount")) {
+            BigDecimal exact = payload.get("amount").decimalValue();
+            amount = exact.setScale(AMOUNT_SCALE, RoundingMode.HALF_EVEN);
+            if (amount.compareTo(exact) != 0) {
+                // Keep sub-cent amounts exact for consumers that need them
+                metadata.put(EXACT_AMOUNT, exact.toPlainString());
+            }
+        }
+
+        return WalletEvent.newBuilder()
+                .setEventId(event.id)
+                .setEventType(eventType(event.eventType))
+                .setWalletId(text(payload, "walletId", text(payload, "sourceWalletId", event.aggregateId)))
+                .setUserId(text(payload, "userId", null))
+                .setAmount(amount)
+                .setCurrency(text(payload, "currency", null))
+                .setDestinationWalletId(text(payload, "destinationWalletId", null))
+                .setTransactionId(text(payload, "transactionId", null))
+                .setMetadata(metadata.isEmpty() ? null : metadata)
+                .setTimestamp(event.createdAt != null ? event.createdAt : Instant.now())
+                .setVersion(event.version != null ? event.version : 1)
+                .build();
+    }
+
+    static WalletEventType eventType(String outboxEventType) {
+        return WalletEventType.valueOf(OutboxEventHeaders.eventTypeConstant(outboxEventType));
+    }
+
+    private static String text(JsonNode payload, String field, String fallback) {
+        JsonNode value = payload.get(field);
+        return value != null && !value.isNull() ? value.asText() : fallback;
+    }
+}
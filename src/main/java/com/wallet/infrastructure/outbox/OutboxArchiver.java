@@ -0,0 +1,74 @@
+package com.wallet.infrastructure.outbox;
+
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.quarkus.hibernate.reactive.panache.common.WithSession;
+import io.quarkus.logging.Log;
+import io.quarkus.scheduler.Scheduled;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import com.wallet.infrastructure.metrics.WalletMetrics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps outbox_events small so the publisher's polling queries stay cheap.
+ *
+ * Events processed longer ago than the retention window are moved to outbox_events_archive,
+ * or just deleted when keep-copy is off, in chunks of chunk-size rows. Each chunk is its own
+ * short transaction so the purge never holds many row locks or a long undo log, and a run stops
+ * after max-chunks to leave the rest of a large backlog to the next one.
+ */
+@ApplicationScoped
+public class OutboxArchiver {
+
+    @Inject
+    OutboxEventRepository outboxRepository;
+
+    @Inject
+    WalletMetrics metrics;
+
+    @ConfigProperty(name = "wallet.outbox.archive.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "wallet.outbox.archive.retention", defaultValue = "PT24H")
+    Duration retention;
+
+    @ConfigProperty(name = "wallet.outbox.archive.keep-copy", defaultValue = "true")
+    boolean keepCopy;
+
+    @ConfigProperty(name = "wallet.outbox.archive.chunk-size", defaultValue = "1000")
+    int chunkSize;
+
+    @ConfigProperty(name = "wallet.outbox.archive.max-chunks", defaultValue = "50")
+    int maxChunks;
+
+    @Scheduled(every = "${wallet.outbox.archive.interval:1m}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    @WithSession
+    public Uni<Integer> archiveProcessedEvents() {
+        if (!enabled) {
+            return Uni.createFrom().item(0);
+        }
+        Instant processedBefore = Instant.now().minus(retention);
+        AtomicInteger chunks = new AtomicInteger();
+
+        return Multi.createBy().repeating()
+                .uni(() -> Panache.withTransaction(
+                        () -> outboxRepository.archiveProcessed(processedBefore, chunkSize, keepCopy)))
+                // A short chunk means the backlog is cleared
+                .whilst(archived -> archived == chunkSize && chunks.incrementAndGet() < maxChunks)
+                .collect().with(Collectors.summingInt(Integer::intValue))
+                .invoke(archived -> {
+                    if (archived > 0) {
+                        Log.debugf("Archived %d outbox events processed before %s", archived, processedBefore);
+                    }
+                    metrics.recordOutboxEventsArchived(archived);
+                })
+                .onFailure().invoke(failure -> Log.warnf("Outbox archiving failed: %s", failure.getMessage()));
+    }
+}
@@ -2,8 +2,10 @@ package com.wallet.infrastructure.outbox;
 
 import io.quarkus.hibernate.reactive.panache.PanacheEntityBase;
 import jakarta.persistence.*;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.UUID;
+import java.util.zip.CRC32;
 
 /**
  * Outbox Event entity for implementing the Transactional Outbox Pattern.
@@ -11,7 +13,14 @@ import java.util.UUID;
  * database transaction as business data.
  */
 @Entity
-@Table(name = "outbox_events")
+@Table(name = "outbox_events", indexes = {
+    // Unprocessed rows (processed_at NULL) sort first, already in created_at order;
+    // the archiver range-scans the processed end of the same index
+    @Index(name = "idx_outbox_unprocessed", columnList = "processed_at, created_at"),
+    @Index(name = "idx_outbox_partition_unprocessed", columnList = "partition_id, processed_at, created_at"),
+    @Index(name = "idx_outbox_aggregate", columnList = "aggregate_id, created_at"),
+    @Index(name = "idx_outbox_type", columnList = "event_type, created_at")
+})
 public class OutboxEvent extends PanacheEntityBase {
 
     @Id
@@ -27,9 +36,17 @@ public class OutboxEvent extends PanacheEntityBase {
     @Column(name = "event_type", nullable = false, length = 100)
     public String eventType;
 
-    @Column(name = "event_data", nullable = false, columnDefinition = "TEXT")
+    // JSON payload; null when the event was stored Avro-encoded in payload instead
+    @Column(name = "event_data", columnDefinition = "TEXT")
     public String eventData;
 
+    // Avro-encoded payload in the schema registry wire format, published as-is
+    @Column(name = "payload", columnDefinition = "MEDIUMBLOB")
+    public byte[] payload;
+
+    @Column(name = "content_type", length = 50)
+    public String contentType;
+
     @Column(name = "created_at", nullable = false)
     public Instant createdAt;
 
@@ -39,6 +56,10 @@ public class OutboxEvent extends PanacheEntityBase {
     @Column(name = "version")
     public Integer version;
 
+    // CRC32(aggregate_id) mod the partition count, so all events of an aggregate share a partition
+    @Column(name = "partition_id", nullable = false)
+    public int partitionId;
+
     // Default constructor for JPA
     public OutboxEvent() {
     }
@@ -57,6 +78,22 @@ public class OutboxEvent extends PanacheEntityBase {
         // processedAt is null until event is published
     }
 
+    /**
+     * Partition of an aggregate's events, computed the same way as MySQL's CRC32(aggregate_id) % partitions
+     */
+    public static int partitionOf(String aggregateId, int partitions) {
+        CRC32 crc = new CRC32();
+        crc.update(aggregateId.getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() % partitions);
+    }
+
+    /**
+     * The record value published to Kafka
+     */
+    public byte[] value() {
+        return payload != null ? payload : eventData.getBytes(StandardCharsets.UTF_8);
+    }
+
     /**
      * Mark this event as processed
      */
@@ -78,6 +115,7 @@ public class OutboxEvent extends PanacheEntityBase {
                 ", aggregateType='" + aggregateType + '\'' +
                 ", aggregateId='" + aggregateId + '\'' +
                 ", eventType='" + eventType + '\'' +
+                ", partitionId=" + partitionId +
                 ", createdAt=" + createdAt +
                 ", processedAt=" + processedAt +
                 '}';
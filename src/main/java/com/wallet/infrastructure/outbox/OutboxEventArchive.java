@@ -0,0 +1,58 @@
+package com.wallet.infrastructure.outbox;
+
+import io.quarkus.hibernate.reactive.panache.PanacheEntityBase;
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * Published outbox events moved out of outbox_events once their retention window has passed.
+ * Only written by {@link OutboxArchiver}, with INSERT ... SELECT from the live table.
+ */
+@Entity
+@Table(name = "outbox_events_archive", indexes = {
+    @Index(name = "idx_outbox_archive_aggregate", columnList = "aggregate_id, created_at"),
+    @Index(name = "idx_outbox_archive_archived_at", columnList = "archived_at")
+})
+public class OutboxEventArchive extends PanacheEntityBase {
+
+    @Id
+    @Column(name = "id", length = 36)
+    public String id;
+
+    @Column(name = "aggregate_type", nullable = false, length = 100)
+    public String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false, length = 36)
+    public String aggregateId;
+
+    @Column(name = "event_type", nullable = false, length = 100)
+    public String eventType;
+
+    @Column(name = "event_data", columnDefinition = "TEXT")
+    public String eventData;
+
+    @Column(name = "payload", columnDefinition = "MEDIUMBLOB")
+    public byte[] payload;
+
+    @Column(name = "content_type", length = 50)
+    public String contentType;
+
+    @Column(name = "created_at", nullable = false)
+    public Instant createdAt;
+
+    @Column(name = "processed_at", nullable = false)
+    public Instant processedAt;
+
+    @Column(name = "version")
+    public Integer version;
+
+    @Column(name = "partition_id", nullable = false)
+    public int partitionId;
+
+    @Column(name = "archived_at", nullable = false)
+    public Instant archivedAt;
+
+    // Default constructor for JPA
+    public OutboxEventArchive() {
+    }
+}
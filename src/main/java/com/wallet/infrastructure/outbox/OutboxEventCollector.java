@@ -0,0 +1,42 @@
+package com.wallet.infrastructure.outbox;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Domain events staged by one command, written to the outbox together.
+ *
+ * A handler adds its events while it runs and hands the collector to
+ * {@link OutboxEventService#storeAll(OutboxEventCollector)} as the last statement of its
+ * transaction, which writes them with a single multi-row INSERT. Not thread-safe: a collector
+ * belongs to one command.
+ */
+public class OutboxEventCollector {
+
+    record StagedEvent(String aggregateType, String aggregateId, String eventType, Object payload) {
+    }
+
+    private final List<StagedEvent> staged = new ArrayList<>();
+
+    public OutboxEventCollector add(String aggregateType, String aggregateId, String eventType, Object payload) {
+        staged.add(new StagedEvent(aggregateType, aggregateId, eventType, payload));
+        return this;
+    }
+
+    public OutboxEventCollector addWalletEvent(String walletId, String eventType, Object payload) {
+        return add("Wallet", walletId, eventType, payload);
+    }
+
+    public boolean isEmpty() {
+        return staged.isEmpty();
+    }
+
+    public int size() {
+        return staged.size();
+    }
+
+    List<StagedEvent> staged() {
+        return Collections.unmodifiableList(staged);
+    }
+}
@@ -0,0 +1,65 @@
+package com.wallet.infrastructure.outbox;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Kafka headers the outbox publisher puts on every wallet event.
+ *
+ * The record key is the aggregate id, so all events of a wallet land on one partition in order.
+ * The headers repeat what a consumer needs for routing, so it can skip or dispatch a record
+ * by event type without deserializing the payload.
+ */
+public final class OutboxEventHeaders {
+
+    public static final String EVENT_ID = "event-id";
+    public static final String EVENT_TYPE = "event-type";
+    public static final String AGGREGATE_TYPE = "aggregate-type";
+    public static final String EVENT_VERSION = "event-version";
+    public static final String CONTENT_TYPE = "content-type";
+
+    public static final String JSON = "application/json";
+    // WalletEvent.avsc record in the schema registry wire format (magic byte, schema id, body)
+    public static final String AVRO = "application/vnd.wallet-event.avro";
+
+    private OutboxEventHeaders() {
+    }
+
+    public static Headers of(OutboxEvent event) {
+        Headers headers = new RecordHeaders();
+        add(headers, EVENT_ID, event.id);
+        add(headers, EVENT_TYPE, event.eventType);
+        add(headers, AGGREGATE_TYPE, event.aggregateType);
+        add(headers, CONTENT_TYPE, event.contentType != null ? event.contentType : JSON);
+        if (event.version != null) {
+            add(headers, EVENT_VERSION, event.version.toString());
+        }
+        return headers;
+    }
+
+    /**
+     * Last value of a header as a string, or null if the record does not carry it
+     */
+    public static String get(Headers headers, String name) {
+        Header header = headers.lastHeader(name);
+        return header != null && header.value() != null
+                ? new String(header.value(), StandardCharsets.UTF_8)
+                : null;
+    }
+
+    /**
+     * Outbox event types are PascalCase ("FundsDeposited"); the WalletEventType enums of the
+     * domain model and of the Avro schema spell them FUNDS_DEPOSITED
+     */
+    public static String eventTypeConstant(String eventType) {
+        return eventType.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT);
+    }
+
+    private static void add(Headers headers, String name, String value) {
+        headers.add(name, value.getBytes(StandardCharsets.UTF_8));
+    }
+}
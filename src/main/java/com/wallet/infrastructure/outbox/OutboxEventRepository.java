@@ -4,7 +4,11 @@ import io.quarkus.hibernate.reactive.panache.PanacheRepository;
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Repository for OutboxEvent entities.
@@ -30,6 +34,90 @@ public class OutboxEventRepository implements PanacheRepository<OutboxEvent> {
                 .list();
     }
 
+    /**
+     * Find unprocessed events of the given partitions, oldest first
+     */
+    public Uni<List<OutboxEvent>> findUnprocessedEvents(List<Integer> partitionIds, int limit) {
+        return find("processedAt IS NULL AND partitionId IN ?1 ORDER BY createdAt ASC", partitionIds)
+                .page(0, limit)
+                .list();
+    }
+
+    /**
+     * Create the partition lock rows 0..partitions-1 that do not exist yet
+     */
+    public Uni<Integer> ensurePartitions(int partitions) {
+        String values = IntStream.range(0, partitions)
+                .mapToObj(partition -> "(" + partition + ")")
+                .collect(Collectors.joining(","));
+        return getSession().chain(session -> session
+                .createNativeQuery("INSERT IGNORE INTO outbox_partitions (partition_id) VALUES " + values)
+                .executeUpdate());
+    }
+
+    /**
+     * Lock up to {@code limit} partitions that have unprocessed events and are not locked by
+     * another publisher, scanning from {@code startAt} and wrapping around. Must run inside a
+     * transaction; the partitions stay claimed until it ends.
+     */
+    public Uni<List<Integer>> claimPartitions(int startAt, int limit) {
+        return claimPartitions("p.partition_id >= ?1", startAt, limit)
+                .chain(claimed -> claimed.size() >= limit || startAt == 0
+                        ? Uni.createFrom().item(claimed)
+                        : claimPartitions("p.partition_id < ?1", startAt, limit - claimed.size())
+                                .map(wrapped -> Stream.concat(claimed.stream(), wrapped.stream()).toList()));
+    }
+
+    private Uni<List<Integer>> claimPartitions(String range, int bound, int limit) {
+        // Only the outbox_partitions rows are locked; SKIP LOCKED passes over the partitions
+        // another instance is draining instead of waiting for them
+        String sql = "SELECT p.partition_id FROM outbox_partitions p"
+                + " WHERE " + range
+                + " AND EXISTS (SELECT 1 FROM outbox_events e"
+                + " WHERE e.partition_id = p.partition_id AND e.processed_at IS NULL)"
+                + " ORDER BY p.partition_id LIMIT ?2"
+                + " FOR UPDATE OF p SKIP LOCKED";
+        return getSession().chain(session -> session.createNativeQuery(sql, Integer.class)
+                .setParameter(1, bound)
+                .setParameter(2, limit)
+                .getResultList());
+    }
+
+    /**
+     * Insert the events with a single multi-row INSERT.
+     * Goes around the persistence context, like TransactionRepository.insertAll.
+     */
+    public Uni<Integer> insertAll(List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return Uni.createFrom().item(0);
+        }
+
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO outbox_events (id, aggregate_type, aggregate_id, event_type, event_data, payload, "
+                        + "content_type, created_at, version, partition_id) VALUES ");
+        for (int i = 0; i < events.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append("(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        }
+
+        return getSession().chain(session -> {
+            var query = session.createNativeQuery(sql.toString());
+            int position = 1;
+            for (OutboxEvent event : events) {
+                query.setParameter(position++, event.id);
+                query.setParameter(position++, event.aggregateType);
+                query.setParameter(position++, event.aggregateId);
+                query.setParameter(position++, event.eventType);
+                query.setParameter(position++, event.eventData);
+                query.setParameter(position++, event.payload);
+                query.setParameter(position++, event.contentType);
+                query.setParameter(position++, event.createdAt);
+                query.setParameter(position++, event.version);
+                query.setParameter(position++, event.partitionId);
+            }
+            return query.executeUpdate();
+        });
+    }
+
     /**
      * Find events for a specific aggregate
      */
@@ -44,6 +132,52 @@ public class OutboxEventRepository implements PanacheRepository<OutboxEvent> {
         return find("eventType = ?1 ORDER BY createdAt ASC", eventType).list();
     }
 
+    /**
+     * Mark a batch of published events as processed with a single UPDATE ... WHERE id IN (...)
+     */
+    public Uni<Integer> markProcessed(List<String> eventIds, Instant processedAt) {
+        if (eventIds.isEmpty()) {
+            return Uni.createFrom().item(0);
+        }
+        return update("processedAt = ?1 where id in ?2 and processedAt is null", processedAt, eventIds);
+    }
+
+    /**
+     * Move up to {@code limit} events processed before {@code processedBefore} out of the live
+     * table, copying them to outbox_events_archive first when {@code keepCopy} is set.
+     * Must run inside a transaction. Completes with the number of events removed.
+     */
+    public Uni<Integer> archiveProcessed(Instant processedBefore, int limit, boolean keepCopy) {
+        // SKIP LOCKED lets archivers on several instances take different chunks
+        String selectChunk = "SELECT id FROM outbox_events"
+                + " WHERE processed_at < ?1"
+                + " ORDER BY processed_at LIMIT ?2"
+                + " FOR UPDATE SKIP LOCKED";
+        String copyChunk = "INSERT IGNORE INTO outbox_events_archive"
+                + " (id, aggregate_type, aggregate_id, event_type, event_data, payload, content_type,"
+                + " created_at, processed_at, version, partition_id, archived_at)"
+                + " SELECT id, aggregate_type, aggregate_id, event_type, event_data, payload, content_type,"
+                + " created_at, processed_at, version, partition_id, ?1"
+                + " FROM outbox_events WHERE id IN (?2)";
+
+        return getSession().chain(session -> session.createNativeQuery(selectChunk, String.class)
+                .setParameter(1, processedBefore)
+                .setParameter(2, limit)
+                .getResultList()
+                .chain(ids -> {
+                    if (ids.isEmpty()) {
+                        return Uni.createFrom().item(0);
+                    }
+                    Uni<Integer> copied = keepCopy
+                            ? session.createNativeQuery(copyChunk)
+                                .setParameter(1, Instant.now())
+                                .setParameter(2, ids)
+                                .executeUpdate()
+                            : Uni.createFrom().item(0);
+                    return copied.chain(() -> delete("id in ?1", ids).map(Long::intValue));
+                }));
+    }
+
     /**
      * Count unprocessed events
      */
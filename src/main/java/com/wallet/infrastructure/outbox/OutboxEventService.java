@@ -6,8 +6,12 @@ import io.quarkus.reactive.datasource.ReactiveDataSource;
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import com.wallet.infrastructure.metrics.WalletMetrics;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Service for managing outbox events.
  * This service provides a clean API for storing events in the outbox
@@ -25,6 +29,19 @@ public class OutboxEventService {
     @Inject
     WalletMetrics metrics;
 
+    @Inject
+    AvroWalletEventEncoder avroEncoder;
+
+    @ConfigProperty(name = "wallet.outbox.partitions", defaultValue = "32")
+    int partitions;
+
+    /**
+     * Payload encoding of new outbox events (json or avro). The publisher sends either as stored,
+     * so the setting can change while older events are still pending.
+     */
+    @ConfigProperty(name = "wallet.outbox.encoding", defaultValue = "json")
+    String encoding;
+
     /**
      * Store an event in the outbox as part of the current transaction.
      * This ensures the event will be published reliably.
@@ -32,8 +49,7 @@ public class OutboxEventService {
     public Uni<OutboxEvent> storeEvent(String aggregateType, String aggregateId, 
                                        String eventType, Object eventPayload) {
         try {
-            String eventData = objectMapper.writeValueAsString(eventPayload);
-            OutboxEvent outboxEvent = new OutboxEvent(aggregateType, aggregateId, eventType, eventData);
+            OutboxEvent outboxEvent = newEvent(aggregateType, aggregateId, eventType, eventPayload);
             
             return outboxRepository.persist(outboxEvent)
                     .onItem().invoke(() -> metrics.recordOutboxEventCreated())
@@ -45,6 +61,46 @@ public class OutboxEventService {
         }
     }
 
+    /**
+     * Store every event staged in the collector with one multi-row INSERT, as part of the
+     * current transaction. Completes with the number of events written.
+     */
+    public Uni<Integer> storeAll(OutboxEventCollector collector) {
+        if (collector.isEmpty()) {
+            return Uni.createFrom().item(0);
+        }
+        List<OutboxEvent> outboxEvents = new ArrayList<>(collector.size());
+        try {
+            for (OutboxEventCollector.StagedEvent staged : collector.staged()) {
+                outboxEvents.add(newEvent(staged.aggregateType(), staged.aggregateId(),
+                        staged.eventType(), staged.payload()));
+            }
+        } catch (JsonProcessingException e) {
+            return Uni.createFrom().failure(
+                new RuntimeException("Failed to serialize event payload", e)
+            );
+        }
+
+        return outboxRepository.insertAll(outboxEvents)
+                .onItem().invoke(() -> outboxEvents.forEach(event -> metrics.recordOutboxEventCreated()));
+    }
+
+    private OutboxEvent newEvent(String aggregateType, String aggregateId,
+                                 String eventType, Object eventPayload) throws JsonProcessingException {
+        OutboxEvent outboxEvent;
+        if ("avro".equalsIgnoreCase(encoding)) {
+            outboxEvent = new OutboxEvent(aggregateType, aggregateId, eventType, null);
+            outboxEvent.payload = avroEncoder.encode(outboxEvent, eventPayload);
+            outboxEvent.contentType = OutboxEventHeaders.AVRO;
+        } else {
+            String eventData = objectMapper.writeValueAsString(eventPayload);
+            outboxEvent = new OutboxEvent(aggregateType, aggregateId, eventType, eventData);
+            outboxEvent.contentType = OutboxEventHeaders.JSON;
+        }
+        outboxEvent.partitionId = OutboxEvent.partitionOf(aggregateId, partitions);
+        return outboxEvent;
+    }
+
     /**
      * Store a wallet event specifically
      */
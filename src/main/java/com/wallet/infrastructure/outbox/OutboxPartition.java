@@ -0,0 +1,22 @@
+package com.wallet.infrastructure.outbox;
+
+import io.quarkus.hibernate.reactive.panache.PanacheEntityBase;
+import jakarta.persistence.*;
+
+/**
+ * One row per outbox partition, used only as a lock.
+ * A publisher owns a partition for as long as its transaction holds the row locked with
+ * SELECT ... FOR UPDATE SKIP LOCKED, so each partition is drained by one instance at a time.
+ */
+@Entity
+@Table(name = "outbox_partitions")
+public class OutboxPartition extends PanacheEntityBase {
+
+    @Id
+    @Column(name = "partition_id")
+    public Integer partitionId;
+
+    // Default constructor for JPA
+    public OutboxPartition() {
+    }
+}
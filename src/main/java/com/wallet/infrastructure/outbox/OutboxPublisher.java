@@ -1,50 +1,194 @@
 package com.wallet.infrastructure.outbox;
 
-import io.quarkus.reactive.datasource.ReactiveDataSource;
-import io.quarkus.scheduler.Scheduled;
+import io.quarkus.logging.Log;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.vertx.core.runtime.context.VertxContextSafetyToggle;
+import io.smallrye.common.vertx.VertxContext;
 import io.smallrye.mutiny.Uni;
 import io.smallrye.reactive.messaging.MutinyEmitter;
+import io.smallrye.reactive.messaging.kafka.api.OutgoingKafkaRecordMetadata;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 import org.eclipse.microprofile.reactive.messaging.Channel;
+import org.eclipse.microprofile.reactive.messaging.Message;
 import com.wallet.infrastructure.metrics.WalletMetrics;
 import io.micrometer.core.instrument.Timer;
+import io.quarkus.hibernate.reactive.panache.Panache;
 import io.quarkus.hibernate.reactive.panache.common.WithSession;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 
 /**
  * OutboxPublisher processes events from the outbox table and publishes them to Kafka.
  * This implements the reliable event publishing part of the Transactional Outbox Pattern.
  * 
- * The publisher runs on a schedule to ensure eventual consistency and guaranteed delivery.
+ * The publisher runs as a drain loop rather than on a fixed schedule: after a full batch it
+ * polls again right away, after a partial one shortly after, and when the outbox is empty it
+ * backs off exponentially up to max-backoff. Committed commands wake it up early, so events
+ * usually leave within milliseconds while an idle service polls at most every max-backoff.
+ * It waits instead of polling while the Kafka channel is not requesting more records.
+ *
+ * Several instances can drain the same outbox. Events are split into partitions by their
+ * aggregate id, and each batch locks the partitions it publishes with FOR UPDATE SKIP LOCKED
+ * until the batch is marked processed, so a partition is published by one instance at a time
+ * and an aggregate's events keep their order, while other instances take the other partitions.
  */
 @ApplicationScoped
 public class OutboxPublisher {
 
-    private static final int BATCH_SIZE = 100;
-
     @Inject
     OutboxEventRepository outboxRepository;
 
     @Inject
     @Channel("wallet-events")
-    MutinyEmitter<String> eventEmitter;
+    MutinyEmitter<byte[]> eventEmitter;
     
     @Inject
     WalletMetrics metrics;
 
+    @Inject
+    Vertx vertx;
+
+    @ConfigProperty(name = "wallet.outbox.batch-size", defaultValue = "100")
+    int batchSize;
+
+    @ConfigProperty(name = "wallet.outbox.drain.enabled", defaultValue = "true")
+    boolean drainEnabled;
+
+    @ConfigProperty(name = "wallet.outbox.drain.min-backoff", defaultValue = "PT0.05S")
+    Duration minBackoff;
+
+    @ConfigProperty(name = "wallet.outbox.drain.max-backoff", defaultValue = "PT5S")
+    Duration maxBackoff;
+
+    @ConfigProperty(name = "wallet.outbox.partitions", defaultValue = "32")
+    int partitions;
+
+    @ConfigProperty(name = "wallet.outbox.claim.max-partitions", defaultValue = "8")
+    int maxClaimedPartitions;
+
+    private volatile boolean partitionsCreated;
+
+    // True while the loop waits for its timer; whoever flips it back (timer or wake-up) runs the next drain
+    private final AtomicBoolean sleeping = new AtomicBoolean();
+    private volatile boolean wakeUpRequested;
+    private volatile boolean stopped;
+    private volatile long timerId;
+    private Duration idleBackoff;
+    private Context rootContext;
+
+    void onStart(@Observes StartupEvent event) {
+        if (!drainEnabled) {
+            return;
+        }
+        rootContext = vertx.getOrCreateContext();
+        idleBackoff = minBackoff;
+        runDrain();
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        stopped = true;
+        if (sleeping.compareAndSet(true, false)) {
+            vertx.cancelTimer(timerId);
+        }
+    }
+
     /**
-     * Scheduled method that processes unprocessed outbox events.
-     * Runs every 5 seconds to ensure timely event publishing.
+     * Asks the drain loop to poll now, called once a transaction that stored outbox events has committed
+     */
+    public void wakeUp() {
+        wakeUpRequested = true;
+        if (sleeping.compareAndSet(true, false)) {
+            vertx.cancelTimer(timerId);
+            runDrain();
+        }
+    }
+
+    private void runDrain() {
+        if (stopped) {
+            return;
+        }
+        // Hibernate Reactive needs its own safe duplicated context, as a scheduled method would get
+        Context context = VertxContext.createNewDuplicatedContext(rootContext);
+        VertxContextSafetyToggle.setContextSafe(context, true);
+        context.runOnContext(ignored -> drain());
+    }
+
+    private void drain() {
+        wakeUpRequested = false;
+        if (!eventEmitter.hasRequests()) {
+            // The producer has as many records in flight as it accepts, let it catch up
+            metrics.recordOutboxBackPressure();
+            sleep(minBackoff);
+            return;
+        }
+
+        Panache.withSession(this::publishPendingEvents).subscribe().with(
+            this::afterBatch,
+            failure -> {
+                Log.warnf("Outbox drain failed: %s", failure.getMessage());
+                sleep(nextIdleBackoff());
+            });
+    }
+
+    private void afterBatch(int fetched) {
+        if (fetched >= batchSize || wakeUpRequested) {
+            // More events are likely waiting
+            idleBackoff = minBackoff;
+            runDrain();
+        } else if (fetched > 0) {
+            idleBackoff = minBackoff;
+            sleep(minBackoff);
+        } else {
+            sleep(nextIdleBackoff());
+        }
+    }
+
+    private Duration nextIdleBackoff() {
+        Duration backoff = idleBackoff;
+        Duration doubled = idleBackoff.multipliedBy(2);
+        idleBackoff = doubled.compareTo(maxBackoff) > 0 ? maxBackoff : doubled;
+        return backoff;
+    }
+
+    private void sleep(Duration backoff) {
+        if (stopped) {
+            return;
+        }
+        // Mark as sleeping before arming the timer so a wake-up in between is not lost
+        sleeping.set(true);
+        timerId = vertx.setTimer(Math.max(1, backoff.toMillis()), id -> {
+            if (sleeping.compareAndSet(true, false)) {
+                runDrain();
+            }
+        });
+    }
+
+    /**
+     * Publishes one batch of unprocessed events from partitions no other instance is draining,
+     * completing with the number of events fetched
      */
-    @Scheduled(every = "5s")
     @WithSession
-    public Uni<Void> publishPendingEvents() {
+    public Uni<Integer> publishPendingEvents() {
         Timer.Sample sample = metrics.startOutboxPublishingTimer();
-        
-        return outboxRepository.findUnprocessedEvents(BATCH_SIZE)
-                .chain(this::publishEvents)
+
+        // Start at a random partition so instances spread over the partitions with work
+        int startAt = ThreadLocalRandom.current().nextInt(partitions);
+        return claimAndPublish(startAt, maxClaimedPartitions, batchSize)
+                .map(BatchResult::fetched)
                 .onItem().invoke(() -> metrics.recordOutboxPublishing(sample))
                 .onFailure().invoke(throwable -> {
                     metrics.recordOutboxEventFailed();
@@ -53,71 +197,137 @@ public class OutboxPublisher {
     }
 
     /**
-     * Publish a batch of events to Kafka
+     * Claims partitions and publishes their oldest unprocessed events in one transaction, whose
+     * commit releases the partitions together with the processed marks
      */
-    private Uni<Void> publishEvents(List<OutboxEvent> events) {
-        if (events.isEmpty()) {
+    private Uni<BatchResult> claimAndPublish(int startAt, int maxPartitions, int limit) {
+        return Panache.withTransaction(() -> createPartitions()
+                .chain(() -> outboxRepository.claimPartitions(startAt, maxPartitions))
+                .chain(claimed -> claimed.isEmpty()
+                        ? Uni.createFrom().item(List.<OutboxEvent>of())
+                        : outboxRepository.findUnprocessedEvents(claimed, limit))
+                .chain(events -> publishEvents(events)
+                        .map(published -> new BatchResult(events.size(), published))));
+    }
+
+    private Uni<Void> createPartitions() {
+        if (partitionsCreated) {
             return Uni.createFrom().voidItem();
         }
-
-        // Record metrics instead of logging
-        events.forEach(event -> metrics.recordOutboxEventPublished());
-
-        return Uni.combine().all().unis(
-            events.stream()
-                .map(this::publishSingleEvent)
-                .toList()
-        ).discardItems();
+        return outboxRepository.ensurePartitions(partitions)
+                .invoke(() -> partitionsCreated = true)
+                .replaceWithVoid();
     }
 
     /**
-     * Publish a single event to Kafka and mark it as processed
+     * Publish a batch of events to Kafka, then mark the acknowledged events processed with one
+     * UPDATE, completing with how many were. An aggregate's events are sent one after another
+     * and its first failure stops the sequence, so the failed event and the ones after it stay
+     * unprocessed and go out in order on a later run; different aggregates are sent in parallel.
      */
-    private Uni<Void> publishSingleEvent(OutboxEvent event) {
+    private Uni<Integer> publishEvents(List<OutboxEvent> events) {
+        if (events.isEmpty()) {
+            return Uni.createFrom().item(0);
+        }
+        Timer.Sample batchSample = metrics.startOutboxBatchTimer();
 
-        // Create the Kafka message with proper key for partitioning
-        String kafkaKey = event.aggregateId;
-        String kafkaMessage = createKafkaMessage(event);
+        return sendInOrder(events, this::publishSingleEvent)
+            .chain(publishedIds -> {
+                publishedIds.forEach(id -> metrics.recordOutboxEventPublished());
 
-        return eventEmitter.send(kafkaMessage)
-                .chain(() -> markEventAsProcessed(event))
-                .onFailure().invoke(throwable -> metrics.recordOutboxEventFailed());
+                // Joins the claiming transaction when there is one
+                return Panache.withTransaction(() -> outboxRepository.markProcessed(publishedIds, Instant.now()))
+                    .invoke(() -> metrics.recordOutboxBatch(events.size(), batchSample))
+                    .replaceWith(publishedIds.size());
+            });
     }
 
     /**
-     * Create the Kafka message payload from the outbox event
+     * Sends each aggregate's events in order, stopping at its first failed send, with the
+     * aggregates in parallel. Completes with the ids of the acknowledged events.
+     *
+     * @param send completes with the event id once acknowledged, or null if the send failed
      */
-    private String createKafkaMessage(OutboxEvent event) {
-        // For now, we'll send the raw event data
-        // In a more sophisticated setup, you might want to wrap this in an envelope
-        return event.eventData;
+    static Uni<List<String>> sendInOrder(List<OutboxEvent> events, Function<OutboxEvent, Uni<String>> send) {
+        Map<String, List<OutboxEvent>> byAggregate = new LinkedHashMap<>();
+        for (OutboxEvent event : events) {
+            byAggregate.computeIfAbsent(event.aggregateId, id -> new ArrayList<>()).add(event);
+        }
+
+        List<Uni<List<String>>> sequences = new ArrayList<>(byAggregate.size());
+        for (List<OutboxEvent> aggregateEvents : byAggregate.values()) {
+            sequences.add(sendUntilFailure(aggregateEvents, 0, new ArrayList<>(aggregateEvents.size()), send));
+        }
+        return Uni.join().all(sequences).andCollectFailures()
+            .map(published -> {
+                List<String> ids = new ArrayList<>(events.size());
+                published.forEach(ids::addAll);
+                return ids;
+            });
+    }
+
+    private static Uni<List<String>> sendUntilFailure(List<OutboxEvent> events, int index, List<String> published,
+            Function<OutboxEvent, Uni<String>> send) {
+        if (index == events.size()) {
+            return Uni.createFrom().item(published);
+        }
+        return send.apply(events.get(index)).chain(id -> {
+            if (id == null) {
+                // The rest of the aggregate waits, so it cannot overtake the failed event
+                return Uni.createFrom().item(published);
+            }
+            published.add(id);
+            return sendUntilFailure(events, index + 1, published, send);
+        });
     }
 
     /**
-     * Mark an event as processed in the database
+     * Publish a single event to Kafka, completing with its id once acknowledged or null if it failed
      */
-    private Uni<Void> markEventAsProcessed(OutboxEvent event) {
-        event.markAsProcessed();
-        return outboxRepository.persist(event).replaceWithVoid();
+    private Uni<String> publishSingleEvent(OutboxEvent event) {
+        // Keyed by aggregate id so a wallet's events share a Kafka partition and stay ordered
+        OutgoingKafkaRecordMetadata<String> metadata = OutgoingKafkaRecordMetadata.<String>builder()
+                .withKey(event.aggregateId)
+                .withHeaders(OutboxEventHeaders.of(event))
+                .build();
+        // JSON or Avro, the stored bytes go out as they are
+        Message<byte[]> message = Message.of(event.value()).addMetadata(metadata);
+
+        // Completes once the broker acknowledged the record
+        return eventEmitter.sendMessage(message)
+                .replaceWith(event.id)
+                .onFailure().invoke(throwable -> metrics.recordOutboxEventFailed())
+                .onFailure().recoverWithNull();
     }
 
     /**
-     * Manual trigger for publishing events (useful for testing or manual operations)
+     * Manual trigger for publishing events (useful for testing or manual operations).
+     * Publishes every partition not currently claimed by another instance, one batch at a time,
+     * until a batch comes back short or nothing in it could be published.
+     * Completes with the number of events published.
      */
     @WithSession
     public Uni<Integer> publishAllPendingEvents() {
         Timer.Sample sample = metrics.startOutboxPublishingTimer();
         
-        return outboxRepository.findUnprocessedEvents()
-                .chain(events -> {
-                    int eventCount = events.size();
-                    return publishEvents(events)
-                            .map(v -> eventCount);
-                })
+        return publishAllFrom(0)
                 .onItem().invoke(() -> metrics.recordOutboxPublishing(sample))
                 .onFailure().invoke(throwable -> {
                     metrics.recordOutboxEventFailed();
                     metrics.recordOutboxPublishing(sample);
                 });
     }
+
+    private Uni<Integer> publishAllFrom(int publishedSoFar) {
+        return claimAndPublish(0, partitions, batchSize)
+                .chain(batch -> batch.fetched() < batchSize || batch.published() == 0
+                        ? Uni.createFrom().item(publishedSoFar + batch.published())
+                        : publishAllFrom(publishedSoFar + batch.published()));
+    }
+
+    /**
+     * Events fetched by one batch, and how many of them were acknowledged and marked processed
+     */
+    private record BatchResult(int fetched, int published) {
+    }
 }
@@ -0,0 +1,32 @@
+package com.wallet.infrastructure.outbox;
+
+import io.quarkus.kafka.client.serialization.ObjectMapperSerializer;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Value serializer of the wallet-events channel.
+ *
+ * The outbox publisher hands over the stored payload bytes (JSON or Avro), which are written
+ * unchanged. Direct sends from ResilientEventService pass a JSON string, written as UTF-8.
+ * Any other object (WalletEventStore sends domain events) is written as JSON.
+ */
+public class WalletEventValueSerializer implements Serializer<Object> {
+
+    private final ObjectMapperSerializer<Object> jsonSerializer = new ObjectMapperSerializer<>();
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (data == null) {
+            return null;
+        }
+        if (data instanceof byte[] bytes) {
+            return bytes;
+        }
+        if (data instanceof String text) {
+            return text.getBytes(StandardCharsets.UTF_8);
+        }
+        return jsonSerializer.serialize(topic, data);
+    }
+}
@@ -0,0 +1,71 @@
+package com.wallet.infrastructure.persistence;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.hibernate.reactive.mutiny.Mutiny;
+
+import io.smallrye.mutiny.Uni;
+
+/**
+ * Net effect of a wallet's transactions over a time range, summed by the database
+ *
+ * @param amount signed sum of the transaction amounts (credits, incoming transfers included, positive)
+ * @param transactionCount number of transactions summed
+ */
+public record BalanceDelta(BigDecimal amount, long transactionCount) {
+
+    /*
+     * The signed amount of each transaction type, the only definition of how transactions move a balance.
+     * A transfer is stored once, under the source wallet, so the destination side is a second
+     * branch on destinationWalletId. Each branch is a range scan of its own covering index
+     * (idx_wallet_transactions, idx_destination_transactions); an OR of both columns would not be.
+     */
+    private static final String OWN_ROWS = "SELECT SUM(CASE type"
+        + " WHEN 'DEPOSIT' THEN amount"
+        + " WHEN 'WITHDRAWAL' THEN -amount"
+        + " WHEN 'TRANSFER' THEN -amount"
+        + " ELSE 0 END) AS delta, COUNT(*) AS cnt"
+        + " FROM transaction WHERE walletId = ? AND createdAt <= ?";
+
+    private static final String INCOMING_TRANSFERS = "SELECT SUM(amount) AS delta, COUNT(*) AS cnt"
+        + " FROM transaction WHERE destinationWalletId = ? AND type = 'TRANSFER' AND createdAt <= ?";
+
+    private static final String AFTER = " AND createdAt > ?";
+
+    public BigDecimal applyTo(BigDecimal openingBalance) {
+        return openingBalance.add(amount);
+    }
+
+    /**
+     * Sums the transactions of the wallet created in (after, upTo], including transfers it
+     * received, in one aggregate query that never hydrates a Transaction.
+     * A null {@code after} means from the first transaction.
+     */
+    static Uni<BalanceDelta> sum(Mutiny.Session session, String walletId, LocalDateTime after, LocalDateTime upTo) {
+        String range = after == null ? "" : AFTER;
+        String sql = "SELECT SUM(delta), SUM(cnt) FROM ("
+            + OWN_ROWS + range
+            + " UNION ALL "
+            + INCOMING_TRANSFERS + range
+            + ") AS legs";
+
+        var query = session.createNativeQuery(sql, Object[].class);
+        int position = 1;
+        for (int leg = 0; leg < 2; leg++) {
+            query.setParameter(position++, walletId);
+            query.setParameter(position++, upTo);
+            if (after != null) {
+                query.setParameter(position++, after);
+            }
+        }
+        return query.getSingleResult().map(BalanceDelta::fromRow);
+    }
+
+    private static BalanceDelta fromRow(Object[] row) {
+        // SUM() is null when no transaction matched
+        BigDecimal amount = row[0] != null ? new BigDecimal(row[0].toString()) : BigDecimal.ZERO;
+        long transactionCount = row[1] != null ? ((Number) row[1]).longValue() : 0;
+        return new BalanceDelta(amount, transactionCount);
+    }
+}
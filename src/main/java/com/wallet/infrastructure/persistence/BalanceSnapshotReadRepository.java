@@ -0,0 +1,25 @@
+package com.wallet.infrastructure.persistence;
+
+import java.time.LocalDateTime;
+
+import com.wallet.domain.model.BalanceSnapshot;
+
+import io.quarkus.hibernate.reactive.panache.PanacheRepositoryBase;
+import io.quarkus.reactive.datasource.ReactiveDataSource;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+
+@ApplicationScoped
+@ReactiveDataSource("read")  // Use replica database for read operations
+public class BalanceSnapshotReadRepository implements PanacheRepositoryBase<BalanceSnapshot, String> {
+
+    /**
+     * Latest snapshot of the current format taken at or before the given time, a single seek on
+     * (walletId, snapshotAt)
+     */
+    public Uni<BalanceSnapshot> findLatestAtOrBefore(String walletId, LocalDateTime timestamp) {
+        return find("walletId = ?1 and snapshotAt <= ?2 and formatVersion = ?3 order by snapshotAt desc",
+                walletId, timestamp, BalanceSnapshot.CURRENT_FORMAT)
+            .firstResult();
+    }
+}
@@ -0,0 +1,33 @@
+package com.wallet.infrastructure.persistence;
+
+import java.time.LocalDateTime;
+
+import com.wallet.domain.model.BalanceSnapshot;
+
+import io.quarkus.hibernate.reactive.panache.PanacheRepositoryBase;
+import io.quarkus.reactive.datasource.ReactiveDataSource;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+
+@ApplicationScoped
+@ReactiveDataSource("write")
+public class BalanceSnapshotRepository implements PanacheRepositoryBase<BalanceSnapshot, String> {
+
+    /**
+     * Latest snapshot of the current format, older formats are never extended
+     */
+    public Uni<BalanceSnapshot> findLatest(String walletId) {
+        return find("walletId = ?1 and formatVersion = ?2 order by snapshotAt desc",
+                walletId, BalanceSnapshot.CURRENT_FORMAT)
+            .firstResult();
+    }
+
+    /**
+     * Cutoff of the most recent snapshot run, null if no snapshot of the current format was ever
+     * taken (every wallet is then snapshotted from scratch)
+     */
+    public Uni<LocalDateTime> findLatestSnapshotAt() {
+        return find("formatVersion = ?1 order by snapshotAt desc", BalanceSnapshot.CURRENT_FORMAT).firstResult()
+            .map(snapshot -> snapshot != null ? snapshot.getSnapshotAt() : null);
+    }
+}
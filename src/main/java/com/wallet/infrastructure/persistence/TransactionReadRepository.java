@@ -44,4 +44,44 @@ public class TransactionReadRepository implements PanacheRepository<Transaction>
         return count("referenceId", referenceId)
             .map(count -> count > 0);
     }
+
+    /**
+     * Signed sum of the wallet's transactions created in (after, upTo], computed by the database.
+     * A null {@code after} means from the first transaction.
+     */
+    public Uni<BalanceDelta> sumSignedAmounts(String walletId, LocalDateTime after, LocalDateTime upTo) {
+        return getSession().chain(session -> BalanceDelta.sum(session, walletId, after, upTo));
+    }
+
+    /**
+     * One page of the wallet's history in (createdAt, id) order, transfers it received included,
+     * starting after the given position. A null {@code afterCreatedAt} starts at the first transaction.
+     * Each side of a transfer is a bounded range scan of its history index, whatever the page depth.
+     */
+    public Uni<List<Transaction>> findHistoryPage(String walletId, LocalDateTime afterCreatedAt, String afterId,
+            int limit) {
+        String keyset = afterCreatedAt == null ? "" : " AND (createdAt > ? OR (createdAt = ? AND id > ?))";
+        String sql = "(SELECT * FROM transaction WHERE walletId = ?" + keyset
+            + " ORDER BY createdAt, id LIMIT ?)"
+            + " UNION ALL "
+            + "(SELECT * FROM transaction WHERE destinationWalletId = ? AND type = 'TRANSFER'" + keyset
+            + " ORDER BY createdAt, id LIMIT ?)"
+            + " ORDER BY createdAt, id LIMIT ?";
+
+        return getSession().chain(session -> {
+            var query = session.createNativeQuery(sql, Transaction.class);
+            int position = 1;
+            for (int leg = 0; leg < 2; leg++) {
+                query.setParameter(position++, walletId);
+                if (afterCreatedAt != null) {
+                    query.setParameter(position++, afterCreatedAt);
+                    query.setParameter(position++, afterCreatedAt);
+                    query.setParameter(position++, afterId);
+                }
+                query.setParameter(position++, limit);
+            }
+            query.setParameter(position, limit);
+            return query.getResultList();
+        });
+    }
 }
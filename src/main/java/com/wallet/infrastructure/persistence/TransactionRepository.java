@@ -1,7 +1,12 @@
 package com.wallet.infrastructure.persistence;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import com.wallet.domain.model.Transaction;
 import com.wallet.domain.model.TransactionStatus;
@@ -44,4 +49,91 @@ public class TransactionRepository implements PanacheRepository<Transaction> {
         return count("referenceId", referenceId)
             .map(count -> count > 0);
     }
+
+    /**
+     * Id of the transaction recorded under each of the reference ids that has one, in one SELECT
+     */
+    public Uni<Map<String, String>> findIdsByReferenceIds(Collection<String> referenceIds) {
+        if (referenceIds.isEmpty()) {
+            return Uni.createFrom().item(Map.of());
+        }
+        return getSession().chain(session -> session
+            .createQuery("select t.referenceId, t.id from Transaction t where t.referenceId in ?1", Object[].class)
+            .setParameter(1, referenceIds)
+            .getResultList()
+            .map(rows -> {
+                Map<String, String> ids = new HashMap<>();
+                for (Object[] row : rows) {
+                    ids.put((String) row[0], (String) row[1]);
+                }
+                return ids;
+            }));
+    }
+
+    /**
+     * Signed sum of the wallet's transactions created in (after, upTo], computed by the database.
+     * A null {@code after} means from the first transaction.
+     */
+    public Uni<BalanceDelta> sumSignedAmounts(String walletId, LocalDateTime after, LocalDateTime upTo) {
+        return getSession().chain(session -> BalanceDelta.sum(session, walletId, after, upTo));
+    }
+
+    /**
+     * Wallets with at least one transaction created in (after, upTo], on either side of a transfer
+     */
+    public Uni<List<String>> findWalletIdsWithTransactionsBetween(LocalDateTime after, LocalDateTime upTo) {
+        return getSession().chain(session -> session
+            .createQuery("select distinct t.walletId from Transaction t "
+                + "where t.createdAt > ?1 and t.createdAt <= ?2", String.class)
+            .setParameter(1, after)
+            .setParameter(2, upTo)
+            .getResultList()
+            .chain(walletIds -> session
+                .createQuery("select distinct t.destinationWalletId from Transaction t "
+                    + "where t.type = ?1 and t.createdAt > ?2 and t.createdAt <= ?3", String.class)
+                .setParameter(1, TransactionType.TRANSFER)
+                .setParameter(2, after)
+                .setParameter(3, upTo)
+                .getResultList()
+                .map(destinations -> {
+                    Set<String> touched = new LinkedHashSet<>(walletIds);
+                    touched.addAll(destinations);
+                    return List.copyOf(touched);
+                })));
+    }
+
+    /**
+     * Inserts the transactions with a single multi-row INSERT on the primary.
+     * Goes around the persistence context, so @PrePersist callbacks do not run:
+     * createdAt must already be set (the constructor does).
+     */
+    public Uni<Integer> insertAll(List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return Uni.createFrom().item(0);
+        }
+
+        StringBuilder sql = new StringBuilder(
+            "INSERT INTO transaction (id, walletId, type, amount, referenceId, description, status, "
+                + "destinationWalletId, createdAt) VALUES ");
+        for (int i = 0; i < transactions.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append("(?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        }
+
+        return getSession().chain(session -> {
+            var query = session.createNativeQuery(sql.toString());
+            int position = 1;
+            for (Transaction transaction : transactions) {
+                query.setParameter(position++, transaction.getId());
+                query.setParameter(position++, transaction.getWalletId());
+                query.setParameter(position++, transaction.getType().name());
+                query.setParameter(position++, transaction.getAmount());
+                query.setParameter(position++, transaction.getReferenceId());
+                query.setParameter(position++, transaction.getDescription());
+                query.setParameter(position++, transaction.getStatus().name());
+                query.setParameter(position++, transaction.getDestinationWalletId());
+                query.setParameter(position++, transaction.getCreatedAt());
+            }
+            return query.executeUpdate();
+        });
+    }
 }
@@ -0,0 +1,29 @@
+package com.wallet.infrastructure.persistence;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Net change a batch of events makes to one wallet projection
+ *
+ * @param userId set by a WalletCreated event, null otherwise
+ * @param status set by a WalletCreated event, null otherwise
+ * @param createdAt set by a WalletCreated event, null otherwise
+ * @param amount signed balance change
+ * @param events number of events folded into the change
+ * @param lastEventAt time of the newest of those events
+ */
+public record WalletProjectionDelta(String walletId, String userId, String status, Instant createdAt,
+        BigDecimal amount, int events, Instant lastEventAt) {
+
+    public WalletProjectionDelta merge(WalletProjectionDelta other) {
+        return new WalletProjectionDelta(
+            walletId,
+            userId != null ? userId : other.userId,
+            status != null ? status : other.status,
+            createdAt != null ? createdAt : other.createdAt,
+            amount.add(other.amount),
+            events + other.events,
+            lastEventAt.isAfter(other.lastEventAt) ? lastEventAt : other.lastEventAt);
+    }
+}
@@ -0,0 +1,20 @@
+package com.wallet.infrastructure.persistence;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.wallet.domain.model.WalletProjection;
+
+import io.quarkus.hibernate.reactive.panache.PanacheRepositoryBase;
+import io.quarkus.reactive.datasource.ReactiveDataSource;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+
+@ApplicationScoped
+@ReactiveDataSource("read")  // Use replica database for read operations
+public class WalletProjectionReadRepository implements PanacheRepositoryBase<WalletProjection, String> {
+
+    public Uni<List<WalletProjection>> findByIds(Collection<String> walletIds) {
+        return list("walletId in ?1", walletIds);
+    }
+}
@@ -0,0 +1,107 @@
+package com.wallet.infrastructure.persistence;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.wallet.domain.model.WalletProjection;
+
+import io.quarkus.hibernate.reactive.panache.PanacheRepositoryBase;
+import io.quarkus.reactive.datasource.ReactiveDataSource;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+
+@ApplicationScoped
+@ReactiveDataSource("write")
+public class WalletProjectionRepository implements PanacheRepositoryBase<WalletProjection, String> {
+
+    public Uni<List<WalletProjection>> findByIds(Collection<String> walletIds) {
+        return list("walletId in ?1", walletIds);
+    }
+
+    /**
+     * Ids among {@code eventIds} that were already applied
+     */
+    public Uni<Set<String>> findAppliedEventIds(Collection<String> eventIds) {
+        return getSession().chain(session -> session
+                .createNativeQuery("SELECT eventId FROM wallet_projection_events WHERE eventId IN (?1)", String.class)
+                .setParameter(1, eventIds)
+                .getResultList())
+            .map(HashSet::new);
+    }
+
+    /**
+     * Records the events as applied with one multi-row INSERT. A concurrent consumer that
+     * applied one of them first makes it fail on the primary key, rolling back the batch.
+     */
+    public Uni<Integer> markApplied(List<String> eventIds, Instant appliedAt) {
+        if (eventIds.isEmpty()) {
+            return Uni.createFrom().item(0);
+        }
+        StringBuilder sql = new StringBuilder("INSERT INTO wallet_projection_events (eventId, appliedAt) VALUES ");
+        for (int i = 0; i < eventIds.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append("(?, ?)");
+        }
+
+        return getSession().chain(session -> {
+            var query = session.createNativeQuery(sql.toString());
+            int position = 1;
+            for (String eventId : eventIds) {
+                query.setParameter(position++, eventId);
+                query.setParameter(position++, appliedAt);
+            }
+            return query.executeUpdate();
+        });
+    }
+
+    /**
+     * Adds the deltas to the projections with one multi-row upsert, creating missing rows.
+     * Callers pass the deltas sorted by wallet id so concurrent batches lock rows in the same order.
+     */
+    public Uni<Integer> applyDeltas(List<WalletProjectionDelta> deltas, Instant updatedAt) {
+        if (deltas.isEmpty()) {
+            return Uni.createFrom().item(0);
+        }
+        StringBuilder sql = new StringBuilder(
+            "INSERT INTO wallet_projections (walletId, userId, status, createdAt, balance, eventCount, lastEventAt, updatedAt) VALUES ");
+        for (int i = 0; i < deltas.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append("(?, ?, ?, ?, ?, ?, ?, ?)");
+        }
+        sql.append(" ON DUPLICATE KEY UPDATE"
+            + " userId = COALESCE(VALUES(userId), userId),"
+            + " status = COALESCE(VALUES(status), status),"
+            + " createdAt = COALESCE(VALUES(createdAt), createdAt),"
+            + " balance = balance + VALUES(balance),"
+            + " eventCount = eventCount + VALUES(eventCount),"
+            + " lastEventAt = GREATEST(lastEventAt, VALUES(lastEventAt)),"
+            + " updatedAt = VALUES(updatedAt)");
+
+        return getSession().chain(session -> {
+            var query = session.createNativeQuery(sql.toString());
+            int position = 1;
+            for (WalletProjectionDelta delta : deltas) {
+                query.setParameter(position++, delta.walletId());
+                query.setParameter(position++, delta.userId());
+                query.setParameter(position++, delta.status());
+                query.setParameter(position++, delta.createdAt());
+                query.setParameter(position++, delta.amount());
+                query.setParameter(position++, delta.events());
+                query.setParameter(position++, delta.lastEventAt());
+                query.setParameter(position++, updatedAt);
+            }
+            return query.executeUpdate();
+        });
+    }
+
+    /**
+     * Forgets applied event ids older than the cutoff; Kafka will not redeliver events that old
+     */
+    public Uni<Integer> pruneAppliedEvents(Instant appliedBefore) {
+        return getSession().chain(session -> session
+            .createNativeQuery("DELETE FROM wallet_projection_events WHERE appliedAt < ?1")
+            .setParameter(1, appliedBefore)
+            .executeUpdate());
+    }
+}
@@ -1,5 +1,6 @@
 package com.wallet.infrastructure.persistence;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.wallet.domain.model.Wallet;
@@ -30,4 +31,8 @@ public class WalletReadRepository implements PanacheRepositoryBase<Wallet, Strin
         return count("userId = ?1 and currency = ?2", userId, currency)
             .map(count -> count > 0);
     }
-}
\ No newline at end of file
+
+    public Uni<List<Wallet>> findByIds(Collection<String> walletIds) {
+        return list("id in ?1", walletIds);
+    }
+}
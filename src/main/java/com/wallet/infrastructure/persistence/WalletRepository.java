@@ -1,6 +1,11 @@
 package com.wallet.infrastructure.persistence;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.wallet.domain.model.Wallet;
 import com.wallet.domain.model.WalletStatus;
@@ -30,4 +35,87 @@ public class WalletRepository implements PanacheRepositoryBase<Wallet, String> {
         return count("userId = ?1 and currency = ?2", userId, currency)
             .map(count -> count > 0);
     }
+
+    /**
+     * Atomically adds the amount to the wallet balance with a single UPDATE on the primary.
+     * Bulk updates bypass the {@code @Version} check, so the version is bumped explicitly.
+     * Returns false if the wallet does not exist.
+     *
+     * MySQL has no {@code UPDATE ... RETURNING}, so a caller that needs the new balance and
+     * version reads the row back by primary key in the same transaction. The UPDATE still holds
+     * the row lock, so that read sees exactly this update and never waits on another writer.
+     */
+    public Uni<Boolean> creditBalance(String walletId, BigDecimal amount) {
+        return update("balance = balance + ?1, updatedAt = ?2, version = version + 1 where id = ?3",
+                amount, Instant.now(), walletId)
+            .map(updated -> updated > 0);
+    }
+
+    /**
+     * Atomically subtracts the amount from the wallet balance, guarded by balance >= amount,
+     * with a single UPDATE on the primary.
+     * Returns false if the wallet does not exist or does not hold enough funds.
+     */
+    public Uni<Boolean> debitBalance(String walletId, BigDecimal amount) {
+        return update("balance = balance - ?1, updatedAt = ?2, version = version + 1 where id = ?3 and balance >= ?1",
+                amount, Instant.now(), walletId)
+            .map(updated -> updated > 0);
+    }
+
+    public Uni<List<Wallet>> findByIds(Collection<String> walletIds) {
+        return list("id in ?1", walletIds);
+    }
+
+    /**
+     * Locks the wallets (those that exist) until the end of the transaction and returns their
+     * balances. Rows are locked in id order, so two callers locking overlapping sets queue
+     * behind each other instead of deadlocking. Goes around the persistence context, so no
+     * stale entity is left behind when the balances are then changed with an UPDATE.
+     */
+    public Uni<Map<String, BigDecimal>> lockBalances(Collection<String> walletIds) {
+        return getSession().chain(session -> session
+                .createNativeQuery("SELECT id, balance FROM wallets WHERE id IN (?1) ORDER BY id FOR UPDATE", Object[].class)
+                .setParameter(1, walletIds)
+                .getResultList())
+            .map(rows -> {
+                Map<String, BigDecimal> balances = new HashMap<>();
+                for (Object[] row : rows) {
+                    balances.put((String) row[0], (BigDecimal) row[1]);
+                }
+                return balances;
+            });
+    }
+
+    /**
+     * Adds a signed amount to each wallet's balance with a single UPDATE on the primary.
+     * Not guarded: the caller holds the row locks and has checked the resulting balances.
+     */
+    public Uni<Integer> applyBalanceDeltas(Map<String, BigDecimal> deltas) {
+        if (deltas.isEmpty()) {
+            return Uni.createFrom().item(0);
+        }
+        StringBuilder sql = new StringBuilder("UPDATE wallets SET balance = balance + CASE id");
+        for (int i = 0; i < deltas.size(); i++) {
+            sql.append(" WHEN ? THEN ?");
+        }
+        sql.append(" END, updatedAt = ?, version = version + 1 WHERE id IN (");
+        for (int i = 0; i < deltas.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(")");
+
+        return getSession().chain(session -> {
+            var query = session.createNativeQuery(sql.toString());
+            int position = 1;
+            for (Map.Entry<String, BigDecimal> delta : deltas.entrySet()) {
+                query.setParameter(position++, delta.getKey());
+                query.setParameter(position++, delta.getValue());
+            }
+            query.setParameter(position++, Instant.now());
+            for (String walletId : deltas.keySet()) {
+                query.setParameter(position++, walletId);
+            }
+            return query.executeUpdate();
+        });
+    }
 }
@@ -0,0 +1,143 @@
+package com.wallet.infrastructure.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.StaleStateException;
+import org.hibernate.exception.LockAcquisitionException;
+
+import com.wallet.exception.TechnicalException;
+import com.wallet.infrastructure.metrics.WalletMetrics;
+
+import io.quarkus.logging.Log;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.mysqlclient.MySQLException;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PessimisticLockException;
+
+/**
+ * Retry loop for write conflicts on hot wallets
+ *
+ * Each attempt re-invokes the supplier, so the operation must open its own database
+ * transaction per call (the command handlers do): a deadlock or a stale version rolls the
+ * whole MySQL transaction back and can only be retried from scratch.
+ *
+ * Conflicts are retried with exponential backoff and full jitter, so callers that collided
+ * on the same row do not collide again on the next attempt. Every conflict is recorded
+ * per operation and per wallet, which is what shows up as a hot merchant wallet on the
+ * dashboards. Other failures are propagated untouched.
+ */
+@ApplicationScoped
+public class ContentionRetry {
+
+    private static final int MYSQL_LOCK_WAIT_TIMEOUT = 1205;
+    private static final int MYSQL_DEADLOCK = 1213;
+    private static final String RETRY_TYPE = "optimistic_lock";
+
+    @Inject
+    WalletMetrics walletMetrics;
+
+    @ConfigProperty(name = "wallet.contention-retry.max-retries", defaultValue = "5")
+    int maxRetries;
+
+    @ConfigProperty(name = "wallet.contention-retry.initial-backoff", defaultValue = "PT0.01S")
+    Duration initialBackoff;
+
+    @ConfigProperty(name = "wallet.contention-retry.max-backoff", defaultValue = "PT0.2S")
+    Duration maxBackoff;
+
+    /**
+     * Runs the operation, retrying it while it fails on a write conflict.
+     * Fails with a WALLET_CONTENTION {@link TechnicalException} once retries are exhausted;
+     * callers decide how exhaustion is reported (fallback, degradation mode, error response).
+     */
+    public <T> Uni<T> execute(String operation, String walletId, Supplier<Uni<T>> operationSupplier) {
+        return attempt(operation, walletId, operationSupplier, 0);
+    }
+
+    /**
+     * True if the failure is the exhaustion of this retry loop
+     */
+    public static boolean isExhausted(Throwable failure) {
+        return failure instanceof TechnicalException
+                && "WALLET_CONTENTION".equals(((TechnicalException) failure).getErrorCode());
+    }
+
+    /**
+     * True if the failure (or one of its causes) is a version conflict, deadlock or lock wait timeout
+     */
+    public static boolean isContention(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (isExhausted(cause)) {
+                // Already retried by an inner loop
+                return false;
+            }
+            if (cause instanceof OptimisticLockException
+                    || cause instanceof PessimisticLockException
+                    || cause instanceof LockTimeoutException
+                    || cause instanceof StaleStateException
+                    || cause instanceof LockAcquisitionException) {
+                return true;
+            }
+            if (cause instanceof MySQLException) {
+                int errorCode = ((MySQLException) cause).getErrorCode();
+                return errorCode == MYSQL_DEADLOCK || errorCode == MYSQL_LOCK_WAIT_TIMEOUT;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    private <T> Uni<T> attempt(String operation, String walletId, Supplier<Uni<T>> operationSupplier, int retry) {
+        return Uni.createFrom().deferred(operationSupplier::get)
+                .onFailure(ContentionRetry::isContention).recoverWithUni(failure -> {
+                    walletMetrics.recordRetryAttempt(operation, RETRY_TYPE, failure.getClass().getSimpleName());
+                    walletMetrics.recordOptimisticLockContention(operation, walletId);
+
+                    if (retry >= maxRetries) {
+                        Log.warnf("Contention retries exhausted: operation=%s, walletId=%s, attempts=%d",
+                                operation, walletId, retry + 1);
+                        return Uni.createFrom().failure(TechnicalException.walletContention(walletId, failure));
+                    }
+
+                    Duration backoff = backoff(retry);
+                    Log.debugf("Write conflict, retrying: operation=%s, walletId=%s, retry=%d, backoff=%dms",
+                            operation, walletId, retry + 1, backoff.toMillis());
+                    return delay(backoff)
+                            .chain(() -> attempt(operation, walletId, operationSupplier, retry + 1));
+                });
+    }
+
+    /**
+     * Waits for the backoff, then resumes on the caller's Vert.x context (if any):
+     * Hibernate Reactive sessions can only be opened from the event loop.
+     */
+    private static Uni<Void> delay(Duration backoff) {
+        if (backoff.isZero()) {
+            return Uni.createFrom().voidItem();
+        }
+        Uni<Void> delay = Uni.createFrom().voidItem().onItem().delayIt().by(backoff);
+        Context context = Vertx.currentContext();
+        if (context == null) {
+            return delay;
+        }
+        return delay.emitOn(task -> context.runOnContext(ignored -> task.run()));
+    }
+
+    /**
+     * Exponential backoff capped at maxBackoff, with full jitter: a uniform delay in [0, cap]
+     */
+    Duration backoff(int retry) {
+        long capMillis = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(retry, 20));
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(capMillis + 1));
+    }
+}
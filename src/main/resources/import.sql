@@ -1,9 +1,9 @@
 -- Create test wallets
-INSERT INTO wallets (id, userId, balance, status, createdAt, updatedAt) 
-VALUES ('550e8400-e29b-41d4-a716-446655440000', 'test-user-1', 1000.00, 'ACTIVE', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+INSERT INTO wallets (id, userId, balance, status, createdAt, updatedAt, version) 
+VALUES ('550e8400-e29b-41d4-a716-446655440000', 'test-user-1', 1000.00, 'ACTIVE', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0);
 
-INSERT INTO wallets (id, userId, balance, status, createdAt, updatedAt) 
-VALUES ('550e8400-e29b-41d4-a716-446655440001', 'test-user-2', 500.00, 'ACTIVE', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP);
+INSERT INTO wallets (id, userId, balance, status, createdAt, updatedAt, version) 
+VALUES ('550e8400-e29b-41d4-a716-446655440001', 'test-user-2', 500.00, 'ACTIVE', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0);
 
 -- Create test transactions
 INSERT INTO transaction (id, walletId, type, amount, referenceId, status, description, createdAt) 
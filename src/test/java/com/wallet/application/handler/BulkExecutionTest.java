@@ -0,0 +1,148 @@
+package com.wallet.application.handler;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.wallet.application.command.BulkMode;
+import com.wallet.application.command.DepositFundsCommand;
+import com.wallet.application.command.TransferFundsCommand;
+import com.wallet.application.command.WithdrawFundsCommand;
+import com.wallet.core.command.WalletCommand;
+import com.wallet.dto.BulkCommandResult;
+import com.wallet.dto.BulkItemStatus;
+
+@DisplayName("Bulk Execution Tests")
+class BulkExecutionTest {
+
+    private static final String PAYROLL = "wallet-payroll";
+    private static final String ALICE = "wallet-alice";
+    private static final String BOB = "wallet-bob";
+
+    private final Map<String, BigDecimal> balances = Map.of(
+        PAYROLL, new BigDecimal("100.00"),
+        ALICE, BigDecimal.ZERO,
+        BOB, new BigDecimal("5.00"));
+
+    @Test
+    @DisplayName("Should net every wallet's changes into one delta")
+    void shouldNetChangesPerWallet() {
+        BulkExecution execution = new BulkExecution(List.of(
+            new TransferFundsCommand(PAYROLL, ALICE, new BigDecimal("30.00"), "ref-1"),
+            new TransferFundsCommand(PAYROLL, BOB, new BigDecimal("20.00"), "ref-2"),
+            new WithdrawFundsCommand(ALICE, new BigDecimal("10.00"), "ref-3"),
+            new DepositFundsCommand(BOB, new BigDecimal("1.50"), "ref-4")), BulkMode.BEST_EFFORT, balances);
+
+        assertTrue(execution.hasWrites());
+        assertEquals(new BigDecimal("-50.00"), execution.deltas().get(PAYROLL));
+        assertEquals(new BigDecimal("20.00"), execution.deltas().get(ALICE));
+        assertEquals(new BigDecimal("21.50"), execution.deltas().get(BOB));
+        assertEquals(4, execution.transactions().size());
+        assertEquals(4, execution.events().size());
+        assertEquals(4, execution.result().getApplied());
+    }
+
+    @Test
+    @DisplayName("Should apply items in order, so a credit funds a later debit")
+    void shouldApplyItemsInOrder() {
+        BulkExecution execution = new BulkExecution(List.of(
+            new WithdrawFundsCommand(ALICE, new BigDecimal("10.00"), "ref-1"),
+            new DepositFundsCommand(ALICE, new BigDecimal("10.00"), "ref-2"),
+            new WithdrawFundsCommand(ALICE, new BigDecimal("10.00"), "ref-3")), BulkMode.BEST_EFFORT, balances);
+
+        BulkCommandResult result = execution.result();
+        assertEquals(BulkItemStatus.INSUFFICIENT_FUNDS, result.getResults().get(0).getStatus());
+        assertEquals(BulkItemStatus.OK, result.getResults().get(1).getStatus());
+        assertEquals(BulkItemStatus.OK, result.getResults().get(2).getStatus());
+        assertEquals(0, execution.deltas().get(ALICE).signum());
+    }
+
+    @Test
+    @DisplayName("Should skip failing items in best-effort mode")
+    void shouldSkipFailuresInBestEffortMode() {
+        BulkExecution execution = new BulkExecution(bulkWithFailures(), BulkMode.BEST_EFFORT, balances);
+
+        BulkCommandResult result = execution.result();
+        assertTrue(execution.hasWrites());
+        assertEquals(1, result.getApplied());
+        assertEquals(3, result.getFailed());
+        assertEquals(BulkItemStatus.OK, result.getResults().get(0).getStatus());
+        assertNotNull(result.getResults().get(0).getTransactionId());
+        assertEquals(BulkItemStatus.WALLET_NOT_FOUND, result.getResults().get(1).getStatus());
+        assertEquals(BulkItemStatus.SAME_WALLET, result.getResults().get(2).getStatus());
+        assertEquals(BulkItemStatus.INVALID_AMOUNT, result.getResults().get(3).getStatus());
+        assertEquals(Map.of(ALICE, new BigDecimal("10.00")), execution.deltas());
+    }
+
+    @Test
+    @DisplayName("Should write nothing and abort valid items in all-or-nothing mode")
+    void shouldAbortAllOnFailure() {
+        BulkExecution execution = new BulkExecution(bulkWithFailures(), BulkMode.ALL_OR_NOTHING, balances);
+
+        BulkCommandResult result = execution.result();
+        assertFalse(execution.hasWrites());
+        assertEquals(0, result.getApplied());
+        assertEquals(3, result.getFailed());
+        assertEquals(BulkItemStatus.ABORTED, result.getResults().get(0).getStatus());
+        assertNull(result.getResults().get(0).getTransactionId());
+        assertEquals(BulkItemStatus.WALLET_NOT_FOUND, result.getResults().get(1).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should report a reference id repeated within the bulk instead of applying it twice")
+    void shouldReportReferenceRepeatedInBulk() {
+        BulkExecution execution = new BulkExecution(List.of(
+            new DepositFundsCommand(ALICE, new BigDecimal("10.00"), "ref-1"),
+            new DepositFundsCommand(BOB, new BigDecimal("10.00"), "ref-1")), BulkMode.BEST_EFFORT, balances);
+
+        BulkCommandResult result = execution.result();
+        assertEquals(BulkItemStatus.OK, result.getResults().get(0).getStatus());
+        assertEquals(BulkItemStatus.DUPLICATE_REFERENCE, result.getResults().get(1).getStatus());
+        assertNull(result.getResults().get(1).getTransactionId());
+        assertEquals(1, execution.transactions().size());
+        assertEquals(Map.of(ALICE, new BigDecimal("10.00")), execution.deltas());
+    }
+
+    @Test
+    @DisplayName("Should report a reference id already recorded with its transaction id")
+    void shouldReportRecordedReference() {
+        BulkExecution execution = new BulkExecution(List.of(
+            new WithdrawFundsCommand(PAYROLL, new BigDecimal("10.00"), "ref-1"),
+            new DepositFundsCommand(ALICE, new BigDecimal("10.00"), "ref-2")), BulkMode.BEST_EFFORT, balances,
+            Map.of("ref-1", "tx-1"));
+
+        BulkCommandResult result = execution.result();
+        assertEquals(BulkItemStatus.DUPLICATE_REFERENCE, result.getResults().get(0).getStatus());
+        assertEquals("tx-1", result.getResults().get(0).getTransactionId());
+        assertEquals(BulkItemStatus.OK, result.getResults().get(1).getStatus());
+        assertEquals(1, execution.transactions().size());
+        assertFalse(execution.deltas().containsKey(PAYROLL));
+    }
+
+    @Test
+    @DisplayName("Should abort the bulk on a duplicate reference in all-or-nothing mode")
+    void shouldAbortOnDuplicateReference() {
+        BulkExecution execution = new BulkExecution(List.of(
+            new DepositFundsCommand(ALICE, new BigDecimal("10.00"), "ref-1"),
+            new DepositFundsCommand(BOB, new BigDecimal("10.00"), "ref-2")), BulkMode.ALL_OR_NOTHING, balances,
+            Map.of("ref-2", "tx-2"));
+
+        BulkCommandResult result = execution.result();
+        assertFalse(execution.hasWrites());
+        assertEquals(BulkItemStatus.ABORTED, result.getResults().get(0).getStatus());
+        assertEquals(BulkItemStatus.DUPLICATE_REFERENCE, result.getResults().get(1).getStatus());
+    }
+
+    private static List<WalletCommand> bulkWithFailures() {
+        return List.of(
+            new DepositFundsCommand(ALICE, new BigDecimal("10.00"), "ref-1"),
+            new DepositFundsCommand("wallet-unknown", new BigDecimal("10.00"), "ref-2"),
+            new TransferFundsCommand(BOB, BOB, new BigDecimal("1.00"), "ref-3"),
+            new WithdrawFundsCommand(BOB, BigDecimal.ZERO, "ref-4"));
+    }
+}
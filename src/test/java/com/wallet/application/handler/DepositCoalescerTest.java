@@ -0,0 +1,183 @@
+package com.wallet.application.handler;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedStatic;
+
+import com.wallet.application.command.DepositFundsCommand;
+import com.wallet.domain.model.Transaction;
+import com.wallet.domain.model.Wallet;
+import com.wallet.infrastructure.cache.WalletStateCache;
+import com.wallet.infrastructure.metrics.WalletMetrics;
+import com.wallet.infrastructure.outbox.OutboxEventCollector;
+import com.wallet.infrastructure.outbox.OutboxEventService;
+import com.wallet.infrastructure.persistence.TransactionRepository;
+import com.wallet.infrastructure.persistence.WalletRepository;
+import com.wallet.infrastructure.resilience.ContentionRetry;
+
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+
+@DisplayName("Deposit Coalescer Tests")
+class DepositCoalescerTest {
+
+    private static final String WALLET_ID = "wallet-merchant";
+
+    private DepositCoalescer coalescer;
+    private WalletRepository walletWriteRepository;
+    private TransactionRepository transactionRepository;
+    private WalletStateCache walletCache;
+    private WalletMetrics walletMetrics;
+    private ContentionRetry contentionRetry;
+    private MockedStatic<Panache> panache;
+    private Wallet wallet;
+
+    private final List<String> depositedAlone = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        // Static mocks only apply to this thread, so batches must be written on it
+        panache = mockStatic(Panache.class);
+        panache.when(() -> Panache.withTransaction(any(Supplier.class)))
+            .thenAnswer(invocation -> ((Supplier<Uni<?>>) invocation.getArgument(0)).get());
+
+        wallet = new Wallet();
+        wallet.setId(WALLET_ID);
+        wallet.setBalance(new BigDecimal("100.00"));
+
+        walletWriteRepository = mock(WalletRepository.class);
+        transactionRepository = mock(TransactionRepository.class);
+        walletCache = mock(WalletStateCache.class);
+        walletMetrics = mock(WalletMetrics.class);
+        contentionRetry = mock(ContentionRetry.class);
+        OutboxEventService outboxEventService = mock(OutboxEventService.class);
+
+        when(walletWriteRepository.creditBalance(eq(WALLET_ID), any(BigDecimal.class)))
+            .thenReturn(Uni.createFrom().item(true));
+        when(walletWriteRepository.findById(WALLET_ID)).thenReturn(Uni.createFrom().item(wallet));
+        when(transactionRepository.insertAll(anyList()))
+            .thenAnswer(invocation -> Uni.createFrom().item(((List<?>) invocation.getArgument(0)).size()));
+        when(outboxEventService.storeAll(any(OutboxEventCollector.class)))
+            .thenAnswer(invocation -> Uni.createFrom().item(((OutboxEventCollector) invocation.getArgument(0)).size()));
+        when(walletCache.updateWallet(any(Wallet.class))).thenReturn(Uni.createFrom().voidItem());
+        when(contentionRetry.execute(any(), any(), any(Supplier.class)))
+            .thenAnswer(invocation -> ((Supplier<Uni<?>>) invocation.getArgument(2)).get());
+
+        coalescer = new DepositCoalescer();
+        coalescer.walletWriteRepository = walletWriteRepository;
+        coalescer.transactionRepository = transactionRepository;
+        coalescer.walletCache = walletCache;
+        coalescer.walletMetrics = walletMetrics;
+        coalescer.outboxEventService = outboxEventService;
+        coalescer.contentionRetry = contentionRetry;
+        coalescer.enabled = true;
+        coalescer.walletIds = Optional.of(List.of(WALLET_ID));
+        coalescer.window = Duration.ofMinutes(1);
+        coalescer.maxBatchSize = 2;
+        coalescer.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        panache.close();
+    }
+
+    @Test
+    @DisplayName("Should write a full batch at once, without waiting for the window")
+    @SuppressWarnings("unchecked")
+    void shouldFlushFullBatch() {
+        UniAssertSubscriber<String> first = submit("10.00", "ref-1");
+        UniAssertSubscriber<String> second = submit("20.00", "ref-2");
+
+        String firstId = first.assertCompleted().getItem();
+        String secondId = second.assertCompleted().getItem();
+        assertNotEquals(firstId, secondId);
+
+        ArgumentCaptor<List<Transaction>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(walletWriteRepository).creditBalance(WALLET_ID, new BigDecimal("30.00"));
+        verify(transactionRepository).insertAll(inserted.capture());
+        assertEquals(List.of(firstId, secondId), inserted.getValue().stream().map(Transaction::getId).toList());
+        verify(walletMetrics).recordDepositBatchSize(2);
+        verify(walletCache).updateWallet(wallet);
+    }
+
+    @Test
+    @DisplayName("Should write a partial batch when the window elapses")
+    void shouldFlushWhenWindowElapses() {
+        coalescer.window = Duration.ofMillis(200);
+        coalescer.maxBatchSize = 10;
+        // The timer flushes on another thread, where the Panache mock does not apply: only check
+        // that the batch is handed over whole, writing it is covered by the full batch test
+        doReturn(Uni.createFrom().item(wallet))
+            .when(contentionRetry).execute(eq("DepositBatch"), eq(WALLET_ID), any());
+
+        UniAssertSubscriber<String> first = submit("10.00", "ref-1");
+        UniAssertSubscriber<String> second = submit("20.00", "ref-2");
+
+        first.assertNotTerminated();
+        second.assertNotTerminated();
+        verify(contentionRetry, never()).execute(any(), any(), any());
+
+        String firstId = first.awaitItem(Duration.ofSeconds(5)).getItem();
+        String secondId = second.awaitItem(Duration.ofSeconds(5)).getItem();
+        assertNotEquals(firstId, secondId);
+        verify(contentionRetry).execute(eq("DepositBatch"), eq(WALLET_ID), any());
+        verify(walletMetrics).recordDepositBatchSize(2);
+    }
+
+    @Test
+    @DisplayName("Should replay a failed batch one deposit at a time, completing each caller once")
+    void shouldReplayFailedBatchOneByOne() {
+        coalescer.maxBatchSize = 3;
+        doReturn(Uni.createFrom().failure(new IllegalStateException("Duplicate entry 'ref-2'")))
+            .when(transactionRepository).insertAll(anyList());
+        Function<DepositFundsCommand, Uni<String>> depositAlone = command -> {
+            depositedAlone.add(command.getReferenceId());
+            return "ref-2".equals(command.getReferenceId())
+                ? Uni.createFrom().failure(new IllegalStateException("Duplicate entry 'ref-2'"))
+                : Uni.createFrom().item("txn-" + command.getReferenceId());
+        };
+
+        List<String> outcomes = Collections.synchronizedList(new ArrayList<>());
+        for (String referenceId : List.of("ref-1", "ref-2", "ref-3")) {
+            coalescer.submit(new DepositFundsCommand(WALLET_ID, new BigDecimal("10.00"), referenceId), depositAlone)
+                .subscribe().with(
+                    transactionId -> outcomes.add(referenceId + " -> " + transactionId),
+                    failure -> outcomes.add(referenceId + " failed"));
+        }
+
+        assertEquals(List.of("ref-1", "ref-2", "ref-3"), depositedAlone);
+        assertEquals(3, outcomes.size());
+        assertEquals(Set.of("ref-1 -> txn-ref-1", "ref-2 failed", "ref-3 -> txn-ref-3"),
+            outcomes.stream().collect(Collectors.toSet()));
+        verify(walletCache, never()).updateWallet(any());
+    }
+
+    private UniAssertSubscriber<String> submit(String amount, String referenceId) {
+        DepositFundsCommand command = new DepositFundsCommand(WALLET_ID, new BigDecimal(amount), referenceId);
+        return coalescer.submit(command, ignored -> Uni.createFrom().failure(new AssertionError("Not replayed")))
+            .subscribe().withSubscriber(UniAssertSubscriber.create());
+    }
+}
@@ -0,0 +1,109 @@
+package com.wallet.application.handler;
+
+import com.wallet.application.query.GetHistoricalBalanceQuery;
+import com.wallet.domain.model.BalanceSnapshot;
+import com.wallet.domain.model.Wallet;
+import com.wallet.dto.HistoricalBalanceResponse;
+import com.wallet.infrastructure.metrics.WalletMetrics;
+import com.wallet.infrastructure.persistence.BalanceDelta;
+import com.wallet.infrastructure.persistence.BalanceSnapshotReadRepository;
+import com.wallet.infrastructure.persistence.TransactionReadRepository;
+import com.wallet.infrastructure.persistence.WalletReadRepository;
+import io.micrometer.core.instrument.Timer;
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class GetHistoricalBalanceQueryHandlerTest {
+
+    private static final String WALLET_ID = "wallet-123";
+    private static final LocalDateTime AT = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+    @InjectMocks
+    GetHistoricalBalanceQueryHandler handler;
+
+    @Mock
+    WalletReadRepository walletReadRepository;
+
+    @Mock
+    TransactionReadRepository transactionRepository;
+
+    @Mock
+    BalanceSnapshotReadRepository snapshotReadRepository;
+
+    @Mock
+    WalletMetrics walletMetrics;
+
+    @BeforeEach
+    void setUp() {
+        Wallet wallet = new Wallet();
+        wallet.setId(WALLET_ID);
+
+        when(walletMetrics.startQueryTimer()).thenReturn(mock(Timer.Sample.class));
+        when(walletReadRepository.findById(WALLET_ID)).thenReturn(Uni.createFrom().item(wallet));
+    }
+
+    @Test
+    void shouldSumOnlyTransactionsAfterNearestSnapshot() {
+        // Given
+        LocalDateTime snapshotAt = AT.minusHours(1);
+        BalanceSnapshot snapshot = new BalanceSnapshot(WALLET_ID, new BigDecimal("500.00"), snapshotAt, 1000);
+        when(snapshotReadRepository.findLatestAtOrBefore(WALLET_ID, AT)).thenReturn(Uni.createFrom().item(snapshot));
+        when(transactionRepository.sumSignedAmounts(WALLET_ID, snapshotAt, AT))
+            .thenReturn(Uni.createFrom().item(new BalanceDelta(new BigDecimal("15.00"), 2)));
+
+        // When
+        HistoricalBalanceResponse response = handler.handle(new GetHistoricalBalanceQuery(WALLET_ID, AT))
+            .await().indefinitely();
+
+        // Then
+        assertEquals(new BigDecimal("515.00"), response.getBalance());
+        verify(transactionRepository, never()).sumSignedAmounts(eq(WALLET_ID), isNull(), any());
+        verify(walletMetrics).recordHistoricalReplayLength(2);
+    }
+
+    @Test
+    void shouldSumFullHistoryWithoutSnapshot() {
+        // Given
+        when(snapshotReadRepository.findLatestAtOrBefore(WALLET_ID, AT)).thenReturn(Uni.createFrom().nullItem());
+        when(transactionRepository.sumSignedAmounts(WALLET_ID, null, AT))
+            .thenReturn(Uni.createFrom().item(new BalanceDelta(new BigDecimal("70.00"), 2)));
+
+        // When
+        HistoricalBalanceResponse response = handler.handle(new GetHistoricalBalanceQuery(WALLET_ID, AT))
+            .await().indefinitely();
+
+        // Then
+        assertEquals(new BigDecimal("70.00"), response.getBalance());
+        verify(walletMetrics).incrementQueries();
+    }
+
+    @Test
+    void shouldFailWhenWalletIsMissing() {
+        // Given
+        when(walletReadRepository.findById(WALLET_ID)).thenReturn(Uni.createFrom().nullItem());
+
+        // When & Then
+        Uni<HistoricalBalanceResponse> result = handler.handle(new GetHistoricalBalanceQuery(WALLET_ID, AT));
+
+        assertThrows(IllegalArgumentException.class, () -> result.await().indefinitely());
+        verifyNoInteractions(snapshotReadRepository);
+        verify(walletMetrics).incrementFailedOperations("query");
+    }
+}
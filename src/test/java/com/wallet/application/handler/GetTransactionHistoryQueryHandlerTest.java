@@ -0,0 +1,120 @@
+package com.wallet.application.handler;
+
+import com.wallet.application.query.GetTransactionHistoryQuery;
+import com.wallet.application.query.TransactionCursor;
+import com.wallet.domain.model.Transaction;
+import com.wallet.domain.model.TransactionStatus;
+import com.wallet.domain.model.TransactionType;
+import com.wallet.domain.model.Wallet;
+import com.wallet.dto.TransactionHistoryPage;
+import com.wallet.exception.WalletNotFoundException;
+import com.wallet.infrastructure.metrics.WalletMetrics;
+import com.wallet.infrastructure.persistence.TransactionReadRepository;
+import com.wallet.infrastructure.persistence.WalletReadRepository;
+import io.micrometer.core.instrument.Timer;
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class GetTransactionHistoryQueryHandlerTest {
+
+    private static final String WALLET_ID = "wallet-123";
+
+    @InjectMocks
+    GetTransactionHistoryQueryHandler handler;
+
+    @Mock
+    WalletReadRepository walletReadRepository;
+
+    @Mock
+    TransactionReadRepository transactionRepository;
+
+    @Mock
+    WalletMetrics walletMetrics;
+
+    @BeforeEach
+    void setUp() {
+        Wallet wallet = new Wallet();
+        wallet.setId(WALLET_ID);
+
+        when(walletMetrics.startQueryTimer()).thenReturn(mock(Timer.Sample.class));
+        when(walletReadRepository.findById(WALLET_ID)).thenReturn(Uni.createFrom().item(wallet));
+    }
+
+    @Test
+    void shouldReturnCursorAfterLastTransactionWhenMoreRemain() {
+        // Given
+        Transaction first = transaction("txn-1");
+        Transaction second = transaction("txn-2");
+        when(transactionRepository.findHistoryPage(WALLET_ID, null, null, 3))
+            .thenReturn(Uni.createFrom().item(List.of(first, second, transaction("txn-3"))));
+
+        // When
+        TransactionHistoryPage page = handler.handle(new GetTransactionHistoryQuery(WALLET_ID, null, 2))
+            .await().indefinitely();
+
+        // Then
+        assertEquals(List.of("txn-1", "txn-2"), page.getTransactions().stream().map(t -> t.getId()).toList());
+        TransactionCursor next = TransactionCursor.decode(page.getNextCursor());
+        assertEquals(second.getCreatedAt(), next.createdAt());
+        assertEquals("txn-2", next.id());
+    }
+
+    @Test
+    void shouldContinueAfterCursorAndEndOnShortPage() {
+        // Given
+        TransactionCursor cursor = new TransactionCursor(LocalDateTime.of(2025, 1, 1, 12, 0, 0, 123000), "txn-2");
+        when(transactionRepository.findHistoryPage(WALLET_ID, cursor.createdAt(), "txn-2", 3))
+            .thenReturn(Uni.createFrom().item(List.of(transaction("txn-3"))));
+
+        // When
+        TransactionHistoryPage page = handler.handle(
+            new GetTransactionHistoryQuery(WALLET_ID, TransactionCursor.decode(cursor.encode()), 2)
+        ).await().indefinitely();
+
+        // Then
+        assertEquals(1, page.getTransactions().size());
+        assertNull(page.getNextCursor());
+        verify(walletMetrics).incrementQueries();
+    }
+
+    @Test
+    void shouldFailWithWalletNotFoundWhenWalletIsMissing() {
+        // Given
+        when(walletReadRepository.findById(WALLET_ID)).thenReturn(Uni.createFrom().nullItem());
+
+        // When & Then
+        Uni<TransactionHistoryPage> result = handler.handle(new GetTransactionHistoryQuery(WALLET_ID, null, 50));
+
+        assertThrows(WalletNotFoundException.class, () -> result.await().indefinitely());
+        verify(transactionRepository, never()).findHistoryPage(any(), isNull(), isNull(), anyInt());
+        verify(walletMetrics).incrementFailedOperations("query");
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> TransactionCursor.decode("not-a-cursor"));
+    }
+
+    private static Transaction transaction(String id) {
+        return new Transaction(id, WALLET_ID, TransactionType.DEPOSIT, new BigDecimal("10.00"),
+            "ref-" + id, TransactionStatus.COMPLETED);
+    }
+}
@@ -0,0 +1,148 @@
+package com.wallet.application.handler;
+
+import com.wallet.application.query.GetWalletsQuery;
+import com.wallet.domain.model.Wallet;
+import com.wallet.infrastructure.cache.WalletProjectionStore;
+import com.wallet.infrastructure.cache.WalletStateCache;
+import com.wallet.infrastructure.metrics.WalletMetrics;
+import com.wallet.infrastructure.persistence.WalletReadRepository;
+import io.micrometer.core.instrument.Timer;
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class GetWalletsQueryHandlerTest {
+
+    @InjectMocks
+    GetWalletsQueryHandler handler;
+
+    @Mock
+    WalletReadRepository walletRepository;
+
+    @Mock
+    WalletStateCache walletCache;
+
+    @Mock
+    WalletProjectionStore projectionStore;
+
+    @Mock
+    WalletMetrics walletMetrics;
+
+    @BeforeEach
+    void setUp() {
+        when(walletMetrics.startQueryTimer()).thenReturn(mock(Timer.Sample.class));
+        when(walletCache.cacheWallets(any())).thenReturn(Uni.createFrom().voidItem());
+        when(projectionStore.getWallets(any())).thenAnswer(invocation -> Uni.createFrom().item(new HashMap<>()));
+    }
+
+    @Test
+    void shouldNotQueryDatabaseWhenAllWalletsAreCached() {
+        // Given
+        Map<String, Wallet> cached = new HashMap<>(Map.of("w-1", wallet("w-1"), "w-2", wallet("w-2")));
+        when(walletCache.getWallets(List.of("w-2", "w-1"))).thenReturn(Uni.createFrom().item(cached));
+
+        // When
+        List<Wallet> wallets = handler.handle(new GetWalletsQuery(List.of("w-2", "w-1")))
+            .await().indefinitely();
+
+        // Then
+        assertEquals(List.of("w-2", "w-1"), wallets.stream().map(Wallet::getId).toList());
+        verify(walletRepository, never()).findByIds(any());
+        verify(walletCache, never()).cacheWallets(any());
+        verify(projectionStore, never()).getWallets(any());
+    }
+
+    @Test
+    void shouldLoadOnlyMissesInOneQueryAndCacheThem() {
+        // Given
+        Map<String, Wallet> cached = new HashMap<>(Map.of("w-2", wallet("w-2")));
+        when(walletCache.getWallets(List.of("w-1", "w-2", "w-3"))).thenReturn(Uni.createFrom().item(cached));
+        List<Wallet> loaded = List.of(wallet("w-3"), wallet("w-1"));
+        when(walletRepository.findByIds(List.of("w-1", "w-3"))).thenReturn(Uni.createFrom().item(loaded));
+
+        // When
+        List<Wallet> wallets = handler.handle(new GetWalletsQuery(List.of("w-1", "w-2", "w-3")))
+            .await().indefinitely();
+
+        // Then
+        assertEquals(List.of("w-1", "w-2", "w-3"), wallets.stream().map(Wallet::getId).toList());
+        verify(walletRepository).findByIds(List.of("w-1", "w-3"));
+        verify(walletCache).cacheWallets(loaded);
+    }
+
+    @Test
+    void shouldServeMissesFromProjectionAndReadOnlyUnprojectedWalletsFromReplica() {
+        // Given
+        Map<String, Wallet> cached = new HashMap<>(Map.of("w-2", wallet("w-2")));
+        when(walletCache.getWallets(List.of("w-1", "w-2", "w-3"))).thenReturn(Uni.createFrom().item(cached));
+        when(projectionStore.getWallets(List.of("w-1", "w-3")))
+            .thenReturn(Uni.createFrom().item(new HashMap<>(Map.of("w-1", wallet("w-1")))));
+        List<Wallet> loaded = List.of(wallet("w-3"));
+        when(walletRepository.findByIds(List.of("w-3"))).thenReturn(Uni.createFrom().item(loaded));
+
+        // When
+        List<Wallet> wallets = handler.handle(new GetWalletsQuery(List.of("w-1", "w-2", "w-3")))
+            .await().indefinitely();
+
+        // Then
+        assertEquals(List.of("w-1", "w-2", "w-3"), wallets.stream().map(Wallet::getId).toList());
+        verify(walletRepository).findByIds(List.of("w-3"));
+        // Projected wallets have no row version for the cache's guard
+        verify(walletCache).cacheWallets(loaded);
+    }
+
+    @Test
+    void shouldNotQueryReplicaWhenProjectionHasAllMisses() {
+        // Given
+        when(walletCache.getWallets(List.of("w-1"))).thenReturn(Uni.createFrom().item(new HashMap<>()));
+        when(projectionStore.getWallets(List.of("w-1")))
+            .thenReturn(Uni.createFrom().item(new HashMap<>(Map.of("w-1", wallet("w-1")))));
+
+        // When
+        List<Wallet> wallets = handler.handle(new GetWalletsQuery(List.of("w-1")))
+            .await().indefinitely();
+
+        // Then
+        assertEquals(List.of("w-1"), wallets.stream().map(Wallet::getId).toList());
+        verify(walletRepository, never()).findByIds(any());
+        verify(walletCache, never()).cacheWallets(any());
+    }
+
+    @Test
+    void shouldLeaveOutUnknownWalletsAndDuplicates() {
+        // Given
+        when(walletCache.getWallets(List.of("w-1", "missing"))).thenReturn(Uni.createFrom().item(new HashMap<>()));
+        when(walletRepository.findByIds(List.of("w-1", "missing")))
+            .thenReturn(Uni.createFrom().item(List.of(wallet("w-1"))));
+
+        // When
+        List<Wallet> wallets = handler.handle(new GetWalletsQuery(List.of("w-1", "missing", "w-1")))
+            .await().indefinitely();
+
+        // Then
+        assertEquals(List.of("w-1"), wallets.stream().map(Wallet::getId).toList());
+        verify(walletMetrics).incrementQueries();
+    }
+
+    private static Wallet wallet(String id) {
+        Wallet wallet = new Wallet();
+        wallet.setId(id);
+        return wallet;
+    }
+}
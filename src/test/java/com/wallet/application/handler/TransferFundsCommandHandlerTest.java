@@ -0,0 +1,153 @@
+package com.wallet.application.handler;
+
+import com.wallet.application.command.TransferFundsCommand;
+import com.wallet.domain.model.Transaction;
+import com.wallet.domain.model.Wallet;
+import com.wallet.exception.InsufficientFundsException;
+import com.wallet.infrastructure.cache.WalletStateCache;
+import com.wallet.infrastructure.metrics.WalletMetrics;
+import com.wallet.infrastructure.outbox.OutboxEventCollector;
+import com.wallet.infrastructure.outbox.OutboxEventService;
+import com.wallet.infrastructure.persistence.TransactionRepository;
+import com.wallet.infrastructure.persistence.WalletRepository;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class TransferFundsCommandHandlerTest {
+
+    private static final String SOURCE_ID = "wallet-a";
+    private static final String DESTINATION_ID = "wallet-b";
+    private static final BigDecimal AMOUNT = new BigDecimal("25.00");
+
+    @InjectMocks
+    TransferFundsCommandHandler handler;
+
+    @Mock
+    WalletRepository walletWriteRepository;
+
+    @Mock
+    TransactionRepository transactionRepository;
+
+    @Mock
+    WalletStateCache walletCache;
+
+    @Mock
+    WalletMetrics walletMetrics;
+
+    @Mock
+    OutboxEventService outboxEventService;
+
+    private Wallet source;
+    private Wallet destination;
+
+    private MockedStatic<Panache> panache;
+    private final AtomicBoolean inTransaction = new AtomicBoolean();
+    private final AtomicBoolean cachedInTransaction = new AtomicBoolean();
+
+    @BeforeEach
+    void setUp() {
+        panache = mockStatic(Panache.class);
+        panache.when(() -> Panache.withTransaction(any(Supplier.class))).thenAnswer(invocation -> {
+            Supplier<Uni<?>> work = invocation.getArgument(0);
+            return Uni.createFrom().deferred(() -> {
+                inTransaction.set(true);
+                return work.get();
+            }).eventually(() -> inTransaction.set(false));
+        });
+
+        source = new Wallet();
+        source.setId(SOURCE_ID);
+        source.setBalance(new BigDecimal("75.00"));
+        destination = new Wallet();
+        destination.setId(DESTINATION_ID);
+        destination.setBalance(new BigDecimal("25.00"));
+
+        when(walletMetrics.startTransferTimer()).thenReturn(mock(Timer.Sample.class));
+        when(walletWriteRepository.findById(SOURCE_ID)).thenReturn(Uni.createFrom().item(source));
+        when(walletWriteRepository.findById(DESTINATION_ID)).thenReturn(Uni.createFrom().item(destination));
+        when(walletWriteRepository.creditBalance(DESTINATION_ID, AMOUNT)).thenReturn(Uni.createFrom().item(true));
+        when(transactionRepository.persist(any(Transaction.class)))
+            .thenAnswer(invocation -> Uni.createFrom().item(invocation.getArgument(0)));
+        when(walletCache.updateWallets(anyList())).thenAnswer(invocation -> {
+            cachedInTransaction.compareAndSet(false, inTransaction.get());
+            return Uni.createFrom().voidItem();
+        });
+        when(outboxEventService.storeAll(any(OutboxEventCollector.class))).thenReturn(Uni.createFrom().item(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        panache.close();
+    }
+
+    @Test
+    void shouldStoreFundsTransferredEventInOutbox() {
+        // Given
+        when(walletWriteRepository.debitBalance(SOURCE_ID, AMOUNT)).thenReturn(Uni.createFrom().item(true));
+
+        // When
+        String transactionId = handler.handle(
+            new TransferFundsCommand(SOURCE_ID, DESTINATION_ID, AMOUNT, "ref-1")
+        ).await().indefinitely();
+
+        // Then
+        assertNotNull(transactionId);
+        ArgumentCaptor<OutboxEventCollector> events = ArgumentCaptor.forClass(OutboxEventCollector.class);
+        verify(outboxEventService).storeAll(events.capture());
+        assertEquals(1, events.getValue().size());
+        verify(walletCache).updateWallets(List.of(source, destination));
+        assertFalse(cachedInTransaction.get());
+        verify(walletMetrics).incrementTransfers();
+    }
+
+    @Test
+    void shouldNotStoreEventWhenSourceHasInsufficientFunds() {
+        // Given
+        when(walletWriteRepository.debitBalance(SOURCE_ID, AMOUNT)).thenReturn(Uni.createFrom().item(false));
+
+        // When & Then
+        Uni<String> result = handler.handle(new TransferFundsCommand(SOURCE_ID, DESTINATION_ID, AMOUNT, "ref-2"));
+
+        assertThrows(InsufficientFundsException.class, () -> result.await().indefinitely());
+        verify(transactionRepository, never()).persist(any(Transaction.class));
+        verify(outboxEventService, never()).storeAll(any(OutboxEventCollector.class));
+    }
+
+    @Test
+    void shouldNotCacheWalletsWhenTransferRollsBack() {
+        // Given
+        when(walletWriteRepository.debitBalance(SOURCE_ID, AMOUNT)).thenReturn(Uni.createFrom().item(true));
+        when(outboxEventService.storeAll(any(OutboxEventCollector.class)))
+            .thenReturn(Uni.createFrom().failure(new IllegalStateException("Deadlock found")));
+
+        // When & Then
+        Uni<String> result = handler.handle(new TransferFundsCommand(SOURCE_ID, DESTINATION_ID, AMOUNT, "ref-3"));
+
+        assertThrows(IllegalStateException.class, () -> result.await().indefinitely());
+        verify(walletCache, never()).updateWallets(anyList());
+    }
+}
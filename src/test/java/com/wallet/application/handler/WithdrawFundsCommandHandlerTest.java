@@ -0,0 +1,169 @@
+package com.wallet.application.handler;
+
+import com.wallet.application.command.WithdrawFundsCommand;
+import com.wallet.domain.model.Transaction;
+import com.wallet.domain.model.Wallet;
+import com.wallet.exception.InsufficientFundsException;
+import com.wallet.exception.WalletNotFoundException;
+import com.wallet.infrastructure.cache.WalletStateCache;
+import com.wallet.infrastructure.metrics.WalletMetrics;
+import com.wallet.infrastructure.outbox.OutboxEventCollector;
+import com.wallet.infrastructure.outbox.OutboxEventService;
+import com.wallet.infrastructure.persistence.TransactionRepository;
+import com.wallet.infrastructure.persistence.WalletRepository;
+import io.micrometer.core.instrument.Timer;
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class WithdrawFundsCommandHandlerTest {
+
+    private static final String WALLET_ID = "wallet-123";
+
+    @InjectMocks
+    WithdrawFundsCommandHandler handler;
+
+    @Mock
+    WalletRepository walletWriteRepository;
+
+    @Mock
+    TransactionRepository transactionRepository;
+
+    @Mock
+    WalletStateCache walletCache;
+
+    @Mock
+    WalletMetrics walletMetrics;
+
+    @Mock
+    OutboxEventService outboxEventService;
+
+    private Wallet wallet;
+
+    private MockedStatic<Panache> panache;
+    private final AtomicBoolean inTransaction = new AtomicBoolean();
+    private final AtomicBoolean cachedInTransaction = new AtomicBoolean();
+
+    @BeforeEach
+    void setUp() {
+        panache = mockStatic(Panache.class);
+        panache.when(() -> Panache.withTransaction(any(Supplier.class))).thenAnswer(invocation -> {
+            Supplier<Uni<?>> work = invocation.getArgument(0);
+            return Uni.createFrom().deferred(() -> {
+                inTransaction.set(true);
+                return work.get();
+            }).eventually(() -> inTransaction.set(false));
+        });
+
+        wallet = new Wallet();
+        wallet.setId(WALLET_ID);
+        wallet.setBalance(new BigDecimal("40.00"));
+
+        when(walletMetrics.startWithdrawalTimer()).thenReturn(mock(Timer.Sample.class));
+        when(walletWriteRepository.findById(WALLET_ID)).thenReturn(Uni.createFrom().item(wallet));
+        when(transactionRepository.persist(any(Transaction.class)))
+            .thenAnswer(invocation -> Uni.createFrom().item(invocation.getArgument(0)));
+        when(walletCache.updateWallet(any(Wallet.class))).thenAnswer(invocation -> {
+            cachedInTransaction.compareAndSet(false, inTransaction.get());
+            return Uni.createFrom().voidItem();
+        });
+        when(outboxEventService.storeAll(any(OutboxEventCollector.class))).thenReturn(Uni.createFrom().item(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        panache.close();
+    }
+
+    @Test
+    void shouldDebitWithSingleGuardedUpdate() {
+        // Given
+        when(walletWriteRepository.debitBalance(WALLET_ID, new BigDecimal("10.00")))
+            .thenReturn(Uni.createFrom().item(true));
+
+        // When
+        String transactionId = handler.handle(
+            new WithdrawFundsCommand(WALLET_ID, new BigDecimal("10.00"), "ref-1")
+        ).await().indefinitely();
+
+        // Then
+        assertNotNull(transactionId);
+        verify(walletWriteRepository).debitBalance(WALLET_ID, new BigDecimal("10.00"));
+        verify(walletWriteRepository, never()).persist(any(Wallet.class));
+        verify(walletCache).updateWallet(wallet);
+        assertFalse(cachedInTransaction.get());
+        verify(walletMetrics).incrementWithdrawals();
+    }
+
+    @Test
+    void shouldStoreFundsWithdrawnEventInOutbox() {
+        // Given
+        when(walletWriteRepository.debitBalance(WALLET_ID, new BigDecimal("10.00")))
+            .thenReturn(Uni.createFrom().item(true));
+
+        // When
+        handler.handle(new WithdrawFundsCommand(WALLET_ID, new BigDecimal("10.00"), "ref-1"))
+            .await().indefinitely();
+
+        // Then
+        ArgumentCaptor<OutboxEventCollector> events = ArgumentCaptor.forClass(OutboxEventCollector.class);
+        verify(outboxEventService).storeAll(events.capture());
+        assertEquals(1, events.getValue().size());
+    }
+
+    @Test
+    void shouldFailWithInsufficientFundsWhenGuardRejectsUpdate() {
+        // Given
+        when(walletWriteRepository.debitBalance(WALLET_ID, new BigDecimal("100.00")))
+            .thenReturn(Uni.createFrom().item(false));
+
+        // When & Then
+        Uni<String> result = handler.handle(
+            new WithdrawFundsCommand(WALLET_ID, new BigDecimal("100.00"), "ref-2")
+        );
+
+        InsufficientFundsException exception = assertThrows(InsufficientFundsException.class,
+            () -> result.await().indefinitely());
+        assertEquals(new BigDecimal("40.00"), exception.getAvailableAmount());
+        verify(transactionRepository, never()).persist(any(Transaction.class));
+        verify(walletCache, never()).updateWallet(any(Wallet.class));
+        verify(walletMetrics).incrementFailedOperations("withdrawal");
+    }
+
+    @Test
+    void shouldFailWithWalletNotFoundWhenWalletIsMissing() {
+        // Given
+        when(walletWriteRepository.debitBalance(WALLET_ID, new BigDecimal("10.00")))
+            .thenReturn(Uni.createFrom().item(false));
+        when(walletWriteRepository.findById(WALLET_ID)).thenReturn(Uni.createFrom().nullItem());
+
+        // When & Then
+        Uni<String> result = handler.handle(
+            new WithdrawFundsCommand(WALLET_ID, new BigDecimal("10.00"), "ref-3")
+        );
+
+        assertThrows(WalletNotFoundException.class, () -> result.await().indefinitely());
+        verify(transactionRepository, never()).persist(any(Transaction.class));
+        verify(outboxEventService, never()).storeAll(any(OutboxEventCollector.class));
+    }
+}
@@ -114,7 +114,7 @@ class ResilientWalletServiceTest {
             // Act & Assert
             resilientWalletService.depositFundsWithRetry(walletId, amount, referenceId)
                 .subscribe().withSubscriber(UniAssertSubscriber.create())
-                .assertCompleted()
+                .awaitItem()
                 .assertItem(transactionId);
 
             // Verify retry attempts were recorded
@@ -139,7 +139,7 @@ class ResilientWalletServiceTest {
             // Act & Assert
             resilientWalletService.withdrawFundsWithRetry(walletId, amount, referenceId)
                 .subscribe().withSubscriber(UniAssertSubscriber.create())
-                .assertCompleted()
+                .awaitItem()
                 .assertItem(transactionId);
 
             // Verify retry behavior
@@ -165,7 +165,7 @@ class ResilientWalletServiceTest {
             // Act & Assert
             resilientWalletService.transferFundsWithRetry(sourceWalletId, destinationWalletId, amount, referenceId)
                 .subscribe().withSubscriber(UniAssertSubscriber.create())
-                .assertCompleted()
+                .awaitItem()
                 .assertItem(transactionId);
 
             // Verify retry behavior
@@ -188,6 +188,7 @@ class ResilientWalletServiceTest {
             // Act & Assert
             resilientWalletService.depositFundsWithRetry(walletId, amount, referenceId)
                 .subscribe().withSubscriber(UniAssertSubscriber.create())
+                .awaitFailure()
                 .assertFailedWith(ServiceDegradedException.class);
 
             // Verify fallback was triggered
@@ -315,7 +316,7 @@ class ResilientWalletServiceTest {
             // Act & Assert
             resilientWalletService.depositFundsWithRetry(walletId, amount, referenceId)
                 .subscribe().withSubscriber(UniAssertSubscriber.create())
-                .assertCompleted()
+                .awaitItem()
                 .assertItem(transactionId);
 
             // Verify no retry attempts were made
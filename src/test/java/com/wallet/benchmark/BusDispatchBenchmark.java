@@ -0,0 +1,87 @@
+package com.wallet.benchmark;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.wallet.application.query.GetWalletQuery;
+import com.wallet.infrastructure.bus.DispatchTable;
+import com.wallet.infrastructure.bus.Dispatcher;
+import com.wallet.infrastructure.bus.MessageType;
+import com.wallet.infrastructure.bus.MetricsDispatchInterceptor;
+import com.wallet.infrastructure.metrics.WalletMetrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.smallrye.mutiny.Uni;
+
+/**
+ * Overhead of routing a message through the bus, with a handler that answers immediately:
+ * the former per-dispatch HashMap lookup, the dispatch table on its own, and the dispatch table
+ * with the metrics interceptor on the route.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.wallet.benchmark.BusDispatchBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BusDispatchBenchmark {
+
+    private final Map<Class<?>, Dispatcher<Object, Object>> handlerMap = new HashMap<>();
+    private DispatchTable plainTable;
+    private DispatchTable instrumentedTable;
+    private GetWalletQuery query;
+
+    @Setup
+    public void setUp() {
+        Uni<Object> answer = Uni.createFrom().item("wallet");
+        Dispatcher<Object, Object> handler = message -> answer;
+        handlerMap.put(GetWalletQuery.class, handler);
+
+        plainTable = DispatchTable.build(MessageType.Kind.QUERY, handlerMap, List.of());
+        instrumentedTable = DispatchTable.build(MessageType.Kind.QUERY, handlerMap,
+                List.of(new MetricsDispatchInterceptor(new WalletMetrics(new SimpleMeterRegistry()))));
+        query = new GetWalletQuery("wallet-1");
+    }
+
+    @Benchmark
+    public void hashMapLookup(Blackhole blackhole) {
+        handlerMap.get(query.getClass()).dispatch(query).subscribe().with(blackhole::consume);
+    }
+
+    @Benchmark
+    public void dispatchTable(Blackhole blackhole) {
+        plainTable.route(query.getClass()).dispatch(query).subscribe().with(blackhole::consume);
+    }
+
+    @Benchmark
+    public void dispatchTableWithMetrics(Blackhole blackhole) {
+        instrumentedTable.route(query.getClass()).dispatch(query).subscribe().with(blackhole::consume);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BusDispatchBenchmark.class.getSimpleName())
+                .build())
+            .run();
+    }
+}
@@ -0,0 +1,93 @@
+package com.wallet.benchmark;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallet.domain.event.FundsDepositedEvent;
+import com.wallet.infrastructure.outbox.AvroWalletEventEncoder;
+import com.wallet.infrastructure.outbox.OutboxEvent;
+
+/**
+ * Compares JSON and Avro encoding of outbox event payloads: CPU per event, and the encoded
+ * size, reported next to each score as the payloadBytes counter.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.wallet.benchmark.OutboxPayloadEncodingBenchmark
+ * The Avro encoder uses an in-memory schema registry, so no registry needs to be running.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OutboxPayloadEncodingBenchmark {
+
+    private ObjectMapper objectMapper;
+    private AvroWalletEventEncoder avroEncoder;
+    private OutboxEvent outboxEvent;
+    private FundsDepositedEvent payload;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        avroEncoder = new AvroWalletEventEncoder(objectMapper, "mock://outbox-benchmark", "wallet-events");
+
+        String walletId = UUID.randomUUID().toString();
+        payload = new FundsDepositedEvent(walletId, UUID.randomUUID().toString(),
+                new BigDecimal("1250.75"), "ref-" + UUID.randomUUID(), "Monthly payout");
+        outboxEvent = new OutboxEvent("Wallet", walletId, "FundsDeposited", null);
+
+        // The first call registers the schema
+        avroEncoder.encode(outboxEvent, payload);
+    }
+
+    /**
+     * Encoded size of the payload. The counter is set rather than accumulated, so with a single
+     * benchmark thread the reported figure is the size of one payload.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+        public long payloadBytes;
+    }
+
+    @Benchmark
+    public byte[] encodeJson(PayloadSize size) throws JsonProcessingException {
+        byte[] encoded = objectMapper.writeValueAsBytes(payload);
+        size.payloadBytes = encoded.length;
+        return encoded;
+    }
+
+    @Benchmark
+    public byte[] encodeAvro(PayloadSize size) {
+        byte[] encoded = avroEncoder.encode(outboxEvent, payload);
+        size.payloadBytes = encoded.length;
+        return encoded;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OutboxPayloadEncodingBenchmark.class.getSimpleName())
+                .build())
+            .run();
+    }
+}
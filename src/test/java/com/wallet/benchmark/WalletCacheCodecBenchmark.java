@@ -0,0 +1,93 @@
+package com.wallet.benchmark;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallet.domain.model.Wallet;
+import com.wallet.domain.model.WalletStatus;
+import com.wallet.infrastructure.cache.BinaryWalletCacheCodec;
+import com.wallet.infrastructure.cache.JsonWalletCacheCodec;
+import com.wallet.infrastructure.cache.WalletCacheCodec;
+
+/**
+ * Compares the JSON and binary wallet cache encodings.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=com.wallet.benchmark.WalletCacheCodecBenchmark
+ * Add -prof gc through the JMH options to compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WalletCacheCodecBenchmark {
+
+    private WalletCacheCodec jsonCodec;
+    private WalletCacheCodec binaryCodec;
+    private Wallet wallet;
+    private byte[] jsonPayload;
+    private byte[] binaryPayload;
+
+    @Setup
+    public void setUp() {
+        jsonCodec = new JsonWalletCacheCodec(new ObjectMapper().findAndRegisterModules());
+        binaryCodec = new BinaryWalletCacheCodec();
+
+        wallet = new Wallet();
+        wallet.setId(UUID.randomUUID().toString());
+        wallet.setUserId("user-" + UUID.randomUUID());
+        wallet.setBalance(new BigDecimal("12345.6789"));
+        wallet.setStatus(WalletStatus.ACTIVE.name());
+        wallet.setCreatedAt(Instant.now());
+        wallet.setUpdatedAt(Instant.now());
+
+        jsonPayload = jsonCodec.encode(wallet);
+        binaryPayload = binaryCodec.encode(wallet);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() {
+        return jsonCodec.encode(wallet);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return binaryCodec.encode(wallet);
+    }
+
+    @Benchmark
+    public Wallet decodeJson() {
+        return jsonCodec.decode(jsonPayload);
+    }
+
+    @Benchmark
+    public Wallet decodeBinary() {
+        return binaryCodec.decode(binaryPayload);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(WalletCacheCodecBenchmark.class.getSimpleName())
+                .build())
+            .run();
+    }
+}
@@ -0,0 +1,85 @@
+package com.wallet.infrastructure.bus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Adaptive Concurrency Limit Tests")
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = 2_000_000;
+    private static final long SLOW = 20_000_000;
+
+    private final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 2, 100, 0.2, 1.5, 0.9);
+
+    @Test
+    @DisplayName("Should reject calls beyond the limit until a slot is freed")
+    void shouldRejectBeyondLimit() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limit.tryAcquire());
+        }
+        assertFalse(limit.tryAcquire());
+
+        limit.onIgnored();
+
+        assertTrue(limit.tryAcquire());
+        assertEquals(10, limit.getInFlight());
+    }
+
+    @Test
+    @DisplayName("Should grow while fully used calls keep their latency")
+    void shouldGrowUnderSteadyLatency() {
+        runRounds(FAST, 20);
+
+        assertTrue(limit.getLimit() > 10, "limit " + limit.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should shrink when calls start taking longer")
+    void shouldShrinkWhenLatencyRises() {
+        runRounds(FAST, 5);
+        int before = limit.getLimit();
+
+        runRounds(SLOW, 5);
+
+        assertTrue(limit.getLimit() < before, before + " -> " + limit.getLimit());
+        assertTrue(limit.getLimit() >= 2);
+    }
+
+    @Test
+    @DisplayName("Should not grow while the limit is barely used")
+    void shouldNotGrowWhenUnderused() {
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.onSuccess(FAST);
+        }
+
+        assertEquals(10, limit.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should cut the limit on timeouts")
+    void shouldBackOffOnDrops() {
+        assertTrue(limit.tryAcquire());
+        limit.onDropped();
+
+        assertEquals(9, limit.getLimit());
+        assertEquals(0, limit.getInFlight());
+    }
+
+    /**
+     * Fills the limit, then completes every call with the given latency
+     */
+    private void runRounds(long rttNanos, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (limit.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limit.onSuccess(rttNanos);
+            }
+        }
+    }
+}
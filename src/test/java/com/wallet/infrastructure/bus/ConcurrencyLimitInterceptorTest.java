@@ -0,0 +1,88 @@
+package com.wallet.infrastructure.bus;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.eclipse.microprofile.config.Config;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.wallet.application.command.TransferFundsCommand;
+import com.wallet.exception.InsufficientFundsException;
+import com.wallet.exception.TechnicalException;
+import com.wallet.infrastructure.metrics.WalletMetrics;
+import com.wallet.infrastructure.resilience.ServiceDegradedException;
+
+import io.smallrye.mutiny.Uni;
+import io.vertx.mysqlclient.MySQLException;
+
+@DisplayName("Concurrency Limit Interceptor Tests")
+class ConcurrencyLimitInterceptorTest {
+
+    private static final MessageType TRANSFER = new MessageType(TransferFundsCommand.class, MessageType.Kind.COMMAND);
+
+    private final MySQLException deadlock = new MySQLException(
+        "Deadlock found when trying to get lock; try restarting transaction", 1213, "40001");
+
+    private ConcurrencyLimitInterceptor interceptor;
+    private WalletMetrics metrics;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        Config config = mock(Config.class);
+        when(config.getOptionalValue(anyString(), any(Class.class))).thenReturn(Optional.empty());
+        metrics = mock(WalletMetrics.class);
+
+        interceptor = new ConcurrencyLimitInterceptor();
+        interceptor.config = config;
+        interceptor.metrics = metrics;
+        interceptor.enabled = true;
+    }
+
+    @Test
+    @DisplayName("Should treat timeouts and write conflicts as dropped, retried or not")
+    void shouldDropOnTimeoutAndContention() {
+        assertTrue(ConcurrencyLimitInterceptor.isDropped(new TimeoutException()));
+        assertTrue(ConcurrencyLimitInterceptor.isDropped(new RuntimeException("flush failed", deadlock)));
+        assertTrue(ConcurrencyLimitInterceptor.isDropped(TechnicalException.walletContention("wallet-1", deadlock)));
+        assertFalse(ConcurrencyLimitInterceptor.isDropped(new InsufficientFundsException(BigDecimal.ONE, BigDecimal.TEN)));
+    }
+
+    @Test
+    @DisplayName("Should not time rate-limited rejections")
+    void shouldIgnoreRateLimitedRejections() {
+        assertTrue(ConcurrencyLimitInterceptor.isFastRejection(ServiceDegradedException.rateLimited()));
+        assertFalse(ConcurrencyLimitInterceptor.isFastRejection(ServiceDegradedException.readOnlyMode()));
+        assertFalse(ConcurrencyLimitInterceptor.isFastRejection(new TimeoutException()));
+    }
+
+    @Test
+    @DisplayName("Should cut the limit when a command fails on a deadlock")
+    void shouldCutLimitOnDeadlock() {
+        Dispatcher<Object, Object> route = interceptor.intercept(TRANSFER, message -> Uni.createFrom().failure(deadlock));
+        Supplier<Number> limit = registeredLimit();
+        int before = limit.get().intValue();
+
+        route.dispatch(new Object()).subscribe().with(item -> { }, failure -> { });
+
+        assertTrue(limit.get().intValue() < before, before + " -> " + limit.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Supplier<Number> registeredLimit() {
+        ArgumentCaptor<Supplier<Number>> limit = ArgumentCaptor.forClass(Supplier.class);
+        verify(metrics).registerConcurrencyLimit(eq("TransferFundsCommand"), limit.capture(), any());
+        return limit.getValue();
+    }
+}
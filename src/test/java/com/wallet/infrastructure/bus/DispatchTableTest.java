@@ -0,0 +1,95 @@
+package com.wallet.infrastructure.bus;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+
+@DisplayName("Dispatch Table Tests")
+class DispatchTableTest {
+
+    private final List<String> calls = new ArrayList<>();
+
+    @Test
+    @DisplayName("Should run interceptors in priority order around the handler")
+    void shouldRunInterceptorsInPriorityOrder() {
+        DispatchTable table = DispatchTable.build(MessageType.Kind.COMMAND, Map.of(Ping.class, handler()),
+            List.of(new Recording("second", 20), new Recording("first", 10)));
+
+        table.route(Ping.class).dispatch(new Ping())
+            .subscribe().withSubscriber(UniAssertSubscriber.create())
+            .assertItem("pong");
+
+        assertEquals(List.of("first", "second", "handler"), calls);
+    }
+
+    @Test
+    @DisplayName("Should build each route once, not per dispatch")
+    void shouldInterceptOncePerType() {
+        Recording interceptor = new Recording("interceptor", 0);
+        DispatchTable table = DispatchTable.build(MessageType.Kind.QUERY, Map.of(Ping.class, handler()), List.of(interceptor));
+
+        table.route(Ping.class).dispatch(new Ping()).await().indefinitely();
+        table.route(Ping.class).dispatch(new Ping()).await().indefinitely();
+
+        assertEquals(1, interceptor.routesBuilt);
+        assertEquals(MessageType.Kind.QUERY, interceptor.lastType.kind());
+        assertEquals("Ping", interceptor.lastType.name());
+    }
+
+    @Test
+    @DisplayName("Should route subclasses to the handler of their parent type")
+    void shouldResolveSubclasses() {
+        DispatchTable table = DispatchTable.build(MessageType.Kind.COMMAND, Map.of(Ping.class, handler()), List.of());
+
+        assertSame(table.route(Ping.class), table.route(LoudPing.class));
+        assertNull(table.route(String.class));
+    }
+
+    private Dispatcher<Object, Object> handler() {
+        return message -> {
+            calls.add("handler");
+            return Uni.createFrom().item("pong");
+        };
+    }
+
+    private static class Ping {
+    }
+
+    private static class LoudPing extends Ping {
+    }
+
+    private class Recording implements DispatchInterceptor {
+        private final String name;
+        private final int priority;
+        private int routesBuilt;
+        private MessageType lastType;
+
+        Recording(String name, int priority) {
+            this.name = name;
+            this.priority = priority;
+        }
+
+        @Override
+        public int priority() {
+            return priority;
+        }
+
+        @Override
+        public <M, R> Dispatcher<M, R> intercept(MessageType type, Dispatcher<M, R> next) {
+            routesBuilt++;
+            lastType = type;
+            return message -> {
+                calls.add(name);
+                return next.dispatch(message);
+            };
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.wallet.infrastructure.bus;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import com.wallet.application.command.DepositFundsCommand;
+import com.wallet.application.command.WithdrawFundsCommand;
+import com.wallet.domain.model.Transaction;
+import com.wallet.domain.model.TransactionStatus;
+import com.wallet.domain.model.TransactionType;
+import com.wallet.exception.DuplicateRequestException;
+import com.wallet.exception.ReferenceIdReusedException;
+import com.wallet.infrastructure.cache.IdempotencyStore;
+import com.wallet.infrastructure.cache.IdempotencyStore.Claim;
+import com.wallet.infrastructure.cache.IdempotencyStore.Status;
+import com.wallet.infrastructure.metrics.WalletMetrics;
+import com.wallet.infrastructure.persistence.TransactionRepository;
+
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mysqlclient.MySQLException;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("Idempotency Interceptor Tests")
+class IdempotencyInterceptorTest {
+
+    private static final MessageType DEPOSIT = new MessageType(DepositFundsCommand.class, MessageType.Kind.COMMAND);
+
+    @InjectMocks
+    IdempotencyInterceptor interceptor;
+
+    @Mock
+    IdempotencyStore store;
+
+    @Mock
+    TransactionRepository transactionRepository;
+
+    @Mock
+    WalletMetrics metrics;
+
+    private final AtomicInteger handled = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        interceptor.enabled = true;
+        when(store.complete(anyString(), anyString(), anyString())).thenReturn(Uni.createFrom().voidItem());
+        when(store.release(anyString(), anyString(), anyString())).thenReturn(Uni.createFrom().voidItem());
+    }
+
+    @Test
+    @DisplayName("Should answer a retry with the original transaction without running the handler")
+    void shouldReplayCompletedReference() {
+        DepositFundsCommand command = deposit("ref-1");
+        when(store.claim("ref-1", command.getCommandId(), command.getFingerprint()))
+            .thenReturn(Uni.createFrom().item(new Claim(Status.COMPLETED, "txn-original", command.getFingerprint())));
+
+        String result = route(Uni.createFrom().item("txn-new")).dispatch(command).await().indefinitely();
+
+        assertEquals("txn-original", result);
+        assertEquals(0, handled.get());
+        verify(metrics).recordIdempotency("DepositFundsCommand", "replayed");
+    }
+
+    @Test
+    @DisplayName("Should reject a different command reusing a reference id instead of answering it")
+    void shouldRejectReusedReference() {
+        DepositFundsCommand original = deposit("ref-1");
+        DepositFundsCommand other = new DepositFundsCommand("wallet-2", new BigDecimal("10.00"), "ref-1");
+        when(store.claim("ref-1", other.getCommandId(), other.getFingerprint()))
+            .thenReturn(Uni.createFrom().item(new Claim(Status.COMPLETED, "txn-original", original.getFingerprint())));
+
+        Dispatcher<Object, Object> route = route(Uni.createFrom().item("txn-new"));
+
+        assertThrows(ReferenceIdReusedException.class, () -> route.dispatch(other).await().indefinitely());
+        assertEquals(0, handled.get());
+        verify(metrics).recordIdempotency("DepositFundsCommand", "reused");
+    }
+
+    @Test
+    @DisplayName("Should reject a reused reference id found by the unique index when Redis is unavailable")
+    @SuppressWarnings("unchecked")
+    void shouldRejectReusedReferenceOnBackstop() {
+        DepositFundsCommand command = deposit("ref-1");
+        when(store.claim("ref-1", command.getCommandId(), command.getFingerprint()))
+            .thenReturn(Uni.createFrom().item(new Claim(Status.UNAVAILABLE, null, null)));
+        Transaction original = new Transaction("txn-original", "wallet-1", TransactionType.DEPOSIT,
+            new BigDecimal("25.0000"), "ref-1", TransactionStatus.COMPLETED);
+        when(transactionRepository.findByReferenceId("ref-1")).thenReturn(Uni.createFrom().item(original));
+        MySQLException duplicate = new MySQLException(
+            "Duplicate entry 'ref-1' for key 'transaction.idx_reference_id'", 1062, "23000");
+
+        try (MockedStatic<Panache> panache = mockStatic(Panache.class)) {
+            panache.when(() -> Panache.withSession(any(Supplier.class)))
+                .thenAnswer(invocation -> ((Supplier<Uni<?>>) invocation.getArgument(0)).get());
+            Dispatcher<Object, Object> route = route(Uni.createFrom().failure(duplicate));
+
+            assertThrows(ReferenceIdReusedException.class, () -> route.dispatch(command).await().indefinitely());
+        }
+        verify(metrics).recordIdempotency("DepositFundsCommand", "reused");
+    }
+
+    @Test
+    @DisplayName("Should match a transaction to the command that recorded it, whatever the amount scale")
+    void shouldFingerprintTransactionLikeCommand() {
+        Transaction transaction = new Transaction("txn-1", "wallet-1", TransactionType.DEPOSIT,
+            new BigDecimal("10.0000"), "ref-1", TransactionStatus.COMPLETED);
+
+        assertEquals(deposit("ref-1").getFingerprint(), IdempotencyInterceptor.fingerprintOf(transaction));
+        assertNotEquals(new WithdrawFundsCommand("wallet-1", new BigDecimal("10.00"), "ref-1").getFingerprint(),
+            IdempotencyInterceptor.fingerprintOf(transaction));
+    }
+
+    @Test
+    @DisplayName("Should reject a retry racing the original command")
+    void shouldRejectReferenceInProgress() {
+        DepositFundsCommand command = deposit("ref-1");
+        when(store.claim("ref-1", command.getCommandId(), command.getFingerprint()))
+            .thenReturn(Uni.createFrom().item(new Claim(Status.IN_PROGRESS, null, command.getFingerprint())));
+
+        Dispatcher<Object, Object> route = route(Uni.createFrom().item("txn-new"));
+
+        assertThrows(DuplicateRequestException.class, () -> route.dispatch(command).await().indefinitely());
+        assertEquals(0, handled.get());
+    }
+
+    @Test
+    @DisplayName("Should record the transaction of a claimed reference once applied")
+    void shouldCompleteClaimedReference() {
+        DepositFundsCommand command = deposit("ref-1");
+        when(store.claim("ref-1", command.getCommandId(), command.getFingerprint()))
+            .thenReturn(Uni.createFrom().item(new Claim(Status.CLAIMED, null, null)));
+
+        String result = route(Uni.createFrom().item("txn-new")).dispatch(command).await().indefinitely();
+
+        assertEquals("txn-new", result);
+        assertEquals(1, handled.get());
+        verify(store).complete("ref-1", "txn-new", command.getFingerprint());
+        verify(store, never()).release(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should release the claim when the command fails")
+    void shouldReleaseClaimOnFailure() {
+        DepositFundsCommand command = deposit("ref-1");
+        when(store.claim("ref-1", command.getCommandId(), command.getFingerprint()))
+            .thenReturn(Uni.createFrom().item(new Claim(Status.CLAIMED, null, null)));
+
+        Dispatcher<Object, Object> route = route(Uni.createFrom().failure(new IllegalArgumentException("Wallet not found")));
+
+        assertThrows(IllegalArgumentException.class, () -> route.dispatch(command).await().indefinitely());
+        verify(store).release("ref-1", command.getCommandId(), command.getFingerprint());
+        verify(store, never()).complete(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should apply commands without a reference id untouched")
+    void shouldSkipCommandsWithoutReference() {
+        String result = route(Uni.createFrom().item("txn-new")).dispatch(deposit(null)).await().indefinitely();
+
+        assertEquals("txn-new", result);
+        verifyNoInteractions(store);
+    }
+
+    @Test
+    @DisplayName("Should not wrap message types without a reference id")
+    void shouldNotInterceptOtherTypes() {
+        Dispatcher<Object, Object> next = message -> Uni.createFrom().item("ok");
+
+        assertSame(next, interceptor.intercept(new MessageType(String.class, MessageType.Kind.COMMAND), next));
+    }
+
+    @Test
+    @DisplayName("Should recognise a duplicate reference id only on its own unique index")
+    void shouldRecogniseDuplicateReference() {
+        MySQLException duplicate = new MySQLException(
+            "Duplicate entry 'ref-1' for key 'transaction.idx_reference_id'", 1062, "23000");
+        MySQLException otherKey = new MySQLException(
+            "Duplicate entry 'w-1' for key 'wallets.PRIMARY'", 1062, "23000");
+
+        assertTrue(IdempotencyInterceptor.isDuplicateReference(new RuntimeException("flush failed", duplicate)));
+        assertFalse(IdempotencyInterceptor.isDuplicateReference(otherKey));
+        assertFalse(IdempotencyInterceptor.isDuplicateReference(new IllegalStateException("boom")));
+    }
+
+    private Dispatcher<Object, Object> route(Uni<Object> outcome) {
+        return interceptor.intercept(DEPOSIT, message -> {
+            handled.incrementAndGet();
+            return outcome;
+        });
+    }
+
+    private static DepositFundsCommand deposit(String referenceId) {
+        return new DepositFundsCommand("wallet-1", new BigDecimal("10.00"), referenceId);
+    }
+}
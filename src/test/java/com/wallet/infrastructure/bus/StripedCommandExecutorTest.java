@@ -0,0 +1,122 @@
+package com.wallet.infrastructure.bus;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.wallet.infrastructure.metrics.WalletMetrics;
+import com.wallet.infrastructure.resilience.ServiceDegradedException;
+
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.helpers.test.UniAssertSubscriber;
+
+@DisplayName("Striped Command Executor Tests")
+class StripedCommandExecutorTest {
+
+    private StripedCommandExecutor executor;
+    private WalletMetrics walletMetrics;
+    private final List<String> started = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        walletMetrics = mock(WalletMetrics.class);
+        executor = new StripedCommandExecutor();
+        executor.walletMetrics = walletMetrics;
+        executor.enabled = true;
+        executor.stripeCount = 16;
+        executor.maxQueueDepth = 2;
+        executor.init();
+    }
+
+    @Test
+    @DisplayName("Should run commands for the same wallet one after another")
+    void shouldSerializeCommandsForSameWallet() {
+        CompletableFuture<String> first = new CompletableFuture<>();
+        CompletableFuture<String> second = new CompletableFuture<>();
+
+        UniAssertSubscriber<String> firstResult = executor.submit("wallet-1", () -> start("first", first))
+            .subscribe().withSubscriber(UniAssertSubscriber.create());
+        UniAssertSubscriber<String> secondResult = executor.submit("wallet-1", () -> start("second", second))
+            .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        assertEquals(List.of("first"), started);
+
+        first.complete("txn-1");
+        firstResult.assertItem("txn-1");
+        assertEquals(List.of("first", "second"), started);
+
+        second.complete("txn-2");
+        secondResult.assertItem("txn-2");
+        verify(walletMetrics, times(2)).recordCommandQueueWait(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should keep serving the stripe after a failed command")
+    void shouldContinueAfterFailure() {
+        CompletableFuture<String> first = new CompletableFuture<>();
+
+        UniAssertSubscriber<String> firstResult = executor.submit("wallet-1", () -> start("first", first))
+            .subscribe().withSubscriber(UniAssertSubscriber.create());
+        UniAssertSubscriber<String> secondResult = executor.submit("wallet-1", () -> Uni.createFrom().item("txn-2"))
+            .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        first.completeExceptionally(new IllegalStateException("boom"));
+
+        firstResult.assertFailedWith(IllegalStateException.class, "boom");
+        secondResult.assertItem("txn-2");
+    }
+
+    @Test
+    @DisplayName("Should run wallets on different stripes in parallel")
+    void shouldRunDifferentStripesInParallel() {
+        String walletA = "wallet-a";
+        String walletB = walletOnOtherStripe(walletA);
+
+        executor.submit(walletA, () -> start(walletA, new CompletableFuture<>()))
+            .subscribe().withSubscriber(UniAssertSubscriber.create());
+        executor.submit(walletB, () -> start(walletB, new CompletableFuture<>()))
+            .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        assertEquals(List.of(walletA, walletB), started);
+    }
+
+    @Test
+    @DisplayName("Should reject commands once the stripe queue is full")
+    void shouldRejectWhenQueueIsFull() {
+        executor.submit("wallet-1", () -> start("running", new CompletableFuture<>()))
+            .subscribe().withSubscriber(UniAssertSubscriber.create());
+        executor.submit("wallet-1", () -> start("queued-1", new CompletableFuture<>()))
+            .subscribe().withSubscriber(UniAssertSubscriber.create());
+        executor.submit("wallet-1", () -> start("queued-2", new CompletableFuture<>()))
+            .subscribe().withSubscriber(UniAssertSubscriber.create());
+
+        executor.submit("wallet-1", () -> start("rejected", new CompletableFuture<>()))
+            .subscribe().withSubscriber(UniAssertSubscriber.create())
+            .assertFailedWith(ServiceDegradedException.class);
+
+        assertEquals(List.of("running"), started);
+        verify(walletMetrics).recordCommandQueueRejected();
+    }
+
+    private Uni<String> start(String name, CompletableFuture<String> result) {
+        started.add(name);
+        return Uni.createFrom().completionStage(result);
+    }
+
+    private String walletOnOtherStripe(String walletId) {
+        for (int i = 0; ; i++) {
+            String candidate = "wallet-" + i;
+            if (executor.stripeIndex(candidate) != executor.stripeIndex(walletId)) {
+                return candidate;
+            }
+        }
+    }
+}
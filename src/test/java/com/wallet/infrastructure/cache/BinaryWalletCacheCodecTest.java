@@ -0,0 +1,105 @@
+package com.wallet.infrastructure.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.wallet.domain.model.Wallet;
+import com.wallet.domain.model.WalletStatus;
+
+@DisplayName("Binary Wallet Cache Codec Tests")
+class BinaryWalletCacheCodecTest {
+
+    private final BinaryWalletCacheCodec codec = new BinaryWalletCacheCodec();
+
+    @Test
+    @DisplayName("Should round trip all wallet fields")
+    void shouldRoundTripWallet() {
+        Wallet wallet = new Wallet();
+        wallet.setId("550e8400-e29b-41d4-a716-446655440000");
+        wallet.setUserId("user-123");
+        wallet.setBalance(new BigDecimal("-98765432109876543210.1234"));
+        wallet.setStatus(WalletStatus.FROZEN.name());
+        wallet.setCreatedAt(Instant.ofEpochMilli(1_700_000_000_000L));
+        wallet.setUpdatedAt(Instant.ofEpochMilli(1_700_000_123_456L));
+        wallet.setVersion(42L);
+
+        Wallet decoded = codec.decode(codec.encode(wallet));
+
+        assertEquals(wallet.getId(), decoded.getId());
+        assertEquals(wallet.getUserId(), decoded.getUserId());
+        assertEquals(wallet.getBalance(), decoded.getBalance());
+        assertEquals(wallet.getBalance().scale(), decoded.getBalance().scale());
+        assertEquals(wallet.getStatus(), decoded.getStatus());
+        assertEquals(wallet.getCreatedAt(), decoded.getCreatedAt());
+        assertEquals(wallet.getUpdatedAt(), decoded.getUpdatedAt());
+        assertEquals(42L, decoded.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should preserve null fields")
+    void shouldPreserveNullFields() {
+        Wallet wallet = new Wallet();
+        wallet.setId("wallet-1");
+
+        Wallet decoded = codec.decode(codec.encode(wallet));
+
+        assertEquals("wallet-1", decoded.getId());
+        assertNull(decoded.getUserId());
+        assertNull(decoded.getBalance());
+        assertNull(decoded.getStatus());
+        assertNull(decoded.getCreatedAt());
+        assertNull(decoded.getUpdatedAt());
+        assertNull(decoded.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should decode version 1 entries without a row version")
+    void shouldDecodeVersionOneEntries() {
+        Wallet wallet = new Wallet();
+        wallet.setId("wallet-1");
+        wallet.setBalance(new BigDecimal("10.50"));
+        wallet.setVersion(7L);
+        byte[] current = codec.encode(wallet);
+
+        // Version 1 is the same layout without the trailing row version
+        byte[] legacy = Arrays.copyOf(current, current.length - Long.BYTES);
+        legacy[0] = 1;
+
+        Wallet decoded = codec.decode(legacy);
+
+        assertEquals("wallet-1", decoded.getId());
+        assertEquals(new BigDecimal("10.50"), decoded.getBalance());
+        assertNull(decoded.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should prefix payload with the format version")
+    void shouldPrefixFormatVersion() {
+        Wallet wallet = new Wallet();
+        wallet.setId("wallet-1");
+
+        byte[] data = codec.encode(wallet);
+
+        assertEquals(BinaryWalletCacheCodec.FORMAT_VERSION, data[0]);
+        assertTrue(BinaryWalletCacheCodec.isBinary(data));
+        assertFalse(BinaryWalletCacheCodec.isBinary("{\"id\":\"wallet-1\"}".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown format versions")
+    void shouldRejectUnknownVersion() {
+        Wallet wallet = new Wallet();
+        wallet.setId("wallet-1");
+        byte[] data = codec.encode(wallet);
+        data[0] = 99;
+
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(data));
+    }
+}
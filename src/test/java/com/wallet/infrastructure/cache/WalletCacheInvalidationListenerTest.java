@@ -0,0 +1,45 @@
+package com.wallet.infrastructure.cache;
+
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Wallet Cache Invalidation Listener Tests")
+class WalletCacheInvalidationListenerTest {
+
+    @Mock
+    WalletNearCache nearCache;
+
+    @InjectMocks
+    WalletCacheInvalidationListener listener;
+
+    @Test
+    @DisplayName("Should evict the wallet when another pod changed it")
+    void shouldEvictOnOtherPodsMessage() {
+        listener.onInvalidation("other-pod|wallet-1");
+
+        verify(nearCache).invalidate("wallet-1");
+    }
+
+    @Test
+    @DisplayName("Should keep the entry this pod just published")
+    void shouldIgnoreOwnMessage() {
+        listener.onInvalidation(WalletStateCache.INSTANCE_ID + "|wallet-1");
+
+        verifyNoInteractions(nearCache);
+    }
+
+    @Test
+    @DisplayName("Should evict on a bare wallet id from a pod running an older version")
+    void shouldEvictOnLegacyMessage() {
+        listener.onInvalidation("wallet-1");
+
+        verify(nearCache).invalidate("wallet-1");
+    }
+}
@@ -0,0 +1,120 @@
+package com.wallet.infrastructure.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.wallet.domain.model.Wallet;
+import com.wallet.infrastructure.metrics.WalletMetrics;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Wallet Near Cache Tests")
+class WalletNearCacheTest {
+
+    @Mock
+    WalletMetrics walletMetrics;
+
+    @InjectMocks
+    WalletNearCache nearCache;
+
+    @BeforeEach
+    void setUp() {
+        nearCache.enabled = true;
+        nearCache.maxSize = 2;
+        nearCache.ttl = Duration.ofMinutes(1);
+        nearCache.init();
+    }
+
+    @Test
+    @DisplayName("Should return a copy of the cached wallet on hit")
+    void shouldReturnCopyOnHit() {
+        Wallet wallet = createWallet("wallet-1");
+        nearCache.put(wallet);
+
+        Wallet cached = nearCache.get("wallet-1");
+
+        assertNotNull(cached);
+        assertNotSame(wallet, cached);
+        assertEquals(new BigDecimal("100.00"), cached.getBalance());
+
+        // Mutating the returned copy must not leak into the cache
+        cached.setBalance(BigDecimal.ZERO);
+        assertEquals(new BigDecimal("100.00"), nearCache.get("wallet-1").getBalance());
+        verify(walletMetrics, times(2)).recordNearCacheHit();
+    }
+
+    @Test
+    @DisplayName("Should record a miss for unknown wallets")
+    void shouldRecordMiss() {
+        assertNull(nearCache.get("missing"));
+        verify(walletMetrics).recordNearCacheMiss();
+    }
+
+    @Test
+    @DisplayName("Should evict down to the maximum size, keeping the wallet that is read")
+    void shouldEvictWhenFull() {
+        nearCache.put(createWallet("wallet-1"));
+        nearCache.put(createWallet("wallet-2"));
+        nearCache.get("wallet-1");
+        nearCache.put(createWallet("wallet-3"));
+
+        assertEquals(2, nearCache.size());
+        assertNotNull(nearCache.get("wallet-1"));
+        assertNull(nearCache.get("wallet-2"));
+        verify(walletMetrics).recordNearCacheEviction("size");
+    }
+
+    @Test
+    @DisplayName("Should expire entries after the TTL")
+    void shouldExpireEntries() {
+        nearCache.ttl = Duration.ZERO;
+        nearCache.init();
+        nearCache.put(createWallet("wallet-1"));
+
+        assertNull(nearCache.get("wallet-1"));
+        assertEquals(0, nearCache.size());
+        verify(walletMetrics).recordNearCacheEviction("expired");
+    }
+
+    @Test
+    @DisplayName("Should drop entry on invalidation")
+    void shouldDropEntryOnInvalidation() {
+        nearCache.put(createWallet("wallet-1"));
+        nearCache.invalidate("wallet-1");
+
+        assertNull(nearCache.get("wallet-1"));
+    }
+
+    @Test
+    @DisplayName("Should bypass the cache when disabled")
+    void shouldBypassWhenDisabled() {
+        nearCache.enabled = false;
+        nearCache.put(createWallet("wallet-1"));
+
+        assertNull(nearCache.get("wallet-1"));
+        assertEquals(0, nearCache.size());
+        verifyNoInteractions(walletMetrics);
+    }
+
+    private Wallet createWallet(String id) {
+        Wallet wallet = new Wallet();
+        wallet.setId(id);
+        wallet.setUserId("user-123");
+        wallet.setBalance(new BigDecimal("100.00"));
+        wallet.setStatus("ACTIVE");
+        wallet.setCreatedAt(Instant.now());
+        wallet.setUpdatedAt(Instant.now());
+        return wallet;
+    }
+}
@@ -0,0 +1,122 @@
+package com.wallet.infrastructure.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallet.domain.model.Wallet;
+import com.wallet.domain.model.WalletProjection;
+import com.wallet.infrastructure.cache.WalletProjectionStore.CachedProjection;
+import com.wallet.infrastructure.persistence.WalletProjectionReadRepository;
+
+import io.quarkus.redis.datasource.ReactiveRedisDataSource;
+import io.quarkus.redis.datasource.value.ReactiveValueCommands;
+import io.smallrye.mutiny.Uni;
+
+@DisplayName("Wallet Projection Store Tests")
+class WalletProjectionStoreTest {
+
+    private static final Instant AT = Instant.parse("2026-01-01T10:00:00Z");
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private WalletProjectionStore store;
+    private ReactiveValueCommands<String, String> values;
+    private WalletProjectionReadRepository readRepository;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        values = mock(ReactiveValueCommands.class);
+        ReactiveRedisDataSource redisDataSource = mock(ReactiveRedisDataSource.class);
+        when(redisDataSource.value(String.class)).thenReturn(values);
+        readRepository = mock(WalletProjectionReadRepository.class);
+
+        store = new WalletProjectionStore();
+        store.redisDataSource = redisDataSource;
+        store.projectionReadRepository = readRepository;
+        store.objectMapper = objectMapper;
+    }
+
+    @Test
+    @DisplayName("Should serve projections found in Redis without reading the table")
+    void shouldServeFromRedis() throws Exception {
+        Map<String, String> entries = new HashMap<>();
+        entries.put("wallet-projection:w-1", json(new CachedProjection("w-1", "user-1", "ACTIVE", AT,
+            new BigDecimal("10.005"), 3, AT.plusSeconds(5))));
+        when(values.mget("wallet-projection:w-1")).thenReturn(Uni.createFrom().item(entries));
+
+        Wallet wallet = store.getWallet("w-1").await().indefinitely();
+
+        assertEquals("user-1", wallet.getUserId());
+        assertEquals("ACTIVE", wallet.getStatus());
+        assertEquals(new BigDecimal("10.005"), wallet.getBalance());
+        assertEquals(AT, wallet.getCreatedAt());
+        assertEquals(AT.plusSeconds(5), wallet.getUpdatedAt());
+        assertNull(wallet.getVersion());
+        verifyNoInteractions(readRepository);
+    }
+
+    @Test
+    @DisplayName("Should read Redis misses from the table and leave out projections not created yet")
+    void shouldReadMissesFromTable() throws Exception {
+        Map<String, String> entries = new HashMap<>();
+        // Credited by a transfer before its creation was projected
+        entries.put("wallet-projection:w-1", json(new CachedProjection("w-1", null, null, null,
+            new BigDecimal("5.00"), 1, AT)));
+        entries.put("wallet-projection:w-2", null);
+        when(values.mget("wallet-projection:w-1", "wallet-projection:w-2")).thenReturn(Uni.createFrom().item(entries));
+        WalletProjection created = projection("w-2", "ACTIVE");
+        WalletProjection uncreated = projection("w-1", null);
+        when(readRepository.findByIds(List.of("w-1", "w-2")))
+            .thenReturn(Uni.createFrom().item(List.of(uncreated, created)));
+
+        Map<String, Wallet> wallets = store.getWallets(List.of("w-1", "w-2")).await().indefinitely();
+
+        assertEquals(List.of("w-2"), List.copyOf(wallets.keySet()));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the table when Redis cannot be reached")
+    void shouldReadTableWhenRedisFails() {
+        when(values.mget("wallet-projection:w-1"))
+            .thenReturn(Uni.createFrom().failure(new IllegalStateException("Redis down")));
+        WalletProjection created = projection("w-1", "ACTIVE");
+        when(readRepository.findByIds(List.of("w-1"))).thenReturn(Uni.createFrom().item(List.of(created)));
+
+        Wallet wallet = store.getWallet("w-1").await().indefinitely();
+
+        assertEquals("w-1", wallet.getId());
+    }
+
+    @Test
+    @DisplayName("Should not fail an applied batch when the projections cannot be cached")
+    void shouldSwallowCachingFailures() {
+        when(values.mset(any())).thenReturn(Uni.createFrom().failure(new IllegalStateException("Redis down")));
+
+        assertDoesNotThrow(() -> store.cacheProjections(List.of(projection("w-1", "ACTIVE"))).await().indefinitely());
+    }
+
+    private String json(CachedProjection projection) throws Exception {
+        return objectMapper.writeValueAsString(projection);
+    }
+
+    private static WalletProjection projection(String walletId, String status) {
+        WalletProjection projection = mock(WalletProjection.class);
+        when(projection.getWalletId()).thenReturn(walletId);
+        when(projection.getStatus()).thenReturn(status);
+        when(projection.getBalance()).thenReturn(BigDecimal.ZERO);
+        when(projection.getLastEventAt()).thenReturn(AT);
+        return projection;
+    }
+}
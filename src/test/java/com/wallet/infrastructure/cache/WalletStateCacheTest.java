@@ -0,0 +1,59 @@
+package com.wallet.infrastructure.cache;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.quarkus.redis.client.reactive.ReactiveRedisClient;
+import io.smallrye.mutiny.Uni;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Wallet State Cache Tests")
+class WalletStateCacheTest {
+
+    @Mock
+    ReactiveRedisClient redis;
+
+    @Mock
+    WalletNearCache nearCache;
+
+    @InjectMocks
+    WalletStateCache cache;
+
+    @Test
+    @DisplayName("Should delete the Redis entry before the near cache entry, then tell the other pods")
+    void shouldInvalidateRedisFirst() {
+        when(redis.del(anyList())).thenReturn(Uni.createFrom().nullItem());
+        when(redis.publish(anyString(), anyString())).thenReturn(Uni.createFrom().nullItem());
+
+        cache.invalidateWallet("wallet-1").await().indefinitely();
+
+        InOrder order = inOrder(redis, nearCache);
+        order.verify(redis).del(List.of("wallet:wallet-1"));
+        order.verify(nearCache).invalidate("wallet-1");
+        order.verify(redis).publish(eq(WalletStateCache.INVALIDATION_CHANNEL),
+            eq(WalletStateCache.INSTANCE_ID + "|wallet-1"));
+    }
+
+    @Test
+    @DisplayName("Should still drop the near cache entry when Redis cannot be reached")
+    void shouldInvalidateNearCacheWhenRedisFails() {
+        when(redis.del(anyList())).thenReturn(Uni.createFrom().failure(new IllegalStateException("Redis down")));
+
+        cache.invalidateWallet("wallet-1").onFailure().recoverWithNull().await().indefinitely();
+
+        verify(nearCache).invalidate("wallet-1");
+        verify(redis, never()).publish(anyString(), anyString());
+    }
+}
@@ -0,0 +1,176 @@
+package com.wallet.infrastructure.event;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallet.domain.event.FundsDepositedEvent;
+import com.wallet.domain.event.FundsTransferredEvent;
+import com.wallet.domain.event.WalletEventType;
+import com.wallet.event.WalletEvent;
+import com.wallet.infrastructure.outbox.AvroWalletEventEncoder;
+import com.wallet.infrastructure.outbox.OutboxEvent;
+import com.wallet.infrastructure.outbox.OutboxEventHeaders;
+
+import io.confluent.kafka.serializers.KafkaAvroSerializer;
+
+@DisplayName("Wallet Event Decoder Tests")
+class WalletEventDecoderTest {
+
+    private static final String REGISTRY = "mock://wallet-event-decoder-test";
+    private static final String TOPIC = "wallet-events";
+    private static final Instant PRODUCED_AT = Instant.parse("2026-01-01T10:00:00Z");
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private WalletEventDecoder decoder;
+    private KafkaAvroSerializer serializer;
+
+    @BeforeEach
+    void setUp() {
+        decoder = new WalletEventDecoder();
+        decoder.objectMapper = objectMapper;
+        decoder.registryUrl = REGISTRY;
+        decoder.init();
+        serializer = new KafkaAvroSerializer();
+        serializer.configure(Map.of("schema.registry.url", REGISTRY), false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        decoder.close();
+        serializer.close();
+    }
+
+    @Test
+    @DisplayName("Should tell the event type from the headers alone")
+    void shouldPeekTypeFromHeaders() {
+        OutboxEvent deposit = new OutboxEvent("Wallet", "wallet-1", "FundsDeposited", "{}");
+        OutboxEvent unknown = new OutboxEvent("Wallet", "wallet-1", "WalletAudited", "{}");
+
+        assertEquals(WalletEventType.FUNDS_DEPOSITED, decoder.peekType(OutboxEventHeaders.of(deposit)));
+        assertNull(decoder.peekType(OutboxEventHeaders.of(unknown)));
+        assertNull(decoder.peekType(new RecordHeaders()));
+    }
+
+    @Test
+    @DisplayName("Should read a JSON payload, taking the event id from the headers")
+    void shouldDecodeJson() throws Exception {
+        OutboxEvent outboxEvent = new OutboxEvent("Wallet", "wallet-1", "FundsDeposited", null);
+        byte[] value = objectMapper.writeValueAsBytes(
+            new FundsDepositedEvent("wallet-1", "tx-1", new BigDecimal("10.50"), "ref-1", null));
+
+        DecodedWalletEvent event = decoder.decode(TOPIC, WalletEventType.FUNDS_DEPOSITED,
+            OutboxEventHeaders.of(outboxEvent), value, PRODUCED_AT);
+
+        assertEquals(outboxEvent.id, event.eventId());
+        assertEquals(WalletEventType.FUNDS_DEPOSITED, event.type());
+        assertEquals("wallet-1", event.walletId());
+        assertEquals(0, new BigDecimal("10.50").compareTo(event.amount()));
+        assertEquals(PRODUCED_AT, event.occurredAt());
+    }
+
+    @Test
+    @DisplayName("Should take the source wallet of a JSON transfer as its wallet")
+    void shouldDecodeJsonTransfer() throws Exception {
+        OutboxEvent outboxEvent = new OutboxEvent("Wallet", "wallet-1", "FundsTransferred", null);
+        byte[] value = objectMapper.writeValueAsBytes(
+            new FundsTransferredEvent("wallet-1", "wallet-2", "tx-1", new BigDecimal("5.00"), "ref-1", null));
+
+        DecodedWalletEvent event = decoder.decode(TOPIC, WalletEventType.FUNDS_TRANSFERRED,
+            OutboxEventHeaders.of(outboxEvent), value, PRODUCED_AT);
+
+        assertEquals("wallet-1", event.walletId());
+        assertEquals("wallet-2", event.destinationWalletId());
+    }
+
+    @Test
+    @DisplayName("Should read an Avro payload when the content type says so")
+    void shouldDecodeAvro() {
+        OutboxEvent outboxEvent = new OutboxEvent("Wallet", "wallet-1", "FundsTransferred", null);
+        outboxEvent.contentType = OutboxEventHeaders.AVRO;
+        Instant occurredAt = Instant.parse("2026-01-01T09:59:59.500Z");
+        byte[] value = serializer.serialize(TOPIC, WalletEvent.newBuilder()
+            .setEventId(outboxEvent.id)
+            .setEventType(com.wallet.event.WalletEventType.FUNDS_TRANSFERRED)
+            .setWalletId("wallet-1")
+            .setUserId(null)
+            .setAmount(new BigDecimal("5.00"))
+            .setCurrency(null)
+            .setDestinationWalletId("wallet-2")
+            .setTransactionId("tx-1")
+            .setMetadata(null)
+            .setTimestamp(occurredAt)
+            .setVersion(1)
+            .build());
+
+        DecodedWalletEvent event = decoder.decode(TOPIC, WalletEventType.FUNDS_TRANSFERRED,
+            OutboxEventHeaders.of(outboxEvent), value, PRODUCED_AT);
+
+        assertEquals(outboxEvent.id, event.eventId());
+        assertEquals("wallet-1", event.walletId());
+        assertEquals("wallet-2", event.destinationWalletId());
+        assertEquals(0, new BigDecimal("5.00").compareTo(event.amount()));
+        // The Avro record carries its own timestamp
+        assertEquals(occurredAt, event.occurredAt());
+    }
+
+    @Test
+    @DisplayName("Should take the exact amount from the Avro metadata over the rounded amount field")
+    void shouldDecodeExactAvroAmount() {
+        OutboxEvent outboxEvent = new OutboxEvent("Wallet", "wallet-1", "FundsDeposited", null);
+        outboxEvent.contentType = OutboxEventHeaders.AVRO;
+        byte[] value = serializer.serialize(TOPIC, WalletEvent.newBuilder()
+            .setEventId(outboxEvent.id)
+            .setEventType(com.wallet.event.WalletEventType.FUNDS_DEPOSITED)
+            .setWalletId("wallet-1")
+            .setUserId(null)
+            .setAmount(new BigDecimal("10.00"))
+            .setCurrency(null)
+            .setDestinationWalletId(null)
+            .setTransactionId("tx-1")
+            .setMetadata(Map.of(AvroWalletEventEncoder.EXACT_AMOUNT, "10.005", "referenceId", "ref-1"))
+            .setTimestamp(PRODUCED_AT)
+            .setVersion(1)
+            .build());
+
+        DecodedWalletEvent event = decoder.decode(TOPIC, WalletEventType.FUNDS_DEPOSITED,
+            OutboxEventHeaders.of(outboxEvent), value, PRODUCED_AT);
+
+        assertEquals(new BigDecimal("10.005"), event.amount());
+    }
+
+    @Test
+    @DisplayName("Should reject payloads it cannot read")
+    void shouldRejectUnreadablePayloads() {
+        OutboxEvent json = new OutboxEvent("Wallet", "wallet-1", "FundsDeposited", null);
+        OutboxEvent avro = new OutboxEvent("Wallet", "wallet-1", "FundsDeposited", null);
+        avro.contentType = OutboxEventHeaders.AVRO;
+        byte[] garbage = "not an event".getBytes(StandardCharsets.UTF_8);
+
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode(TOPIC, WalletEventType.FUNDS_DEPOSITED,
+            OutboxEventHeaders.of(json), garbage, PRODUCED_AT));
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode(TOPIC, WalletEventType.FUNDS_DEPOSITED,
+            OutboxEventHeaders.of(avro), garbage, PRODUCED_AT));
+    }
+
+    @Test
+    @DisplayName("Should reject a JSON event without an event id header")
+    void shouldRejectJsonWithoutEventId() {
+        Headers headers = new RecordHeaders();
+        headers.add(OutboxEventHeaders.EVENT_TYPE, "FundsDeposited".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode(TOPIC, WalletEventType.FUNDS_DEPOSITED,
+            headers, "{\"walletId\":\"wallet-1\"}".getBytes(StandardCharsets.UTF_8), PRODUCED_AT));
+    }
+}
@@ -0,0 +1,185 @@
+package com.wallet.infrastructure.event;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedStatic;
+
+import com.wallet.domain.event.WalletEventType;
+import com.wallet.infrastructure.cache.WalletProjectionStore;
+import com.wallet.infrastructure.metrics.WalletMetrics;
+import com.wallet.infrastructure.persistence.WalletProjectionDelta;
+import com.wallet.infrastructure.persistence.WalletProjectionRepository;
+import com.wallet.infrastructure.resilience.ContentionRetry;
+
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.smallrye.mutiny.Uni;
+
+@DisplayName("Wallet Event Handler Tests")
+class WalletEventHandlerTest {
+
+    private static final Instant AT = Instant.parse("2026-01-01T10:00:00Z");
+
+    // Payload of each test record, by record value
+    private final Map<String, DecodedWalletEvent> payloads = Map.of(
+        "deposit", new DecodedWalletEvent("evt-1", WalletEventType.FUNDS_DEPOSITED, "wallet-a", null, null,
+            new BigDecimal("10.00"), AT),
+        "old-deposit", new DecodedWalletEvent("evt-0", WalletEventType.FUNDS_DEPOSITED, "wallet-a", null, null,
+            new BigDecimal("5.00"), AT),
+        "created", new DecodedWalletEvent("evt-3", WalletEventType.WALLET_CREATED, "wallet-c", "user-1", null,
+            null, AT),
+        "transfer", new DecodedWalletEvent("evt-2", WalletEventType.FUNDS_TRANSFERRED, "wallet-a", null, "wallet-b",
+            new BigDecimal("3.00"), AT.plusSeconds(1)));
+
+    private WalletEventHandler handler;
+    private WalletProjectionRepository repository;
+    private WalletEventDecoder decoder;
+    private WalletMetrics metrics;
+    private ContentionRetry contentionRetry;
+    private WalletProjectionStore projectionStore;
+    private MockedStatic<Panache> panache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        panache = mockStatic(Panache.class);
+        panache.when(() -> Panache.withTransaction(any(Supplier.class)))
+            .thenAnswer(invocation -> ((Supplier<Uni<?>>) invocation.getArgument(0)).get());
+
+        decoder = mock(WalletEventDecoder.class);
+        when(decoder.peekType(any())).thenReturn(WalletEventType.FUNDS_DEPOSITED);
+        when(decoder.decode(any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            String value = new String((byte[]) invocation.getArgument(3), StandardCharsets.UTF_8);
+            DecodedWalletEvent event = payloads.get(value);
+            if (event == null) {
+                throw new IllegalArgumentException("Unreadable wallet event payload");
+            }
+            return event;
+        });
+
+        repository = mock(WalletProjectionRepository.class);
+        // Already applied by an earlier batch
+        when(repository.findAppliedEventIds(anyCollection()))
+            .thenAnswer(invocation -> Uni.createFrom().item(new HashSet<>(Set.of("evt-0"))));
+        when(repository.markApplied(anyList(), any(Instant.class))).thenReturn(Uni.createFrom().item(1));
+        when(repository.applyDeltas(anyList(), any(Instant.class))).thenReturn(Uni.createFrom().item(1));
+        when(repository.findByIds(anyCollection())).thenReturn(Uni.createFrom().item(List.of()));
+
+        contentionRetry = mock(ContentionRetry.class);
+        when(contentionRetry.execute(any(), any(), any(Supplier.class)))
+            .thenAnswer(invocation -> ((Supplier<Uni<?>>) invocation.getArgument(2)).get());
+
+        metrics = mock(WalletMetrics.class);
+        projectionStore = mock(WalletProjectionStore.class);
+        when(projectionStore.cacheProjections(anyList())).thenReturn(Uni.createFrom().voidItem());
+
+        handler = new WalletEventHandler();
+        handler.projectionRepository = repository;
+        handler.decoder = decoder;
+        handler.metrics = metrics;
+        handler.projectionStore = projectionStore;
+        handler.contentionRetry = contentionRetry;
+    }
+
+    @AfterEach
+    void tearDown() {
+        panache.close();
+    }
+
+    @Test
+    @DisplayName("Should apply each event once, dropping redeliveries from earlier batches and within the batch")
+    @SuppressWarnings("unchecked")
+    void shouldApplyEachEventOnce() {
+        handler.project(List.of(record("deposit"), record("old-deposit"), record("deposit"), record("transfer")))
+            .await().indefinitely();
+
+        verify(repository).markApplied(eq(List.of("evt-1", "evt-2")), any(Instant.class));
+        ArgumentCaptor<List<WalletProjectionDelta>> deltas = ArgumentCaptor.forClass(List.class);
+        verify(repository).applyDeltas(deltas.capture(), any(Instant.class));
+        assertEquals(List.of(
+            new WalletProjectionDelta("wallet-a", null, null, null, new BigDecimal("7.00"), 2, AT.plusSeconds(1)),
+            new WalletProjectionDelta("wallet-b", null, null, null, new BigDecimal("3.00"), 1, AT.plusSeconds(1))),
+            deltas.getValue());
+        verify(metrics).recordProjectedEvents("duplicate", 2);
+        verify(metrics).recordProjectedEvents("applied", 2);
+    }
+
+    @Test
+    @DisplayName("Should take the owner, status and creation time of a projection from its WalletCreated event")
+    @SuppressWarnings("unchecked")
+    void shouldProjectWalletCreation() {
+        handler.project(List.of(record("created"))).await().indefinitely();
+
+        ArgumentCaptor<List<WalletProjectionDelta>> deltas = ArgumentCaptor.forClass(List.class);
+        verify(repository).applyDeltas(deltas.capture(), any(Instant.class));
+        assertEquals(List.of(new WalletProjectionDelta("wallet-c", "user-1", "ACTIVE", AT, BigDecimal.ZERO, 1, AT)),
+            deltas.getValue());
+    }
+
+    @Test
+    @DisplayName("Should write nothing when every event was applied before")
+    void shouldSkipBatchOfRedeliveries() {
+        handler.project(List.of(record("old-deposit"))).await().indefinitely();
+
+        verify(repository, never()).markApplied(anyList(), any(Instant.class));
+        verify(repository, never()).applyDeltas(anyList(), any(Instant.class));
+        verify(metrics).recordProjectedEvents("duplicate", 1);
+    }
+
+    @Test
+    @DisplayName("Should skip an unreadable record and apply the rest of the batch")
+    void shouldSkipUnreadableRecord() {
+        handler.project(List.of(record("garbage"), record("deposit"))).await().indefinitely();
+
+        verify(repository).markApplied(eq(List.of("evt-1")), any(Instant.class));
+        verify(metrics).recordProjectedEvents("unreadable", 1);
+    }
+
+    @Test
+    @DisplayName("Should not read records of types that are not projected")
+    void shouldSkipOtherEventTypes() {
+        when(decoder.peekType(any())).thenReturn(WalletEventType.WALLET_LOCKED);
+
+        handler.project(List.of(record("deposit"))).await().indefinitely();
+
+        verify(decoder, never()).decode(any(), any(), any(), any(), any());
+        verify(metrics).recordProjectedEvents("skipped", 1);
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Should fail a batch that cannot be applied instead of skipping it, without retrying it again")
+    void shouldFailBatchThatCannotBeApplied() {
+        when(repository.applyDeltas(anyList(), any(Instant.class)))
+            .thenReturn(Uni.createFrom().failure(new IllegalStateException("Connection refused")));
+
+        Uni<Void> projected = handler.project(List.of(record("deposit")));
+
+        assertThrows(IllegalStateException.class, () -> projected.await().indefinitely());
+        verify(repository, times(1)).applyDeltas(anyList(), any(Instant.class));
+        verify(contentionRetry, times(1)).execute(any(), any(), any());
+        verify(metrics).recordProjectedEvents("failed", 1);
+    }
+
+    private static ConsumerRecord<String, byte[]> record(String value) {
+        return new ConsumerRecord<>("wallet-events", 0, 0L, "wallet-a", value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,92 @@
+package com.wallet.infrastructure.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.reactive.messaging.kafka.KafkaClientService;
+import io.smallrye.reactive.messaging.kafka.KafkaProducer;
+
+@DisplayName("Kafka Producer Metrics Bridge Tests")
+class KafkaProducerMetricsBridgeTest {
+
+    private KafkaProducerMetricsBridge bridge;
+    private KafkaClientService kafkaClientService;
+    private WalletMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        kafkaClientService = mock(KafkaClientService.class);
+        metrics = mock(WalletMetrics.class);
+
+        bridge = new KafkaProducerMetricsBridge();
+        bridge.kafkaClientService = kafkaClientService;
+        bridge.metrics = metrics;
+    }
+
+    @Test
+    @DisplayName("Should register a gauge per producer metric on the wallet-events channel")
+    void shouldRegisterProducerMetrics() {
+        bridge.onStart(new StartupEvent());
+
+        verify(metrics).registerKafkaProducerMetric(eq("wallet-events"), eq("record-send-rate"), anyString(), any());
+        verify(metrics).registerKafkaProducerMetric(eq("wallet-events"), eq("batch-size-avg"), anyString(), any());
+        verify(metrics, times(8)).registerKafkaProducerMetric(eq("wallet-events"), anyString(), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should read the value from the producer-metrics group of the client")
+    @SuppressWarnings("unchecked")
+    void shouldReadProducerMetricsGroup() {
+        Producer<Object, Object> client = mock(Producer.class);
+        doReturn(Map.of(
+            metricName("batch-size-avg", "producer-topic-metrics"), metric(99.0),
+            metricName("batch-size-avg", "producer-metrics"), metric(16384.0)))
+            .when(client).metrics();
+        KafkaProducer<Object, Object> producer = mock(KafkaProducer.class);
+        when(producer.unwrap()).thenReturn(client);
+        doReturn(producer).when(kafkaClientService).getProducer("wallet-events");
+
+        assertEquals(16384.0, gauge("batch-size-avg").get().doubleValue());
+        assertTrue(Double.isNaN(gauge("record-send-rate").get().doubleValue()));
+    }
+
+    @Test
+    @DisplayName("Should report NaN until the producer exists")
+    void shouldReportNaNWithoutProducer() {
+        assertTrue(Double.isNaN(gauge("record-send-rate").get().doubleValue()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Supplier<Number> gauge(String metric) {
+        clearInvocations(metrics);
+        bridge.onStart(new StartupEvent());
+        ArgumentCaptor<Supplier<Number>> value = ArgumentCaptor.forClass(Supplier.class);
+        verify(metrics).registerKafkaProducerMetric(eq("wallet-events"), eq(metric), anyString(), value.capture());
+        return value.getValue();
+    }
+
+    private static MetricName metricName(String name, String group) {
+        return new MetricName(name, group, "", Map.of("client-id", "wallet-events"));
+    }
+
+    private static Metric metric(double value) {
+        Metric metric = mock(Metric.class);
+        when(metric.metricValue()).thenReturn(value);
+        return metric;
+    }
+}
@@ -0,0 +1,87 @@
+package com.wallet.infrastructure.outbox;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wallet.domain.event.FundsDepositedEvent;
+import com.wallet.event.WalletEvent;
+import com.wallet.event.WalletEventType;
+
+import io.confluent.kafka.serializers.KafkaAvroDeserializer;
+
+@DisplayName("Avro Wallet Event Encoder Tests")
+class AvroWalletEventEncoderTest {
+
+    private static final String REGISTRY = "mock://avro-encoder-test";
+    private static final String TOPIC = "wallet-events";
+
+    private AvroWalletEventEncoder encoder;
+    private KafkaAvroDeserializer deserializer;
+
+    @BeforeEach
+    void setUp() {
+        encoder = new AvroWalletEventEncoder(new ObjectMapper().findAndRegisterModules(), REGISTRY, TOPIC);
+        deserializer = new KafkaAvroDeserializer();
+        deserializer.configure(Map.of(
+                "schema.registry.url", REGISTRY,
+                "specific.avro.reader", true), false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        encoder.close();
+        deserializer.close();
+    }
+
+    @Test
+    @DisplayName("Should encode a deposit in the registry wire format")
+    void shouldEncodeDeposit() {
+        OutboxEvent outboxEvent = new OutboxEvent("Wallet", "wallet-1", "FundsDeposited", null);
+        FundsDepositedEvent payload = new FundsDepositedEvent(
+                "wallet-1", "tx-1", new BigDecimal("10.50"), "ref-1", "Salary");
+
+        byte[] data = encoder.encode(outboxEvent, payload);
+
+        // Magic byte of the schema registry framing
+        assertEquals(0, data[0]);
+        WalletEvent decoded = (WalletEvent) deserializer.deserialize(TOPIC, data);
+        assertEquals(outboxEvent.id, decoded.getEventId());
+        assertEquals(WalletEventType.FUNDS_DEPOSITED, decoded.getEventType());
+        assertEquals("wallet-1", decoded.getWalletId());
+        assertEquals("tx-1", decoded.getTransactionId());
+        assertEquals(new BigDecimal("10.50"), decoded.getAmount());
+        assertEquals("ref-1", decoded.getMetadata().get("referenceId"));
+        assertEquals("Salary", decoded.getMetadata().get("description"));
+        assertEquals(outboxEvent.createdAt.toEpochMilli(), decoded.getTimestamp().toEpochMilli());
+        assertEquals(1L, decoded.getVersion());
+    }
+
+    @Test
+    @DisplayName("Should keep sub-cent amounts exact in metadata")
+    void shouldKeepSubCentAmounts() {
+        OutboxEvent outboxEvent = new OutboxEvent("Wallet", "wallet-1", "FundsDeposited", null);
+        FundsDepositedEvent payload = new FundsDepositedEvent(
+                "wallet-1", "tx-1", new BigDecimal("10.1234"), null, null);
+
+        WalletEvent decoded = (WalletEvent) deserializer.deserialize(TOPIC, encoder.encode(outboxEvent, payload));
+
+        assertEquals(new BigDecimal("10.12"), decoded.getAmount());
+        assertEquals("10.1234", decoded.getMetadata().get("amount"));
+    }
+
+    @Test
+    @DisplayName("Should map outbox event types to schema symbols")
+    void shouldMapEventTypes() {
+        assertEquals(WalletEventType.WALLET_CREATED, AvroWalletEventEncoder.eventType("WalletCreated"));
+        assertEquals(WalletEventType.FUNDS_TRANSFERRED, AvroWalletEventEncoder.eventType("FundsTransferred"));
+        assertThrows(IllegalArgumentException.class, () -> AvroWalletEventEncoder.eventType("Unknown"));
+    }
+}
@@ -0,0 +1,106 @@
+package com.wallet.infrastructure.outbox;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import com.wallet.infrastructure.metrics.WalletMetrics;
+
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.smallrye.mutiny.Uni;
+
+@DisplayName("Outbox Archiver Tests")
+class OutboxArchiverTest {
+
+    private OutboxArchiver archiver;
+    private OutboxEventRepository repository;
+    private WalletMetrics metrics;
+    private MockedStatic<Panache> panache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        panache = mockStatic(Panache.class);
+        panache.when(() -> Panache.withTransaction(any(Supplier.class)))
+            .thenAnswer(invocation -> ((Supplier<Uni<?>>) invocation.getArgument(0)).get());
+
+        repository = mock(OutboxEventRepository.class);
+        metrics = mock(WalletMetrics.class);
+
+        archiver = new OutboxArchiver();
+        archiver.outboxRepository = repository;
+        archiver.metrics = metrics;
+        archiver.enabled = true;
+        archiver.retention = Duration.ofHours(24);
+        archiver.keepCopy = true;
+        archiver.chunkSize = 2;
+        archiver.maxChunks = 10;
+    }
+
+    @AfterEach
+    void tearDown() {
+        panache.close();
+    }
+
+    @Test
+    @DisplayName("Should archive chunk after chunk until a short chunk clears the backlog")
+    void shouldArchiveUntilShortChunk() {
+        when(repository.archiveProcessed(any(Instant.class), anyInt(), anyBoolean()))
+            .thenReturn(Uni.createFrom().item(2), Uni.createFrom().item(2), Uni.createFrom().item(1));
+
+        assertEquals(5, archiver.archiveProcessedEvents().await().indefinitely());
+
+        verify(repository, times(3)).archiveProcessed(any(Instant.class), eq(2), eq(true));
+        verify(metrics).recordOutboxEventsArchived(5);
+    }
+
+    @Test
+    @DisplayName("Should leave the rest of a large backlog to the next run after max-chunks")
+    void shouldStopAfterMaxChunks() {
+        archiver.maxChunks = 3;
+        when(repository.archiveProcessed(any(Instant.class), anyInt(), anyBoolean()))
+            .thenReturn(Uni.createFrom().item(2));
+
+        assertEquals(6, archiver.archiveProcessedEvents().await().indefinitely());
+
+        verify(repository, times(3)).archiveProcessed(any(Instant.class), anyInt(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Should only archive events processed before the retention window")
+    void shouldKeepEventsWithinRetention() {
+        when(repository.archiveProcessed(any(Instant.class), anyInt(), anyBoolean()))
+            .thenReturn(Uni.createFrom().item(0));
+        Instant before = Instant.now().minus(archiver.retention);
+
+        assertEquals(0, archiver.archiveProcessedEvents().await().indefinitely());
+
+        verify(repository).archiveProcessed(
+            argThat(processedBefore -> !processedBefore.isBefore(before)
+                && !processedBefore.isAfter(Instant.now().minus(archiver.retention))),
+            eq(2), eq(true));
+    }
+
+    @Test
+    @DisplayName("Should do nothing when disabled")
+    void shouldDoNothingWhenDisabled() {
+        archiver.enabled = false;
+
+        assertEquals(0, archiver.archiveProcessedEvents().await().indefinitely());
+
+        verifyNoInteractions(repository);
+    }
+}
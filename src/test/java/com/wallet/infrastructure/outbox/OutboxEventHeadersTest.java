@@ -0,0 +1,49 @@
+package com.wallet.infrastructure.outbox;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.apache.kafka.common.header.Headers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Outbox Event Headers Tests")
+class OutboxEventHeadersTest {
+
+    @Test
+    @DisplayName("Should carry the routing fields of the event")
+    void shouldCarryRoutingFields() {
+        OutboxEvent event = new OutboxEvent("Wallet", "wallet-123", "FundsDeposited", "{}");
+
+        Headers headers = OutboxEventHeaders.of(event);
+
+        assertEquals(event.id, OutboxEventHeaders.get(headers, OutboxEventHeaders.EVENT_ID));
+        assertEquals("FundsDeposited", OutboxEventHeaders.get(headers, OutboxEventHeaders.EVENT_TYPE));
+        assertEquals("Wallet", OutboxEventHeaders.get(headers, OutboxEventHeaders.AGGREGATE_TYPE));
+        assertEquals("1", OutboxEventHeaders.get(headers, OutboxEventHeaders.EVENT_VERSION));
+    }
+
+    @Test
+    @DisplayName("Should default the content type to JSON and keep the stored one otherwise")
+    void shouldSetContentType() {
+        OutboxEvent json = new OutboxEvent("Wallet", "wallet-123", "FundsDeposited", "{}");
+        OutboxEvent avro = new OutboxEvent("Wallet", "wallet-123", "FundsDeposited", "{}");
+        avro.contentType = OutboxEventHeaders.AVRO;
+
+        assertEquals(OutboxEventHeaders.JSON,
+            OutboxEventHeaders.get(OutboxEventHeaders.of(json), OutboxEventHeaders.CONTENT_TYPE));
+        assertEquals(OutboxEventHeaders.AVRO,
+            OutboxEventHeaders.get(OutboxEventHeaders.of(avro), OutboxEventHeaders.CONTENT_TYPE));
+    }
+
+    @Test
+    @DisplayName("Should leave out the version when the event has none")
+    void shouldOmitMissingVersion() {
+        OutboxEvent event = new OutboxEvent("Wallet", "wallet-123", "FundsDeposited", "{}");
+        event.version = null;
+
+        Headers headers = OutboxEventHeaders.of(event);
+
+        assertNull(OutboxEventHeaders.get(headers, OutboxEventHeaders.EVENT_VERSION));
+        assertNull(headers.lastHeader(OutboxEventHeaders.EVENT_VERSION));
+    }
+}
@@ -0,0 +1,29 @@
+package com.wallet.infrastructure.outbox;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Outbox Event Tests")
+class OutboxEventTest {
+
+    @Test
+    @DisplayName("Should compute the partition like MySQL's CRC32(aggregate_id) % partitions")
+    void shouldMatchMySqlPartitioning() {
+        // SELECT CRC32('hello') % 32 = 907060870 % 32
+        assertEquals(6, OutboxEvent.partitionOf("hello", 32));
+        assertEquals(16, OutboxEvent.partitionOf("wallet-123", 32));
+        // CRC32 = 3225157873, above Integer.MAX_VALUE, so it must be taken as unsigned
+        assertEquals(17, OutboxEvent.partitionOf("550e8400-e29b-41d4-a716-446655440000", 32));
+    }
+
+    @Test
+    @DisplayName("Should keep every partition in range")
+    void shouldStayInRange() {
+        for (int i = 0; i < 1000; i++) {
+            int partition = OutboxEvent.partitionOf("wallet-" + i, 7);
+            assertTrue(partition >= 0 && partition < 7, "partition " + partition);
+        }
+    }
+}
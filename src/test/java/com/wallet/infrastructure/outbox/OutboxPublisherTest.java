@@ -0,0 +1,285 @@
+package com.wallet.infrastructure.outbox;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.eclipse.microprofile.reactive.messaging.Message;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedStatic;
+
+import com.wallet.infrastructure.metrics.WalletMetrics;
+
+import io.quarkus.hibernate.reactive.panache.Panache;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.reactive.messaging.MutinyEmitter;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+
+@DisplayName("Outbox Publisher Tests")
+class OutboxPublisherTest {
+
+    private final List<String> sent = new ArrayList<>();
+    // Timers the drain loop armed, in order
+    private final BlockingQueue<ArmedTimer> timers = new LinkedBlockingQueue<>();
+    private ArmedTimer lastTimer;
+
+    private OutboxEventRepository repository;
+    private MutinyEmitter<byte[]> emitter;
+    private WalletMetrics metrics;
+    private OutboxPublisher publisher;
+    private Vertx vertx;
+    private Vertx realVertx;
+    private Context eventLoop;
+    private MockedStatic<Panache> eventLoopPanache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        repository = mock(OutboxEventRepository.class);
+        when(repository.ensurePartitions(anyInt())).thenReturn(Uni.createFrom().item(0));
+        when(repository.claimPartitions(anyInt(), anyInt())).thenReturn(Uni.createFrom().item(List.of()));
+        when(repository.markProcessed(anyList(), any(Instant.class)))
+            .thenAnswer(invocation -> Uni.createFrom().item(((List<?>) invocation.getArgument(0)).size()));
+
+        emitter = mock(MutinyEmitter.class);
+        when(emitter.hasRequests()).thenReturn(true);
+        when(emitter.sendMessage(any(Message.class))).thenAnswer(invocation -> {
+            byte[] payload = ((Message<byte[]>) invocation.getArgument(0)).getPayload();
+            return "reject".equals(new String(payload, StandardCharsets.UTF_8))
+                ? Uni.createFrom().failure(new IllegalStateException("Broker unavailable"))
+                : Uni.createFrom().voidItem();
+        });
+
+        metrics = mock(WalletMetrics.class);
+
+        publisher = new OutboxPublisher();
+        publisher.outboxRepository = repository;
+        publisher.eventEmitter = emitter;
+        publisher.metrics = metrics;
+        publisher.batchSize = 2;
+        publisher.partitions = 32;
+        publisher.maxClaimedPartitions = 8;
+        publisher.drainEnabled = true;
+        publisher.minBackoff = Duration.ofMillis(50);
+        publisher.maxBackoff = Duration.ofMillis(400);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (realVertx == null) {
+            return;
+        }
+        publisher.onStop(new ShutdownEvent());
+        onEventLoop(() -> eventLoopPanache.close());
+        realVertx.close().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Should mark every event processed when all sends are acknowledged")
+    void shouldPublishAllEvents() {
+        List<OutboxEvent> events = List.of(event("wallet-a"), event("wallet-b"), event("wallet-a"));
+
+        List<String> published = OutboxPublisher.sendInOrder(events, this::acknowledge).await().indefinitely();
+
+        assertEquals(Set.of(events.get(0).id, events.get(1).id, events.get(2).id), Set.copyOf(published));
+    }
+
+    @Test
+    @DisplayName("Should not send the events of an aggregate after its first failed send")
+    void shouldStopAggregateAtFirstFailure() {
+        OutboxEvent first = event("wallet-a");
+        OutboxEvent failing = event("wallet-a");
+        OutboxEvent after = event("wallet-a");
+        OutboxEvent other = event("wallet-b");
+
+        List<String> published = OutboxPublisher.sendInOrder(List.of(first, failing, other, after),
+            event -> event == failing ? Uni.createFrom().nullItem() : acknowledge(event)).await().indefinitely();
+
+        // The event after the failure is neither sent nor marked, so it cannot overtake it
+        assertEquals(Set.of(first.id, other.id), Set.copyOf(published));
+        assertFalse(sent.contains(after.id));
+    }
+
+    @Test
+    @DisplayName("Should send an aggregate's events one after another in outbox order")
+    void shouldSendAggregateInOrder() {
+        OutboxEvent first = event("wallet-a");
+        OutboxEvent second = event("wallet-a");
+        OutboxEvent third = event("wallet-a");
+
+        OutboxPublisher.sendInOrder(List.of(first, second, third), this::acknowledge).await().indefinitely();
+
+        assertEquals(List.of(first.id, second.id, third.id), sent);
+    }
+
+    @Test
+    @DisplayName("Should mark only the acknowledged events processed after a failed send")
+    @SuppressWarnings("unchecked")
+    void shouldMarkOnlyAcknowledgedEventsProcessed() {
+        OutboxEvent first = event("wallet-a");
+        OutboxEvent failing = new OutboxEvent("Wallet", "wallet-a", "FundsDeposited", "reject");
+        OutboxEvent after = event("wallet-a");
+        OutboxEvent other = event("wallet-b");
+        when(repository.claimPartitions(anyInt(), anyInt())).thenReturn(Uni.createFrom().item(List.of(3)));
+        when(repository.findUnprocessedEvents(anyList(), anyInt()))
+            .thenReturn(Uni.createFrom().item(List.of(first, failing, after, other)));
+
+        try (MockedStatic<Panache> panache = mockStatic(Panache.class)) {
+            panache.when(() -> Panache.withTransaction(any(Supplier.class)))
+                .thenAnswer(invocation -> ((Supplier<Uni<?>>) invocation.getArgument(0)).get());
+
+            assertEquals(4, publisher.publishPendingEvents().await().indefinitely());
+        }
+
+        ArgumentCaptor<List<String>> processed = ArgumentCaptor.forClass(List.class);
+        verify(repository).markProcessed(processed.capture(), any(Instant.class));
+        // The failed event and the one queued behind it are published again by a later batch
+        assertEquals(Set.of(first.id, other.id), Set.copyOf(processed.getValue()));
+        verify(metrics).recordOutboxEventFailed();
+    }
+
+    @Test
+    @DisplayName("Should back off exponentially up to the maximum while the outbox is empty")
+    void shouldBackOffWhileOutboxIsEmpty() throws Exception {
+        startDrain();
+
+        assertEquals(50, nextTimer().delay());
+        for (long expected : new long[] {100, 200, 400, 400}) {
+            fireLastTimer();
+            assertEquals(expected, nextTimer().delay());
+        }
+        verify(repository, times(5)).claimPartitions(anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should poll again right away after a full batch and reset the backoff")
+    void shouldDrainAgainAfterFullBatch() throws Exception {
+        when(repository.claimPartitions(anyInt(), anyInt())).thenReturn(
+            Uni.createFrom().item(List.of()),
+            Uni.createFrom().item(List.of()),
+            Uni.createFrom().item(List.of(3)),
+            Uni.createFrom().item(List.of()));
+        when(repository.findUnprocessedEvents(anyList(), anyInt()))
+            .thenReturn(Uni.createFrom().item(List.of(event("wallet-a"), event("wallet-b"))));
+        startDrain();
+
+        assertEquals(50, nextTimer().delay());
+        fireLastTimer();
+        assertEquals(100, nextTimer().delay());
+        fireLastTimer();
+
+        // The full batch is followed by another poll without a timer, which finds the outbox empty
+        assertEquals(50, nextTimer().delay());
+        verify(repository, times(4)).claimPartitions(anyInt(), anyInt());
+        verify(repository).markProcessed(anyList(), any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("Should wait without polling while the Kafka channel requests no records")
+    void shouldWaitForChannelRequests() throws Exception {
+        when(emitter.hasRequests()).thenReturn(false);
+        startDrain();
+
+        assertEquals(50, nextTimer().delay());
+        verify(metrics).recordOutboxBackPressure();
+        verify(repository, never()).claimPartitions(anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should cut the wait short when woken up")
+    void shouldPollWhenWokenUp() throws Exception {
+        startDrain();
+        ArmedTimer sleeping = nextTimer();
+
+        publisher.wakeUp();
+
+        assertEquals(100, nextTimer().delay());
+        verify(vertx).cancelTimer(sleeping.id());
+        verify(repository, times(2)).claimPartitions(anyInt(), anyInt());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void startDrain() throws Exception {
+        realVertx = Vertx.vertx();
+        eventLoop = realVertx.getOrCreateContext();
+        // Static mocks only apply to the thread that creates them, so this one is created on the
+        // event loop every drain of the publisher runs on
+        onEventLoop(() -> {
+            eventLoopPanache = mockStatic(Panache.class);
+            eventLoopPanache.when(() -> Panache.withSession(any(Supplier.class)))
+                .thenAnswer(invocation -> ((Supplier<Uni<?>>) invocation.getArgument(0)).get());
+            eventLoopPanache.when(() -> Panache.withTransaction(any(Supplier.class)))
+                .thenAnswer(invocation -> ((Supplier<Uni<?>>) invocation.getArgument(0)).get());
+        });
+
+        // Timers are only recorded, the test fires them
+        vertx = mock(Vertx.class);
+        when(vertx.getOrCreateContext()).thenReturn(eventLoop);
+        when(vertx.setTimer(anyLong(), any(Handler.class))).thenAnswer(invocation -> {
+            ArmedTimer timer = new ArmedTimer(timers.size() + 1L, invocation.getArgument(0),
+                invocation.getArgument(1));
+            timers.add(timer);
+            return timer.id();
+        });
+        publisher.vertx = vertx;
+        publisher.onStart(new StartupEvent());
+    }
+
+    private ArmedTimer nextTimer() throws InterruptedException {
+        lastTimer = timers.poll(5, TimeUnit.SECONDS);
+        assertNotNull(lastTimer, "the drain loop did not go to sleep");
+        return lastTimer;
+    }
+
+    private void fireLastTimer() {
+        lastTimer.handler().handle(lastTimer.id());
+    }
+
+    private void onEventLoop(Runnable action) throws Exception {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        eventLoop.runOnContext(ignored -> {
+            try {
+                action.run();
+                done.complete(null);
+            } catch (Throwable failure) {
+                done.completeExceptionally(failure);
+            }
+        });
+        done.get(5, TimeUnit.SECONDS);
+    }
+
+    private Uni<String> acknowledge(OutboxEvent event) {
+        sent.add(event.id);
+        return Uni.createFrom().item(event.id);
+    }
+
+    private static OutboxEvent event(String aggregateId) {
+        return new OutboxEvent("Wallet", aggregateId, "FundsDeposited", "{}");
+    }
+
+    private record ArmedTimer(long id, long delay, Handler<Long> handler) {
+    }
+}
@@ -0,0 +1,96 @@
+package com.wallet.infrastructure.resilience;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.wallet.exception.TechnicalException;
+import com.wallet.infrastructure.metrics.WalletMetrics;
+
+import io.smallrye.mutiny.Uni;
+import jakarta.persistence.OptimisticLockException;
+
+@DisplayName("Contention Retry Tests")
+class ContentionRetryTest {
+
+    private static final String WALLET_ID = "wallet-123";
+
+    private ContentionRetry contentionRetry;
+    private WalletMetrics walletMetrics;
+
+    @BeforeEach
+    void setUp() {
+        walletMetrics = mock(WalletMetrics.class);
+        contentionRetry = new ContentionRetry();
+        contentionRetry.walletMetrics = walletMetrics;
+        contentionRetry.maxRetries = 3;
+        contentionRetry.initialBackoff = Duration.ofMillis(1);
+        contentionRetry.maxBackoff = Duration.ofMillis(5);
+    }
+
+    @Test
+    @DisplayName("Should retry write conflicts and record contention per wallet")
+    void shouldRetryConflictsAndRecordContention() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = contentionRetry.execute("deposit", WALLET_ID, () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new OptimisticLockException("Row was updated by another transaction");
+            }
+            return Uni.createFrom().item("txn-1");
+        }).await().indefinitely();
+
+        assertEquals("txn-1", result);
+        assertEquals(3, attempts.get());
+        verify(walletMetrics, times(2)).recordOptimisticLockContention("deposit", WALLET_ID);
+        verify(walletMetrics, times(2)).recordRetryAttempt("deposit", "optimistic_lock", "OptimisticLockException");
+    }
+
+    @Test
+    @DisplayName("Should not retry other failures")
+    void shouldNotRetryOtherFailures() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        Uni<String> result = contentionRetry.execute("deposit", WALLET_ID, () -> {
+            attempts.incrementAndGet();
+            return Uni.createFrom().failure(new IllegalArgumentException("Deposit amount must be positive"));
+        });
+
+        assertThrows(IllegalArgumentException.class, () -> result.await().indefinitely());
+        assertEquals(1, attempts.get());
+        verifyNoInteractions(walletMetrics);
+    }
+
+    @Test
+    @DisplayName("Should fail with WALLET_CONTENTION once retries are exhausted")
+    void shouldFailOnceRetriesAreExhausted() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        Uni<String> result = contentionRetry.execute("withdrawal", WALLET_ID, () -> {
+            attempts.incrementAndGet();
+            return Uni.createFrom().failure(new CompletionException(new OptimisticLockException("stale")));
+        });
+
+        TechnicalException exception = assertThrows(TechnicalException.class, () -> result.await().indefinitely());
+        assertTrue(ContentionRetry.isExhausted(exception));
+        assertEquals(4, attempts.get());
+        verify(walletMetrics, times(4)).recordOptimisticLockContention("withdrawal", WALLET_ID);
+    }
+
+    @Test
+    @DisplayName("Should keep backoff within the configured cap")
+    void shouldCapBackoff() {
+        for (int retry = 0; retry < 30; retry++) {
+            Duration backoff = contentionRetry.backoff(retry);
+            assertFalse(backoff.isNegative());
+            assertTrue(backoff.compareTo(Duration.ofMillis(5)) <= 0);
+        }
+    }
+}